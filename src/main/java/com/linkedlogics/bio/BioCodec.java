@@ -0,0 +1,28 @@
+package com.linkedlogics.bio;
+
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * Interface for encoding java objects kept in JavaObject tags, codecs are registered per java class in {@link BioDictionaryBuilder}
+ * and used by binary parser instead of java serialization
+ * @author rdavudov
+ *
+ * @param <T>
+ */
+public interface BioCodec<T> {
+	/**
+	 * Writes value into stream
+	 * @param value
+	 * @param stream
+	 */
+	public void encode(T value, BoFastStream stream) ;
+	
+	/**
+	 * Reads value from stream
+	 * @param stream
+	 * @param length number of bytes written by {@link #encode(Object, BoFastStream)}
+	 * @return
+	 */
+	public T decode(BiFastStream stream, int length) ;
+}
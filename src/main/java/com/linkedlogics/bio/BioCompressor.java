@@ -1,7 +1,16 @@
 package com.linkedlogics.bio;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import com.linkedlogics.bio.stream.BoFastStream;
+
 /**
- * Interface for compression of bio objects
+ * Interface for compression of bio objects. A parser can be shared between threads and uses a single compressor for all of them,
+ * also compressors shared between parsers (see {@link BioDictionaryBuilder#setSharedCompressor(BioCompressor)}) or registered by 
+ * code are used concurrently, so implementations must be thread safe.
+ * Variants working on array ranges, streams and byte buffers have default implementations based on array ones, implementations
+ * should override them to avoid copying
  * @author rdavudov
  *
  */
@@ -20,4 +29,56 @@ public interface BioCompressor {
 	 * @return
 	 */
 	public byte[] decompress(byte[] data, int originalLength) ;
+	
+	/**
+	 * Compresses length bytes of data starting at offset and writes them to stream
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param out
+	 * @return number of compressed bytes written
+	 */
+	public default int compress(byte[] data, int offset, int length, BoFastStream out) {
+		byte[] compressed = compress(Arrays.copyOfRange(data, offset, offset + length)) ;
+		out.write(compressed);
+		return compressed.length ;
+	}
+	
+	/**
+	 * Decompresses length bytes of data starting at offset
+	 * @param data
+	 * @param offset
+	 * @param length
+	 * @param originalLength
+	 * @return
+	 */
+	public default byte[] decompress(byte[] data, int offset, int length, int originalLength) {
+		return decompress(Arrays.copyOfRange(data, offset, offset + length), originalLength) ;
+	}
+	
+	/**
+	 * Compresses remaining bytes of source into destination, positions of both buffers are moved
+	 * @param source
+	 * @param destination
+	 * @return number of compressed bytes written
+	 */
+	public default int compress(ByteBuffer source, ByteBuffer destination) {
+		byte[] data = new byte[source.remaining()] ;
+		source.get(data) ;
+		byte[] compressed = compress(data) ;
+		destination.put(compressed) ;
+		return compressed.length ;
+	}
+	
+	/**
+	 * Decompresses remaining bytes of source into destination, positions of both buffers are moved
+	 * @param source
+	 * @param destination
+	 * @param originalLength
+	 */
+	public default void decompress(ByteBuffer source, ByteBuffer destination, int originalLength) {
+		byte[] data = new byte[source.remaining()] ;
+		source.get(data) ;
+		destination.put(decompress(data, originalLength)) ;
+	}
 }
@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import com.linkedlogics.bio.dictionary.BioEnumObj;
@@ -63,12 +64,33 @@ public class BioDictionary {
     
     private static Class<? extends Map> mapObjectClass = HashMap.class ;
     
+    private static boolean isIndexedStorage ;
+    
+    private static boolean isPrimitiveArrays ;
+    
+    /**
+     * Codecs for java objects based on codec code
+     */
+    private static HashMap<Integer, BioCodec<?>> codecCodeMap = new HashMap<Integer, BioCodec<?>>() ;
+    /**
+     * Codec codes based on registered java class
+     */
+    private static HashMap<Class<?>, Integer> codecTypeMap = new HashMap<Class<?>, Integer>() ;
+    /**
+     * Codec codes resolved for actual value classes including subclasses of registered ones, 0 if there is no codec
+     */
+    private static ConcurrentHashMap<Class<?>, Integer> codecClassCache = new ConcurrentHashMap<Class<?>, Integer>() ;
+    
     private static BioInitializer<BioCompressor> compressorInitializer = new BioInitializer<BioCompressor>() {
 		@Override
 		public BioCompressor initialize() {
 			return null ;
 		}
 	};
+    /**
+     * Compressors based on compressor code written in binary header, code 0 is the initialized compressor
+     */
+    private static HashMap<Integer, BioCompressor> compressorCodeMap = new HashMap<Integer, BioCompressor>() ;
     private static BioInitializer<BioEncrypter> encrypterInitializer = new BioInitializer<BioEncrypter>() {
 		@Override
 		public BioEncrypter initialize() {
@@ -225,6 +247,7 @@ public class BioDictionary {
     	if (tagByCode == null && tagByName == null) {
     		superTagCodeMap.put(tag.getCode(), tag);
     		superTagNameMap.put(tag.getName(), tag);
+    		rebuildTables();
     	} else if (tagByCode != tagByName) {
     		if (tagByCode == null) {
     			throw new DictionaryException("already existing super tag name " + tag.getName() + " in dictionary with different code " + tagByName.getCode());
@@ -245,6 +268,29 @@ public class BioDictionary {
     public void removeSuperTag(BioTag tag) {
     	superTagCodeMap.remove(tag.getCode());
         superTagNameMap.remove(tag.getName());
+        rebuildTables();
+    }
+    
+    /**
+     * Builds flattened tag tables of all objs, child objs are built by their parents
+     */
+    void buildTables() {
+    	for (BioObj obj : codeMap.values()) {
+    		if (obj.getParent() == null) {
+    			obj.buildTables();
+    		}
+    	}
+    }
+    
+    /**
+     * Builds tag tables of objs again if they are already built, super tags are part of their tables
+     */
+    private void rebuildTables() {
+    	for (BioObj obj : codeMap.values()) {
+    		if (obj.getParent() == null && obj.hasSlots()) {
+    			obj.buildTables();
+    		}
+    	}
     }
     
     /**
@@ -397,6 +443,26 @@ public class BioDictionary {
 		}
     }
 	
+	/**
+	 * Creates an empty map object for bio objects of given obj. If indexed storage is enabled and obj is known
+	 * values are kept in slot array based on obj tags otherwise it is same as {@link #createMapObject()}
+	 * @param dictionary
+	 * @param code
+	 * @return
+	 */
+	public static Map<String, Object> createMapObject(int dictionary, int code) {
+		if (isIndexedStorage && code != 0) {
+			BioDictionary d = dictionaryMap.get(dictionary) ;
+			if (d != null) {
+				BioObj obj = d.getObjByCode(code) ;
+				if (obj != null && obj.hasSlots()) {
+					return new BioIndexedMap(obj) ;
+				}
+			}
+		}
+		return createMapObject() ;
+	}
+	
 	/**
 	 * Returns object creation factory for bio objects
 	 * @return
@@ -409,7 +475,7 @@ public class BioDictionary {
     }
     
     /**
-     * Returns new bio compressor
+     * Returns new bio compressor, initializer decides whether an instance is shared (e.g. {@link com.linkedlogics.bio.compression.BioLZ4Compressor#getInstance()})
      * @return
      */
     public static BioCompressor getCompressor() {
@@ -417,6 +483,18 @@ public class BioDictionary {
     		return compressorInitializer.initialize() ;
     	return null ;
     }
+    
+    /**
+     * Returns compressor by its code
+     * @param code
+     * @return null if not found, for code 0 new compressor is returned by {@link #getCompressor()}
+     */
+    public static BioCompressor getCompressor(int code) {
+    	if (code == 0) {
+    		return getCompressor() ;
+    	}
+    	return compressorCodeMap.get(code) ;
+    }
     /**
      * Returns new bio encrypter
      * @return
@@ -492,6 +570,21 @@ public class BioDictionary {
     static void setCompressorInitializer(BioInitializer<BioCompressor> compressorInitializer) {
     	BioDictionary.compressorInitializer = compressorInitializer ;
     }
+    /**
+     * Adds compressor which can be selected by parsers and is identified by its code in binary header
+     * @param code
+     * @param compressor
+     */
+    static void addCompressor(int code, BioCompressor compressor) {
+    	if (code <= 0 || code > 0xFF) {
+    		throw new DictionaryException("bio compressor code " + code + " must be between 1 and " + 0xFF) ;
+    	}
+    	BioCompressor existing = compressorCodeMap.get(code) ;
+    	if (existing != null && existing != compressor) {
+    		throw new DictionaryException("bio compressor code " + code + " is already used by " + existing.getClass().getName()) ;
+    	}
+    	compressorCodeMap.put(code, compressor) ;
+    }
     /**
      * Sets encrypter initializer
      * @param encrypterInitializer
@@ -507,6 +600,100 @@ public class BioDictionary {
 		BioDictionary.mapObjectClass = mapObjectClass;
 	}
 	
+	/**
+	 * Sets indexed storage flag
+	 * @param isIndexedStorage
+	 */
+	static void setIndexedStorage(boolean isIndexedStorage) {
+		BioDictionary.isIndexedStorage = isIndexedStorage;
+	}
+	
+	/**
+	 * Indicates whether bio objects with known obj keep tag values in slot arrays
+	 * @return
+	 */
+	public static boolean isIndexedStorage() {
+		return isIndexedStorage;
+	}
+	
+	/**
+	 * Sets primitive arrays flag
+	 * @param isPrimitiveArrays
+	 */
+	static void setPrimitiveArrays(boolean isPrimitiveArrays) {
+		BioDictionary.isPrimitiveArrays = isPrimitiveArrays;
+	}
+	
+	/**
+	 * Indicates whether bio objects accept long[], int[], double[] and float[] values and array tags of such types are decoded as primitive arrays
+	 * @return
+	 */
+	public static boolean isPrimitiveArrays() {
+		return isPrimitiveArrays;
+	}
+	
+	/**
+	 * Adds codec for java objects of given class and its subclasses
+	 * @param code
+	 * @param type
+	 * @param codec
+	 */
+	static void addCodec(int code, Class<?> type, BioCodec<?> codec) {
+		if (code <= 0 || code > Short.MAX_VALUE) {
+			throw new DictionaryException("bio codec code " + code + " must be between 1 and " + Short.MAX_VALUE) ;
+		}
+		BioCodec<?> existing = codecCodeMap.get(code) ;
+		if (existing != null && existing != codec) {
+			throw new DictionaryException("bio codec code " + code + " is already used by " + existing.getClass().getName()) ;
+		}
+		codecCodeMap.put(code, codec) ;
+		codecTypeMap.put(type, code) ;
+		codecClassCache.clear();
+	}
+	
+	/**
+	 * Returns codec by its code
+	 * @param code
+	 * @return null if not found
+	 */
+	public static BioCodec<?> getCodec(int code) {
+		return codecCodeMap.get(code) ;
+	}
+	
+	/**
+	 * Returns code of codec registered for class or one of its super classes and interfaces
+	 * @param type
+	 * @return 0 if there is no codec and java serialization must be used
+	 */
+	public static int getCodecCode(Class<?> type) {
+		if (codecTypeMap.isEmpty()) {
+			return 0 ;
+		}
+		Integer code = codecClassCache.get(type) ;
+		if (code == null) {
+			code = findCodecCode(type) ;
+			codecClassCache.put(type, code) ;
+		}
+		return code ;
+	}
+	
+	private static int findCodecCode(Class<?> type) {
+		if (type == null) {
+			return 0 ;
+		}
+		Integer code = codecTypeMap.get(type) ;
+		if (code != null) {
+			return code ;
+		}
+		for (Class<?> i : type.getInterfaces()) {
+			int interfaceCode = findCodecCode(i) ;
+			if (interfaceCode > 0) {
+				return interfaceCode ;
+			}
+		}
+		return findCodecCode(type.getSuperclass()) ;
+	}
+	
 	/**
 	 * Add supported date format
 	 * @param format
@@ -3,15 +3,27 @@ package com.linkedlogics.bio;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
 import java.net.URL;
 import java.text.SimpleDateFormat;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TimeZone;
+import java.util.UUID;
+import java.util.zip.Deflater;
 
+import com.linkedlogics.bio.codec.BigDecimalCodec;
+import com.linkedlogics.bio.codec.InetAddressCodec;
+import com.linkedlogics.bio.codec.LocalDateCodec;
+import com.linkedlogics.bio.codec.UUIDCodec;
+import com.linkedlogics.bio.compression.BioDeflateCompressor;
+import com.linkedlogics.bio.compression.BioLZ4Compressor;
+import com.linkedlogics.bio.compression.BioLZ4HighCompressor;
 import com.linkedlogics.bio.dictionary.BioEnumObj;
 import com.linkedlogics.bio.dictionary.BioObj;
 import com.linkedlogics.bio.dictionary.BioTag;
@@ -27,6 +39,11 @@ import com.linkedlogics.bio.exception.DictionaryException;
  *
  */
 public class BioDictionaryBuilder {
+	/**
+	 * Codec and compressor codes below this are reserved for built-in ones
+	 */
+	public static final int MIN_CUSTOM_CODE = 100 ;
+	
 	protected List<DictionaryReader> readers = new ArrayList<DictionaryReader>();
 	protected HashSet<String> profiles = new HashSet<String>();
 	protected boolean isOnlyProfiles ;
@@ -97,7 +114,7 @@ public class BioDictionaryBuilder {
 		return this ;
 	}
 	/**
-	 * Setting compression initializer which should return a BioCompressor instance
+	 * Setting compression initializer which should return a BioCompressor instance, it is called by each parser
 	 * @param compressorInitializer
 	 * @return
 	 */
@@ -105,6 +122,57 @@ public class BioDictionaryBuilder {
 		BioDictionary.setCompressorInitializer(compressorInitializer);
 		return this ;
 	}
+	
+	/**
+	 * Setting compressor shared by all parsers and threads, it must be thread safe (e.g. {@link BioLZ4Compressor#getInstance()})
+	 * @param compressor
+	 * @return
+	 */
+	public BioDictionaryBuilder setSharedCompressor(BioCompressor compressor) {
+		BioDictionary.setCompressorInitializer(new BioInitializer<BioCompressor>() {
+			@Override
+			public BioCompressor initialize() {
+				return compressor ;
+			}
+		});
+		return this ;
+	}
+	/**
+	 * Adds compressor which parsers can select by its code, code is written in binary header so that decoder uses the same compressor. 
+	 * Codes must be unique and same on both sides, codes below {@link #MIN_CUSTOM_CODE} are reserved for built-in 
+	 * compressors and rejected
+	 * @param code
+	 * @param compressor
+	 * @return
+	 */
+	public BioDictionaryBuilder addCompressor(int code, BioCompressor compressor) {
+		checkReservedCode("compressor", code);
+		BioDictionary.addCompressor(code, compressor);
+		return this ;
+	}
+	
+	/**
+	 * Adds built-in LZ4, LZ4 high compression and Deflate compressors
+	 * @return
+	 */
+	public BioDictionaryBuilder addDefaultCompressors() {
+		BioDictionary.addCompressor(BioLZ4Compressor.CODE, BioLZ4Compressor.getInstance()) ;
+		BioDictionary.addCompressor(BioLZ4HighCompressor.CODE, BioLZ4HighCompressor.getInstance()) ;
+		BioDictionary.addCompressor(BioDeflateCompressor.CODE, new BioDeflateCompressor()) ;
+		return this ;
+	}
+	
+	/**
+	 * Adds Deflate compressor with a preset dictionary trained by {@link com.linkedlogics.bio.compression.BioDictionaryTrainer}, 
+	 * code identifies dictionary in binary header so both sides must register same dictionary with same code
+	 * @param code
+	 * @param dictionary
+	 * @return
+	 */
+	public BioDictionaryBuilder addCompressionDictionary(int code, byte[] dictionary) {
+		addCompressor(code, new BioDeflateCompressor(Deflater.DEFAULT_COMPRESSION, dictionary)) ;
+		return this ;
+	}
 	/**
 	 * Setting encryption initializer which should return a BioEncrypter instance
 	 * @param encrypterInitializer
@@ -125,6 +193,66 @@ public class BioDictionaryBuilder {
 		return this ;
 	}
 
+	/**
+	 * Enables indexed storage, bio objects having obj definition will keep tag values in a slot array 
+	 * instead of map object and only undefined keys will go to map
+	 * @param isIndexedStorage
+	 * @return
+	 */
+	public BioDictionaryBuilder setIndexedStorage(boolean isIndexedStorage) {
+		BioDictionary.setIndexedStorage(isIndexedStorage);
+		return this ;
+	}
+	
+	/**
+	 * Enables primitive arrays, bio objects will accept long[], int[], double[] and float[] values and binary parser 
+	 * will decode array tags of Long, Time, Integer, Double and Float types as primitive arrays without boxing
+	 * @param isPrimitiveArrays
+	 * @return
+	 */
+	public BioDictionaryBuilder setPrimitiveArrays(boolean isPrimitiveArrays) {
+		BioDictionary.setPrimitiveArrays(isPrimitiveArrays);
+		return this ;
+	}
+
+	/**
+	 * Adds codec for java objects of given class (and its subclasses) kept in JavaObject tags, binary parser writes codec code 
+	 * and codec's bytes instead of java serialization. Codes must be unique and same on both sides, codes below {@link #MIN_CUSTOM_CODE} are reserved 
+	 * for built-in codecs and rejected
+	 * @param code
+	 * @param type
+	 * @param codec
+	 * @return
+	 */
+	public <T> BioDictionaryBuilder addCodec(int code, Class<T> type, BioCodec<? super T> codec) {
+		checkReservedCode("codec", code);
+		BioDictionary.addCodec(code, type, codec);
+		return this ;
+	}
+	
+	/**
+	 * Adds built-in codecs for BigDecimal, UUID, LocalDate and InetAddress
+	 * @return
+	 */
+	public BioDictionaryBuilder addDefaultCodecs() {
+		BioDictionary.addCodec(BigDecimalCodec.CODE, BigDecimal.class, new BigDecimalCodec()) ;
+		BioDictionary.addCodec(UUIDCodec.CODE, UUID.class, new UUIDCodec()) ;
+		BioDictionary.addCodec(LocalDateCodec.CODE, LocalDate.class, new LocalDateCodec()) ;
+		BioDictionary.addCodec(InetAddressCodec.CODE, InetAddress.class, new InetAddressCodec()) ;
+		return this ;
+	}
+	
+	/**
+	 * Checks that code is not reserved for built-in codecs and compressors
+	 * @param kind
+	 * @param code
+	 */
+	private static void checkReservedCode(String kind, int code) {
+		if (code > 0 && code < MIN_CUSTOM_CODE) {
+			throw new DictionaryException("bio " + kind + " code " + code + " is reserved for built-in ones, custom codes must start from " + MIN_CUSTOM_CODE) ;
+		}
+	}
+
 	/**
 	 * This format is used while exporting time values
 	 * @param format
@@ -279,5 +407,7 @@ public class BioDictionaryBuilder {
 				obj.setParent(dictionary.getTypeMap().get(obj.getParentName()));
 			}
 		}
+		// tables are built after parents and super tags are set so that inherited and super tags are also flattened
+		dictionary.buildTables();
 	}
 }
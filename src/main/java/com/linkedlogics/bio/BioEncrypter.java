@@ -1,7 +1,8 @@
 package com.linkedlogics.bio;
 
 /**
- * Interface for encryption of bio objects
+ * Interface for encryption of bio objects. A parser can be shared between threads and uses a single encrypter for all of them,
+ * so implementations must be thread safe (e.g. keep non thread safe ciphers per thread)
  * @author rdavudov
  *
  */
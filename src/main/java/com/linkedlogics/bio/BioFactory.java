@@ -27,7 +27,7 @@ public class BioFactory {
 		BioObj obj = dictionary.getCodeMap().get(code);
 		if (obj != null && obj.getBioClass() != null) {
 			try {
-				BioObject object = obj.getBioClass().getConstructor().newInstance();
+				BioObject object = obj.newInstance();
 				object.setBioCode(obj.getCode());
 				object.setBioName(obj.getName());
 				object.setBioDictionary(obj.getDictionary());
@@ -56,6 +56,28 @@ public class BioFactory {
 		}
 		return null;
 	}
+	
+	/**
+	 * Creates bio object array by code, if filled each element is a new bio object
+	 * @param code
+	 * @param size
+	 * @param isFilled
+	 * @return
+	 */
+	public BioObject[] newBioObjectArray(int code, int size, boolean isFilled) {
+		BioObject[] array = newBioObjectArray(code, size) ;
+		if (array != null && isFilled) {
+			BioObj obj = dictionary.getCodeMap().get(code) ;
+			for (int i = 0; i < size; i++) {
+				BioObject object = obj.newInstance() ;
+				object.setBioCode(obj.getCode());
+				object.setBioName(obj.getName());
+				object.setBioDictionary(obj.getDictionary());
+				array[i] = object ;
+			}
+		}
+		return array ;
+	}
 
 	/**
 	 * Creates bio object by code
@@ -73,8 +95,7 @@ public class BioFactory {
 					constructor = obj.getBioClass().getConstructor(BioObject.class);
 					object = constructor.newInstance(source) ;
 				} catch (NoSuchMethodException e) {
-					constructor = obj.getBioClass().getConstructor();
-					object = constructor.newInstance() ;
+					object = obj.newInstance() ;
 					object.putAll(source) ;
 				}
 				object.setBioCode(obj.getCode());
@@ -98,7 +119,7 @@ public class BioFactory {
 		BioObj obj = dictionary.getTypeMap().get(type);
 		if (obj != null && obj.getBioClass() != null) {
 			try {
-				BioObject object = obj.getBioClass().getConstructor().newInstance();
+				BioObject object = obj.newInstance();
 				object.setBioCode(obj.getCode());
 				object.setBioName(obj.getName());
 				object.setBioDictionary(obj.getDictionary());
@@ -127,6 +148,28 @@ public class BioFactory {
 		}
 		return null;
 	}
+	
+	/**
+	 * Creates bio object array by type, if filled each element is a new bio object
+	 * @param type
+	 * @param size
+	 * @param isFilled
+	 * @return
+	 */
+	public BioObject[] newBioObjectArray(String type, int size, boolean isFilled) {
+		BioObject[] array = newBioObjectArray(type, size) ;
+		if (array != null && isFilled) {
+			BioObj obj = dictionary.getTypeMap().get(type) ;
+			for (int i = 0; i < size; i++) {
+				BioObject object = obj.newInstance() ;
+				object.setBioCode(obj.getCode());
+				object.setBioName(obj.getName());
+				object.setBioDictionary(obj.getDictionary());
+				array[i] = object ;
+			}
+		}
+		return array ;
+	}
 
 	/**
 	 * Creates bio object by type
@@ -144,8 +187,7 @@ public class BioFactory {
 					constructor = obj.getBioClass().getConstructor(BioObject.class);
 					object = constructor.newInstance(source) ;
 				} catch (NoSuchMethodException e) {
-					constructor = obj.getBioClass().getConstructor();
-					object = constructor.newInstance() ;
+					object = obj.newInstance() ;
 					object.putAll(source) ;
 				}
 				
@@ -169,7 +211,7 @@ public class BioFactory {
 		BioObj obj = BioDictionary.findObj(bioClass) ;
 		if (obj != null && obj.getBioClass() != null) {
 			try {
-				T object = (T) obj.getBioClass().getConstructor().newInstance();
+				T object = obj.newInstance();
 				object.setBioCode(obj.getCode());
 				object.setBioName(obj.getName());
 				object.setBioDictionary(obj.getDictionary());
@@ -199,6 +241,28 @@ public class BioFactory {
 		return null;
 	}
 	
+	/**
+	 * Creates bio object array by class, if filled each element is a new bio object
+	 * @param bioClass
+	 * @param size
+	 * @param isFilled
+	 * @return
+	 */
+	public <T extends BioObject> T[] newBioObjectArray(Class<T> bioClass, int size, boolean isFilled) {
+		T[] array = newBioObjectArray(bioClass, size) ;
+		if (array != null && isFilled) {
+			BioObj obj = BioDictionary.findObj(bioClass) ;
+			for (int i = 0; i < size; i++) {
+				T object = obj.newInstance() ;
+				object.setBioCode(obj.getCode());
+				object.setBioName(obj.getName());
+				object.setBioDictionary(obj.getDictionary());
+				array[i] = object ;
+			}
+		}
+		return array ;
+	}
+	
 	/**
 	 * Creates bio object by class
 	 * @param code
@@ -215,8 +279,7 @@ public class BioFactory {
 					constructor = obj.getBioClass().getConstructor(BioObject.class);
 					object = (T) constructor.newInstance(source) ;
 				} catch (NoSuchMethodException e) {
-					constructor = obj.getBioClass().getConstructor();
-					object = (T) constructor.newInstance() ;
+					object = obj.newInstance() ;
 					object.putAll(source) ;
 				}
 				object.setBioCode(obj.getCode());
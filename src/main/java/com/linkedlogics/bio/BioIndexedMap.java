@@ -0,0 +1,513 @@
+package com.linkedlogics.bio;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import com.linkedlogics.bio.dictionary.BioObj;
+import com.linkedlogics.bio.dictionary.BioTag;
+import com.linkedlogics.bio.dictionary.BioType;
+
+/**
+ * Map used as bio object storage when obj definition is known. Values of tags defined in {@link com.linkedlogics.bio.dictionary.BioObj}
+ * are kept in a slot array indexed by obj's dense tag index, so no entry is allocated per put. Keys which are not defined as tags
+ * (dynamic keys, super tags etc.) are kept in an overflow map which is created only when needed.
+ * <p>
+ * Map methods taking a name still resolve its slot through obj's shared name to slot hash map on every call, so they save per entry 
+ * allocations but not the lookup itself. Only slot based accessors used with {@link com.linkedlogics.bio.dictionary.BioTagKey} 
+ * handles skip name hashing.
+ * <p>
+ * Single valued tags of numeric, boolean and time types can also be kept unboxed in a parallel primitive slot array. Such values are
+ * boxed only when they are read through map methods.
+ * <p>
+ * Null values are not stored, putting null is same as removing the key.
+ * @author rdavudov
+ *
+ */
+class BioIndexedMap extends AbstractMap<String, Object> {
+	/**
+	 * Marks a slot whose value is kept in {@link #primitives}
+	 */
+	private static final Object PRIMITIVE = new Object() ;
+	/**
+	 * Tags of obj indexed by slot
+	 */
+	private final BioTag[] tags ;
+	/**
+	 * Slot indexes based on tag name/key
+	 */
+	private final HashMap<String, Integer> slots ;
+	/**
+	 * Slot values
+	 */
+	private final Object[] values ;
+	/**
+	 * Number of occupied slots
+	 */
+	private int count ;
+	/**
+	 * Unboxed slot values, floating point values are kept as raw double bits. Created when first primitive value is put
+	 */
+	private long[] primitives ;
+	/**
+	 * Values for keys which are not defined in obj
+	 */
+	private Map<String, Object> overflow ;
+
+	private EntrySet entrySet ;
+
+	BioIndexedMap(BioObj obj) {
+		this.tags = obj.getSlotTags() ;
+		this.slots = obj.getSlotMap() ;
+		this.values = new Object[tags.length] ;
+	}
+
+	/**
+	 * Returns slot index of key or -1 if key is not defined in obj
+	 * @param key
+	 * @return
+	 */
+	int getSlot(Object key) {
+		Integer slot = slots.get(key) ;
+		return slot != null ? slot : -1 ;
+	}
+
+	/**
+	 * Checks whether map uses given slot layout, slot indexes of keys are valid only for the same layout
+	 * @param slotTags
+	 * @return
+	 */
+	boolean isLayout(BioTag[] slotTags) {
+		return tags == slotTags ;
+	}
+
+	/**
+	 * Returns tag defined at slot
+	 * @param slot
+	 * @return
+	 */
+	BioTag getSlotTag(int slot) {
+		return tags[slot] ;
+	}
+
+	/**
+	 * Returns value at slot
+	 * @param slot
+	 * @return
+	 */
+	Object getSlotValue(int slot) {
+		Object value = values[slot] ;
+		if (value == PRIMITIVE) {
+			return box(slot) ;
+		}
+		return value ;
+	}
+
+	/**
+	 * Checks whether slot has a value
+	 * @param slot
+	 * @return
+	 */
+	boolean hasSlotValue(int slot) {
+		return values[slot] != null ;
+	}
+
+	/**
+	 * Puts value into slot and returns previous one, previous unboxed value is boxed for returning, so callers not needing it 
+	 * should use {@link #setSlotValue(int, Object)}
+	 * @param slot
+	 * @param value
+	 * @return
+	 */
+	Object putSlotValue(int slot, Object value) {
+		Object previous = getSlotValue(slot) ;
+		setSlotValue(slot, value) ;
+		return previous ;
+	}
+
+	/**
+	 * Puts value into slot without returning previous one
+	 * @param slot
+	 * @param value
+	 */
+	void setSlotValue(int slot, Object value) {
+		if (value == null) {
+			clearSlotValue(slot) ;
+			return ;
+		}
+		if (values[slot] == null) {
+			count++ ;
+		}
+		values[slot] = value ;
+	}
+
+	/**
+	 * Removes value at slot and returns it
+	 * @param slot
+	 * @return
+	 */
+	Object removeSlotValue(int slot) {
+		Object previous = getSlotValue(slot) ;
+		clearSlotValue(slot) ;
+		return previous ;
+	}
+
+	/**
+	 * Removes value at slot without returning it
+	 * @param slot
+	 */
+	void clearSlotValue(int slot) {
+		if (values[slot] != null) {
+			values[slot] = null ;
+			count-- ;
+		}
+	}
+
+	/**
+	 * Puts value by key same as {@link #put(String, Object)} but doesn't return previous value, so unboxed values are not boxed
+	 * @param key
+	 * @param value
+	 */
+	void set(String key, Object value) {
+		int slot = getSlot(key) ;
+		if (slot >= 0) {
+			setSlotValue(slot, value) ;
+		} else {
+			put(key, value) ;
+		}
+	}
+
+	/**
+	 * Checks whether tag at slot can keep its value unboxed
+	 * @param slot
+	 * @return
+	 */
+	boolean isPrimitiveSlot(int slot) {
+		BioTag tag = tags[slot] ;
+		if (tag.isArray() || tag.isList()) {
+			return false ;
+		}
+		switch (tag.getType()) {
+		case Integer:
+		case Long:
+		case Time:
+		case Short:
+		case Byte:
+		case Boolean:
+		case Double:
+		case Float:
+			return true ;
+		default:
+			return false ;
+		}
+	}
+	
+	/**
+	 * Checks whether value of given type can be kept unboxed at slot, type must be same as tag's type (long values are accepted 
+	 * by time tags as well) so that no conversion happens
+	 * @param slot
+	 * @param type
+	 * @return
+	 */
+	boolean isPrimitiveSlot(int slot, BioType type) {
+		BioType tagType = tags[slot].getType() ;
+		return isPrimitiveSlot(slot) && (tagType == type || (type == BioType.Long && tagType == BioType.Time)) ;
+	}
+	
+	/**
+	 * Checks whether value at slot is kept unboxed
+	 * @param slot
+	 * @return
+	 */
+	boolean isPrimitive(int slot) {
+		return values[slot] == PRIMITIVE ;
+	}
+	
+	/**
+	 * Returns unboxed value at slot as long, slot must be primitive
+	 * @param slot
+	 * @return
+	 */
+	long getPrimitiveLong(int slot) {
+		if (isFloating(tags[slot])) {
+			return (long) Double.longBitsToDouble(primitives[slot]) ;
+		}
+		return primitives[slot] ;
+	}
+	
+	/**
+	 * Returns unboxed value at slot as double, slot must be primitive
+	 * @param slot
+	 * @return
+	 */
+	double getPrimitiveDouble(int slot) {
+		if (isFloating(tags[slot])) {
+			return Double.longBitsToDouble(primitives[slot]) ;
+		}
+		return primitives[slot] ;
+	}
+	
+	/**
+	 * Puts unboxed long value into slot, slot must be primitive
+	 * @param slot
+	 * @param value
+	 */
+	void putPrimitiveLong(int slot, long value) {
+		if (isFloating(tags[slot])) {
+			putPrimitive(slot, Double.doubleToRawLongBits(value)) ;
+		} else {
+			putPrimitive(slot, value) ;
+		}
+	}
+	
+	/**
+	 * Puts unboxed double value into slot, slot must be primitive
+	 * @param slot
+	 * @param value
+	 */
+	void putPrimitiveDouble(int slot, double value) {
+		if (isFloating(tags[slot])) {
+			putPrimitive(slot, Double.doubleToRawLongBits(value)) ;
+		} else {
+			putPrimitive(slot, (long) value) ;
+		}
+	}
+	
+	private void putPrimitive(int slot, long bits) {
+		if (primitives == null) {
+			primitives = new long[values.length] ;
+		}
+		if (values[slot] == null) {
+			count++ ;
+		}
+		values[slot] = PRIMITIVE ;
+		primitives[slot] = bits ;
+	}
+	
+	private static boolean isFloating(BioTag tag) {
+		return tag.getType() == BioType.Double || tag.getType() == BioType.Float ;
+	}
+	
+	/**
+	 * Boxes unboxed value at slot based on tag type
+	 * @param slot
+	 * @return
+	 */
+	private Object box(int slot) {
+		long bits = primitives[slot] ;
+		switch (tags[slot].getType()) {
+		case Integer:
+			return Integer.valueOf((int) bits) ;
+		case Short:
+			return Short.valueOf((short) bits) ;
+		case Byte:
+			return Byte.valueOf((byte) bits) ;
+		case Boolean:
+			return Boolean.valueOf(bits != 0) ;
+		case Double:
+			return Double.valueOf(Double.longBitsToDouble(bits)) ;
+		case Float:
+			return Float.valueOf((float) Double.longBitsToDouble(bits)) ;
+		default:
+			return Long.valueOf(bits) ;
+		}
+	}
+
+	@Override
+	public int size() {
+		return overflow != null ? count + overflow.size() : count ;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		int slot = getSlot(key) ;
+		if (slot >= 0) {
+			return values[slot] != null ;
+		}
+		return overflow != null && overflow.containsKey(key) ;
+	}
+
+	@Override
+	public Object get(Object key) {
+		int slot = getSlot(key) ;
+		if (slot >= 0) {
+			return getSlotValue(slot) ;
+		}
+		return overflow != null ? overflow.get(key) : null ;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		int slot = getSlot(key) ;
+		if (slot >= 0) {
+			return putSlotValue(slot, value) ;
+		}
+		if (value == null) {
+			return remove(key) ;
+		}
+		if (overflow == null) {
+			overflow = BioDictionary.createMapObject() ;
+		}
+		return overflow.put(key, value) ;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		int slot = getSlot(key) ;
+		if (slot >= 0) {
+			return removeSlotValue(slot) ;
+		}
+		return overflow != null ? overflow.remove(key) : null ;
+	}
+
+	@Override
+	public void clear() {
+		if (count > 0) {
+			for (int i = 0; i < values.length; i++) {
+				values[i] = null ;
+			}
+			count = 0 ;
+		}
+		overflow = null ;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet() ;
+		}
+		return entrySet ;
+	}
+
+	private class EntrySet extends AbstractSet<Entry<String, Object>> {
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			return new EntryIterator() ;
+		}
+
+		@Override
+		public int size() {
+			return BioIndexedMap.this.size() ;
+		}
+
+		@Override
+		public void clear() {
+			BioIndexedMap.this.clear();
+		}
+	}
+
+	/**
+	 * Iterates occupied slots first and then overflow entries
+	 */
+	private class EntryIterator implements Iterator<Entry<String, Object>> {
+		private int next = -1 ;
+		private int current = -1 ;
+		private Iterator<Entry<String, Object>> overflowIterator ;
+
+		EntryIterator() {
+			advance() ;
+		}
+
+		private void advance() {
+			next++ ;
+			while (next < values.length && values[next] == null) {
+				next++ ;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (next < values.length) {
+				return true ;
+			}
+			if (overflowIterator == null && overflow != null) {
+				overflowIterator = overflow.entrySet().iterator() ;
+			}
+			return overflowIterator != null && overflowIterator.hasNext() ;
+		}
+
+		@Override
+		public Entry<String, Object> next() {
+			if (next < values.length) {
+				current = next ;
+				advance() ;
+				return new SlotEntry(current) ;
+			}
+			if (hasNext()) {
+				current = -1 ;
+				return overflowIterator.next() ;
+			}
+			throw new NoSuchElementException() ;
+		}
+
+		@Override
+		public void remove() {
+			if (current >= 0) {
+				clearSlotValue(current) ;
+				current = -1 ;
+			} else if (overflowIterator != null) {
+				overflowIterator.remove();
+			} else {
+				throw new IllegalStateException() ;
+			}
+		}
+	}
+
+	/**
+	 * Entry writing through to its slot
+	 */
+	class SlotEntry implements Entry<String, Object> {
+		private final int slot ;
+
+		SlotEntry(int slot) {
+			this.slot = slot ;
+		}
+
+		/**
+		 * Returns tag of entry if map uses slot layout of given obj
+		 * @param obj
+		 * @return null if layout is different
+		 */
+		BioTag getTag(BioObj obj) {
+			return isLayout(obj.getSlotTags()) ? tags[slot] : null ;
+		}
+
+		@Override
+		public String getKey() {
+			return tags[slot].getName() ;
+		}
+
+		@Override
+		public Object getValue() {
+			return getSlotValue(slot) ;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			return putSlotValue(slot, value) ;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Entry)) {
+				return false ;
+			}
+			Entry<?, ?> e = (Entry<?, ?>) o ;
+			return getKey().equals(e.getKey()) && (getValue() == null ? e.getValue() == null : getValue().equals(e.getValue())) ;
+		}
+
+		@Override
+		public int hashCode() {
+			return getKey().hashCode() ^ (getValue() == null ? 0 : getValue().hashCode()) ;
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue() ;
+		}
+	}
+}
@@ -0,0 +1,278 @@
+package com.linkedlogics.bio;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map used as bio object storage when object is decoded lazily. Keys of encoded values are indexed once, a value is decoded by
+ * {@link BioLazySource} when its key is accessed first time and then kept in underlying storage. Operations over all entries
+ * (iteration, size, equality etc.) decode remaining values first.
+ * <p>
+ * Source is kept until map is modified, so an unmodified object can be encoded again by copying its original bytes.
+ * Decoding modifies map, so lazy objects must not be read by multiple threads concurrently.
+ * @author rdavudov
+ *
+ */
+class BioLazyMap extends AbstractMap<String, Object> {
+	/**
+	 * Storage of decoded and newly put values
+	 */
+	private final Map<String, Object> values ;
+	/**
+	 * Indexes of values in source which are not decoded yet, null when all are decoded
+	 */
+	private HashMap<String, Integer> pending ;
+	private BioLazySource source ;
+	/**
+	 * Indicates whether map is modified since decoding
+	 */
+	private boolean isModified ;
+
+	BioLazyMap(Map<String, Object> values, BioLazySource source) {
+		this.values = values ;
+		this.source = source ;
+		int size = source.size() ;
+		if (size > 0) {
+			this.pending = new HashMap<String, Integer>(size * 2) ;
+			for (int i = 0; i < size; i++) {
+				pending.put(source.getKey(i), i) ;
+			}
+		}
+	}
+
+	/**
+	 * Returns underlying storage
+	 * @return
+	 */
+	Map<String, Object> getValues() {
+		return values ;
+	}
+
+	/**
+	 * Indicates whether all values are decoded
+	 * @return
+	 */
+	boolean isMaterialized() {
+		return pending == null ;
+	}
+
+	/**
+	 * Returns source if map is not modified since decoding, values decoded so far must be unmodified too
+	 * @return null if map or any of its decoded values is modified
+	 */
+	BioLazySource getUnmodifiedSource() {
+		if (source == null || isModified) {
+			return null ;
+		}
+		for (Object value : values.values()) {
+			if (!isUnmodified(value)) {
+				return null ;
+			}
+		}
+		return source ;
+	}
+
+	/**
+	 * Checks whether value is same as decoded, mutable values such as arrays, lists and java objects (including mutable numbers 
+	 * like AtomicLong) might be changed in place
+	 * @param value
+	 * @return
+	 */
+	private static boolean isUnmodified(Object value) {
+		if (value instanceof BioObject) {
+			return ((BioObject) value).getLazySource() != null ;
+		}
+		if (value instanceof BioEnum || value instanceof Enum) {
+			return true ;
+		}
+		Class<?> type = value.getClass() ;
+		return type == String.class || type == Integer.class || type == Long.class || type == Double.class || type == Float.class 
+				|| type == Short.class || type == Byte.class || type == Boolean.class || type == Character.class 
+				|| type == BigInteger.class || type == BigDecimal.class ;
+	}
+
+	/**
+	 * Decodes value of key if it is not decoded yet
+	 * @param key
+	 */
+	private void materialize(Object key) {
+		if (pending != null) {
+			Integer index = pending.remove(key) ;
+			if (index != null) {
+				Object value = source.decode(index) ;
+				if (value != null) {
+					values.put((String) key, value) ;
+				}
+				if (pending.isEmpty()) {
+					complete() ;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Decodes all remaining values
+	 */
+	void materializeAll() {
+		if (pending != null) {
+			for (Map.Entry<String, Integer> e : pending.entrySet()) {
+				Object value = source.decode(e.getValue()) ;
+				if (value != null) {
+					values.put(e.getKey(), value) ;
+				}
+			}
+			complete() ;
+		}
+	}
+
+	/**
+	 * Called when all values are decoded, source is kept only while it can be used for copying original bytes
+	 */
+	private void complete() {
+		pending = null ;
+		if (isModified) {
+			source = null ;
+		}
+	}
+
+	/**
+	 * Marks map as modified, source is dropped once there is nothing left to decode
+	 */
+	private void modify() {
+		isModified = true ;
+		if (pending == null) {
+			source = null ;
+		}
+	}
+
+	@Override
+	public Object get(Object key) {
+		materialize(key) ;
+		return values.get(key) ;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		materialize(key) ;
+		return values.containsKey(key) ;
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		materialize(key) ;
+		modify() ;
+		return values.put(key, value) ;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		materialize(key) ;
+		modify() ;
+		return values.remove(key) ;
+	}
+
+	@Override
+	public void clear() {
+		isModified = true ;
+		pending = null ;
+		source = null ;
+		values.clear();
+	}
+
+	@Override
+	public int size() {
+		materializeAll() ;
+		return values.size() ;
+	}
+
+	@Override
+	public Set<Entry<String, Object>> entrySet() {
+		materializeAll() ;
+		return new EntrySet() ;
+	}
+
+	/**
+	 * Entries of underlying storage, modifications through iterator or entries mark map as modified
+	 */
+	private class EntrySet extends AbstractSet<Entry<String, Object>> {
+		@Override
+		public Iterator<Entry<String, Object>> iterator() {
+			Iterator<Entry<String, Object>> iterator = values.entrySet().iterator() ;
+			return new Iterator<Entry<String, Object>>() {
+				@Override
+				public boolean hasNext() {
+					return iterator.hasNext() ;
+				}
+
+				@Override
+				public Entry<String, Object> next() {
+					return new LazyEntry(iterator.next()) ;
+				}
+
+				@Override
+				public void remove() {
+					modify() ;
+					iterator.remove() ;
+				}
+			} ;
+		}
+
+		@Override
+		public int size() {
+			return values.size() ;
+		}
+	}
+
+	/**
+	 * Entry of underlying storage, setting its value marks map as modified
+	 */
+	private class LazyEntry implements Entry<String, Object> {
+		private final Entry<String, Object> entry ;
+
+		LazyEntry(Entry<String, Object> entry) {
+			this.entry = entry ;
+		}
+
+		@Override
+		public String getKey() {
+			return entry.getKey() ;
+		}
+
+		@Override
+		public Object getValue() {
+			return entry.getValue() ;
+		}
+
+		@Override
+		public Object setValue(Object value) {
+			modify() ;
+			return entry.setValue(value) ;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Map.Entry)) {
+				return false ;
+			}
+			Map.Entry<?, ?> e = (Map.Entry<?, ?>) o ;
+			return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue()) ;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue()) ;
+		}
+
+		@Override
+		public String toString() {
+			return getKey() + "=" + getValue() ;
+		}
+	}
+}
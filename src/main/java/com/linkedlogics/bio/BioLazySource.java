@@ -0,0 +1,29 @@
+package com.linkedlogics.bio;
+
+/**
+ * Source of values which are still encoded, it is attached to a bio object by parsers decoding lazily. Values are referred by
+ * their index in source and are decoded only when their keys are accessed first time
+ * @author rdavudov
+ *
+ */
+public interface BioLazySource {
+	/**
+	 * Returns number of encoded values
+	 * @return
+	 */
+	public int size() ;
+
+	/**
+	 * Returns key of value at index
+	 * @param index
+	 * @return
+	 */
+	public String getKey(int index) ;
+
+	/**
+	 * Decodes value at index
+	 * @param index
+	 * @return null if value can't be decoded
+	 */
+	public Object decode(int index) ;
+}
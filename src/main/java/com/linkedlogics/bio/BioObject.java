@@ -7,6 +7,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -14,6 +15,7 @@ import org.json.JSONObject;
 
 import com.linkedlogics.bio.dictionary.BioObj;
 import com.linkedlogics.bio.dictionary.BioTag;
+import com.linkedlogics.bio.dictionary.BioTagKey;
 import com.linkedlogics.bio.dictionary.BioType;
 import com.linkedlogics.bio.dictionary.MergeType;
 import com.linkedlogics.bio.exception.DictionaryException;
@@ -56,13 +58,14 @@ public class BioObject implements Cloneable, BioObjectHolder {
 	/**
 	 * Actual map which contains all entries
 	 */
-	private Map<String, Object> map = BioDictionary.createMapObject() ;
+	private Map<String, Object> map ;
 	
 	public BioObject(int code, String name, int version, int dictionary, BioObject object) {
 		this.code = code;
 		this.name = name ;
 		this.version = version;
 		this.dictionary = dictionary ;
+		this.map = BioDictionary.createMapObject(dictionary, code) ;
 		
 		if (object != null) {
 			putAll(object);
@@ -103,6 +106,7 @@ public class BioObject implements Cloneable, BioObjectHolder {
 			this.version = obj.getVersion();
 			this.dictionary = obj.getDictionary() ;
 		}
+		this.map = BioDictionary.createMapObject(dictionary, code) ;
 		if (object != null) {
 			putAll(object);
 		}
@@ -166,6 +170,34 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		return map.containsKey(key);
 	}
 	
+	/**
+	 * Checks whether key is present using tag key handle
+	 * @param key
+	 * @return
+	 */
+	public boolean has(BioTagKey key) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0) {
+			return ((BioIndexedMap) map).hasSlotValue(slot) ;
+		}
+		return has(key.getName()) ;
+	}
+	
+	/**
+	 * Returns slot of key handle if it is valid for this object's storage, otherwise -1
+	 * @param key
+	 * @return
+	 */
+	private int getKeySlot(BioTagKey key) {
+		if (map instanceof BioIndexedMap) {
+			BioTagKey bound = key.bind() ;
+			if (bound != null && bound.getSlot() >= 0 && ((BioIndexedMap) map).isLayout(bound.getSlotTags())) {
+				return bound.getSlot() ;
+			}
+		}
+		return -1 ;
+	}
+	
 	/**
 	 * Validates key and object for being null also non primitive array
 	 * @param key
@@ -181,7 +213,8 @@ public class BioObject implements Cloneable, BioObjectHolder {
 			return false ;
 		}
 		
-		if (value != null && value.getClass().isArray() && !(value instanceof Object[])) {
+		if (value != null && value.getClass().isArray() && !(value instanceof Object[]) 
+				&& !(BioDictionary.isPrimitiveArrays() && ConversionUtility.isPrimitiveArray(value))) {
 			throw new RuntimeException(key + "'s value can't be array of primitive type");
 		}
 		
@@ -193,7 +226,27 @@ public class BioObject implements Cloneable, BioObjectHolder {
 	 */
 	public BioObject put(String key, Object object) {
 		if (validateKeyAndObject(key, object)) {
-			map.put(key, object);
+			if (map instanceof BioIndexedMap) {
+				// previous value is not needed, so it is not boxed
+				((BioIndexedMap) map).set(key, object) ;
+			} else {
+				map.put(key, object);
+			}
+		}
+		return this ;
+	}
+	
+	/**
+	 * Puts key and object using tag key handle
+	 */
+	public BioObject put(BioTagKey key, Object object) {
+		if (validateKeyAndObject(key.getName(), object)) {
+			int slot = getKeySlot(key) ;
+			if (slot >= 0) {
+				((BioIndexedMap) map).setSlotValue(slot, object) ;
+			} else {
+				map.put(key.getName(), object);
+			}
 		}
 		return this ;
 	}
@@ -237,6 +290,23 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		return map.entrySet() ;
 	}
 	
+	/**
+	 * Resolves tag of an entry returned by {@link #entries()}. Entries of indexed storage know their slot, so their tag is taken
+	 * without any name lookup, other entries are looked up by name in obj
+	 * @param obj obj of bio object which entry belongs to
+	 * @param entry
+	 * @return null if tag is not found
+	 */
+	public static BioTag getEntryTag(BioObj obj, Entry<String, Object> entry) {
+		if (entry instanceof BioIndexedMap.SlotEntry) {
+			BioTag tag = ((BioIndexedMap.SlotEntry) entry).getTag(obj) ;
+			if (tag != null) {
+				return tag ;
+			}
+		}
+		return obj.getTag(entry.getKey()) ;
+	}
+	
 	public Set<String> keys() {
 		return map.keySet() ;
 	}
@@ -367,7 +437,7 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		BioObj obj = BioDictionary.getDictionary(dictionary).getObjByCode(code);
 		if (obj != null) {
 			for(Entry<String, Object> e : object.entries()) {
-				BioTag tag = obj.getTag(e.getKey()) ;
+				BioTag tag = getEntryTag(obj, e) ;
 				if (tag != null) {
 					if (tag.getMergeType() == MergeType.Replace) {
 						if (e.getValue() instanceof BioObject && has(e.getKey()) && get(e.getKey()) instanceof BioObject) {
@@ -481,6 +551,18 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		return object ;
 	}
 	
+	public Object get(BioTagKey key) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0) {
+			Object object = ((BioIndexedMap) map).getSlotValue(slot) ;
+			if (object instanceof Alias) {
+				return ((Alias) object).getExpression().getValue(this) ;
+			}
+			return object ;
+		}
+		return get(key.getName()) ;
+	}
+	
 	public Object getOrDefault(String key, Object defaultValue) {
 		Object value = get(key) ;
 		if (value == null) {
@@ -706,6 +788,366 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		return object ;
 	}
 	
+	/* Primitive getter and setter methods, values of indexed primitive tags are read and written without boxing */
+	
+	/**
+	 * Returns slot of key if value can be kept unboxed, otherwise -1
+	 * @param key
+	 * @return
+	 */
+	private int getPrimitiveSlot(String key) {
+		if (map instanceof BioIndexedMap) {
+			BioIndexedMap indexed = (BioIndexedMap) map ;
+			int slot = indexed.getSlot(key) ;
+			if (slot >= 0 && indexed.isPrimitiveSlot(slot)) {
+				return slot ;
+			}
+		}
+		return -1 ;
+	}
+	
+	/**
+	 * Returns slot of key if value of given type can be kept unboxed, otherwise -1 so that value goes through {@link #put(String, Object)}
+	 * and its validation
+	 * @param key
+	 * @param type
+	 * @return
+	 */
+	private int getPrimitiveSlot(String key, BioType type) {
+		if (map instanceof BioIndexedMap) {
+			BioIndexedMap indexed = (BioIndexedMap) map ;
+			int slot = indexed.getSlot(key) ;
+			if (slot >= 0 && indexed.isPrimitiveSlot(slot, type)) {
+				return slot ;
+			}
+		}
+		return -1 ;
+	}
+	
+	/**
+	 * Returns value as long without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public long getLongValue(String key) {
+		int slot = getPrimitiveSlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitive(slot)) {
+			return ((BioIndexedMap) map).getPrimitiveLong(slot) ;
+		}
+		Long value = getLong(key) ;
+		return value != null ? value : 0L ;
+	}
+	
+	/**
+	 * Returns value as int without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public int getIntValue(String key) {
+		return (int) getLongValue(key) ;
+	}
+	
+	/**
+	 * Returns value as short without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public short getShortValue(String key) {
+		return (short) getLongValue(key) ;
+	}
+	
+	/**
+	 * Returns value as byte without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public byte getByteValue(String key) {
+		return (byte) getLongValue(key) ;
+	}
+	
+	/**
+	 * Returns time value as long without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public long getTimeValue(String key) {
+		return getLongValue(key) ;
+	}
+	
+	/**
+	 * Returns value as double without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public double getDoubleValue(String key) {
+		int slot = getPrimitiveSlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitive(slot)) {
+			return ((BioIndexedMap) map).getPrimitiveDouble(slot) ;
+		}
+		Double value = getDouble(key) ;
+		return value != null ? value : 0.0 ;
+	}
+	
+	/**
+	 * Returns value as float without boxing if possible, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public float getFloatValue(String key) {
+		return (float) getDoubleValue(key) ;
+	}
+	
+	/**
+	 * Returns value as boolean without boxing if possible, false if key is not present
+	 * @param key
+	 * @return
+	 */
+	public boolean getBooleanValue(String key) {
+		int slot = getPrimitiveSlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitive(slot)) {
+			return ((BioIndexedMap) map).getPrimitiveLong(slot) != 0 ;
+		}
+		Boolean value = getBoolean(key) ;
+		return value != null ? value : false ;
+	}
+	
+	/**
+	 * Returns value as long using tag key handle, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public long getLongValue(BioTagKey key) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitive(slot)) {
+			return ((BioIndexedMap) map).getPrimitiveLong(slot) ;
+		}
+		return getLongValue(key.getName()) ;
+	}
+	
+	/**
+	 * Returns value as int using tag key handle, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public int getIntValue(BioTagKey key) {
+		return (int) getLongValue(key) ;
+	}
+	
+	/**
+	 * Returns value as double using tag key handle, 0 if key is not present
+	 * @param key
+	 * @return
+	 */
+	public double getDoubleValue(BioTagKey key) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitive(slot)) {
+			return ((BioIndexedMap) map).getPrimitiveDouble(slot) ;
+		}
+		return getDoubleValue(key.getName()) ;
+	}
+	
+	/**
+	 * Returns value as boolean using tag key handle, false if key is not present
+	 * @param key
+	 * @return
+	 */
+	public boolean getBooleanValue(BioTagKey key) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitive(slot)) {
+			return ((BioIndexedMap) map).getPrimitiveLong(slot) != 0 ;
+		}
+		return getBooleanValue(key.getName()) ;
+	}
+	
+	/**
+	 * Puts long value using tag key handle
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putLong(BioTagKey key, long value) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitiveSlot(slot, BioType.Long)) {
+			putPrimitiveLong(slot, value) ;
+			return this ;
+		}
+		return putLong(key.getName(), value) ;
+	}
+	
+	/**
+	 * Puts int value using tag key handle
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putInt(BioTagKey key, int value) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitiveSlot(slot, BioType.Integer)) {
+			putPrimitiveLong(slot, value) ;
+			return this ;
+		}
+		return putInt(key.getName(), value) ;
+	}
+	
+	/**
+	 * Puts double value using tag key handle
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putDouble(BioTagKey key, double value) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitiveSlot(slot, BioType.Double)) {
+			putPrimitiveDouble(slot, value) ;
+			return this ;
+		}
+		return putDouble(key.getName(), value) ;
+	}
+	
+	/**
+	 * Puts boolean value using tag key handle
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putBoolean(BioTagKey key, boolean value) {
+		int slot = getKeySlot(key) ;
+		if (slot >= 0 && ((BioIndexedMap) map).isPrimitiveSlot(slot, BioType.Boolean)) {
+			putPrimitiveLong(slot, value ? 1L : 0L) ;
+			return this ;
+		}
+		return putBoolean(key.getName(), value) ;
+	}
+	
+	private void putPrimitiveLong(int slot, long value) {
+		if (isImmutable()) {
+			throw new ImmutableException();
+		}
+		((BioIndexedMap) map).putPrimitiveLong(slot, value) ;
+	}
+	
+	private void putPrimitiveDouble(int slot, double value) {
+		if (isImmutable()) {
+			throw new ImmutableException();
+		}
+		((BioIndexedMap) map).putPrimitiveDouble(slot, value) ;
+	}
+	
+	/**
+	 * Puts long value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putLong(String key, long value) {
+		int slot = getPrimitiveSlot(key, BioType.Long) ;
+		if (slot >= 0) {
+			putPrimitiveLong(slot, value) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
+	/**
+	 * Puts int value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putInt(String key, int value) {
+		int slot = getPrimitiveSlot(key, BioType.Integer) ;
+		if (slot >= 0) {
+			putPrimitiveLong(slot, value) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
+	/**
+	 * Puts short value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putShort(String key, short value) {
+		int slot = getPrimitiveSlot(key, BioType.Short) ;
+		if (slot >= 0) {
+			putPrimitiveLong(slot, value) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
+	/**
+	 * Puts byte value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putByte(String key, byte value) {
+		int slot = getPrimitiveSlot(key, BioType.Byte) ;
+		if (slot >= 0) {
+			putPrimitiveLong(slot, value) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
+	/**
+	 * Puts time value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putTime(String key, long value) {
+		return putLong(key, value) ;
+	}
+	
+	/**
+	 * Puts double value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putDouble(String key, double value) {
+		int slot = getPrimitiveSlot(key, BioType.Double) ;
+		if (slot >= 0) {
+			putPrimitiveDouble(slot, value) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
+	/**
+	 * Puts float value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putFloat(String key, float value) {
+		int slot = getPrimitiveSlot(key, BioType.Float) ;
+		if (slot >= 0) {
+			putPrimitiveDouble(slot, value) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
+	/**
+	 * Puts boolean value without boxing if possible
+	 * @param key
+	 * @param value
+	 * @return
+	 */
+	public BioObject putBoolean(String key, boolean value) {
+		int slot = getPrimitiveSlot(key, BioType.Boolean) ;
+		if (slot >= 0) {
+			putPrimitiveLong(slot, value ? 1L : 0L) ;
+			return this ;
+		}
+		return put(key, value) ;
+	}
+	
 	/**
 	 * Removes key from map
 	 */
@@ -716,6 +1158,20 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		return map.remove(key);
 	}
 	
+	/**
+	 * Removes key from map using tag key handle
+	 */
+	public Object remove(BioTagKey key) {
+		if (isImmutable()) {
+			throw new ImmutableException();
+		}
+		int slot = getKeySlot(key) ;
+		if (slot >= 0) {
+			return ((BioIndexedMap) map).removeSlotValue(slot) ;
+		}
+		return map.remove(key.getName());
+	}
+	
 	/**
 	 * Clears contents of map
 	 */
@@ -782,6 +1238,11 @@ public class BioObject implements Cloneable, BioObjectHolder {
 							}
 						}
 					}
+				} else if (ConversionUtility.isPrimitiveArray(e.getValue())) {
+					if (!Objects.deepEquals(e.getValue(), bioObject.get(e.getKey()))) {
+						isEquals.set(false);
+						break;
+					}
 				} else if (!e.getValue().equals(bioObject.get(e.getKey()))) {
 					isEquals.set(false);
 					break;
@@ -793,12 +1254,25 @@ public class BioObject implements Cloneable, BioObjectHolder {
 		return false ;
 	}
 
+	/**
+	 * Creates new instance of bio class using constructor cached in its obj, falls back to reflection for classes not in dictionary
+	 * @param bioClass
+	 * @return
+	 */
+	private static BioObject newInstance(Class<?> bioClass) throws ReflectiveOperationException {
+		BioObj obj = BioDictionary.findObj(bioClass) ;
+		if (obj != null && obj.getBioClass() == bioClass) {
+			return obj.newInstance() ;
+		}
+		return (BioObject) bioClass.getConstructor().newInstance() ;
+	}
+
 	/**
 	 * Clones bio object by creating totally new instance of it
 	 */
 	public BioObject clone() {
 		try {
-			final BioObject clone = this.getClass() == BioObject.class ? new BioObject(0) : (BioObject) this.getClass().getConstructor().newInstance();
+			final BioObject clone = this.getClass() == BioObject.class ? new BioObject(0) : newInstance(this.getClass());
 			clone.setBioCode(code);
 			clone.setBioDictionary(dictionary);
 			clone.setBioVersion(version);
@@ -826,6 +1300,11 @@ public class BioObject implements Cloneable, BioObjectHolder {
 						cloneArray[i] = array[i] ;
 					}
 					clone.put(e.getKey(), cloneArray);
+				} else if (ConversionUtility.isPrimitiveArray(e.getValue())) {
+					int length = Array.getLength(e.getValue()) ;
+					Object cloneArray = Array.newInstance(e.getValue().getClass().getComponentType(), length) ;
+					System.arraycopy(e.getValue(), 0, cloneArray, 0, length);
+					clone.put(e.getKey(), cloneArray);
 				} else {
 					clone.put(e.getKey(), e.getValue());
 				}
@@ -938,16 +1417,18 @@ public class BioObject implements Cloneable, BioObjectHolder {
 			BioObj obj = BioDictionary.getDictionary(dictionary).getObjByCode(code);
 			if (obj != null) {
 				final ArrayList<String> formattedKeys = new ArrayList<String>();
+				final ArrayList<BioTag> formattedTags = new ArrayList<BioTag>();
 				for (Entry<String, Object> e : entries()) {
-					BioTag tag = obj.getTag(e.getKey());
+					BioTag tag = getEntryTag(obj, e);
 					if (tag != null) {
 						formattedKeys.add(e.getKey());
+						formattedTags.add(tag);
 					}
 				}
 
 				for (int i = 0; i < formattedKeys.size(); i++) {
 					String k = formattedKeys.get(i) ;
-					BioTag tag = obj.getTag(k) ;
+					BioTag tag = formattedTags.get(i) ;
 					Object value = get(k) ;
 
 					if (value instanceof BioExpression) {
@@ -1141,6 +1622,31 @@ public class BioObject implements Cloneable, BioObjectHolder {
 	protected Map<String, Object> getMap() {
 		return map ;
 	}
+
+	/**
+	 * Attaches source of encoded values, they are decoded only when their keys are accessed first time. Used by parsers decoding lazily
+	 * @param source
+	 */
+	public void setLazySource(BioLazySource source) {
+		Map<String, Object> values = map instanceof BioLazyMap ? ((BioLazyMap) map).getValues() : map ;
+		this.map = new BioLazyMap(values, source) ;
+	}
+
+	/**
+	 * Indicates whether object still has values which are not decoded
+	 * @return
+	 */
+	public boolean isLazy() {
+		return map instanceof BioLazyMap && !((BioLazyMap) map).isMaterialized() ;
+	}
+
+	/**
+	 * Returns source of encoded values if object is decoded lazily and neither it nor its decoded values are modified since then
+	 * @return
+	 */
+	public BioLazySource getLazySource() {
+		return map instanceof BioLazyMap ? ((BioLazyMap) map).getUnmodifiedSource() : null ;
+	}
 	
 	public String toString() {
 		return toXml() ;
@@ -0,0 +1,31 @@
+package com.linkedlogics.bio.codec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * {@link com.linkedlogics.bio.BioCodec} for BigDecimal values, scale is written followed by minimal bytes of unscaled value
+ * @author rdavudov
+ *
+ */
+public class BigDecimalCodec implements BioCodec<BigDecimal> {
+	public static final int CODE = 1 ;
+	
+	@Override
+	public void encode(BigDecimal value, BoFastStream stream) {
+		stream.writeInt(value.scale());
+		stream.write(value.unscaledValue().toByteArray());
+	}
+
+	@Override
+	public BigDecimal decode(BiFastStream stream, int length) {
+		int start = stream.getPosition() ;
+		int scale = stream.readInt() ;
+		byte[] unscaled = stream.read(length - (stream.getPosition() - start)) ;
+		return new BigDecimal(new BigInteger(unscaled), scale) ;
+	}
+}
@@ -0,0 +1,31 @@
+package com.linkedlogics.bio.codec;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * {@link com.linkedlogics.bio.BioCodec} for IPv4 and IPv6 addresses written as raw address bytes, host names are not kept
+ * @author rdavudov
+ *
+ */
+public class InetAddressCodec implements BioCodec<InetAddress> {
+	public static final int CODE = 4 ;
+	
+	@Override
+	public void encode(InetAddress value, BoFastStream stream) {
+		stream.write(value.getAddress());
+	}
+
+	@Override
+	public InetAddress decode(BiFastStream stream, int length) {
+		try {
+			return InetAddress.getByAddress(stream.read(length)) ;
+		} catch (UnknownHostException e) {
+			throw new IllegalArgumentException(e) ;
+		}
+	}
+}
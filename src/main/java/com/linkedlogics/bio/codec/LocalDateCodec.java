@@ -0,0 +1,26 @@
+package com.linkedlogics.bio.codec;
+
+import java.time.LocalDate;
+
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * {@link com.linkedlogics.bio.BioCodec} for LocalDate values written as epoch day
+ * @author rdavudov
+ *
+ */
+public class LocalDateCodec implements BioCodec<LocalDate> {
+	public static final int CODE = 3 ;
+	
+	@Override
+	public void encode(LocalDate value, BoFastStream stream) {
+		stream.writeLong(value.toEpochDay());
+	}
+
+	@Override
+	public LocalDate decode(BiFastStream stream, int length) {
+		return LocalDate.ofEpochDay(stream.readLongValue()) ;
+	}
+}
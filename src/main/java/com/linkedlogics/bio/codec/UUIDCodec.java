@@ -0,0 +1,29 @@
+package com.linkedlogics.bio.codec;
+
+import java.util.UUID;
+
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * {@link com.linkedlogics.bio.BioCodec} for UUID values written as two longs
+ * @author rdavudov
+ *
+ */
+public class UUIDCodec implements BioCodec<UUID> {
+	public static final int CODE = 2 ;
+	
+	@Override
+	public void encode(UUID value, BoFastStream stream) {
+		stream.writeLong(value.getMostSignificantBits());
+		stream.writeLong(value.getLeastSignificantBits());
+	}
+
+	@Override
+	public UUID decode(BiFastStream stream, int length) {
+		long most = stream.readLongValue() ;
+		long least = stream.readLongValue() ;
+		return new UUID(most, least) ;
+	}
+}
@@ -0,0 +1,124 @@
+package com.linkedlogics.bio.compression;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import com.linkedlogics.bio.BioCompressor;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * Deflate implementation of {@link com.linkedlogics.bio.BioCompressor} using JDK's zlib. It compresses better than LZ4
+ * for the price of more CPU. Deflaters and inflaters are not thread safe and costly to create, so they are reused per thread.
+ * <p>
+ * A preset dictionary (see {@link BioDictionaryTrainer}) makes small messages compress well, since their common content is 
+ * referenced from dictionary instead of being repeated in every message. Same dictionary must be used for decompression
+ * @author rdavudov
+ *
+ */
+public class BioDeflateCompressor implements BioCompressor {
+	public static final int CODE = 3 ;
+
+	private final ThreadLocal<Deflater> deflaters ;
+	private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true)) ;
+	private final byte[] dictionary ;
+
+	public BioDeflateCompressor() {
+		this(Deflater.DEFAULT_COMPRESSION) ;
+	}
+
+	/**
+	 * Creates with compression level between {@link Deflater#BEST_SPEED} and {@link Deflater#BEST_COMPRESSION}
+	 * @param level
+	 */
+	public BioDeflateCompressor(int level) {
+		this(level, null) ;
+	}
+
+	/**
+	 * Creates with compression level and preset dictionary
+	 * @param level
+	 * @param dictionary null if no dictionary is used
+	 */
+	public BioDeflateCompressor(int level, byte[] dictionary) {
+		this.dictionary = dictionary ;
+		// raw deflate without zlib header and checksum, payload lengths are already in bio header
+		this.deflaters = ThreadLocal.withInitial(() -> new Deflater(level, true)) ;
+	}
+
+	/**
+	 * Compresses bytes
+	 * @param data
+	 * @return
+	 */
+	public byte[] compress(byte[] data) {
+		BoFastStream out = new BoFastStream(data.length / 2 + 64) ;
+		compress(data, 0, data.length, out) ;
+		return out.toByteArray() ;
+	}
+
+	/**
+	 * Decompressed bytes
+	 * @param data
+	 * @param originalLength
+	 * @return
+	 */
+	public byte[] decompress(byte[] data, int originalLength) {
+		return decompress(data, 0, data.length, originalLength) ;
+	}
+
+	/**
+	 * Deflates directly into stream's buffer
+	 */
+	@Override
+	public int compress(byte[] data, int offset, int length, BoFastStream out) {
+		Deflater deflater = deflaters.get() ;
+		deflater.reset();
+		if (dictionary != null) {
+			deflater.setDictionary(dictionary);
+		}
+		deflater.setInput(data, offset, length);
+		deflater.finish();
+		int start = out.getSize() ;
+		while (!deflater.finished()) {
+			int chunk = Math.max(64, length / 2) ;
+			int position = out.reserve(chunk) ;
+			int deflated = deflater.deflate(out.getBuffer(), position, chunk) ;
+			out.rewind(position + deflated);
+		}
+		return out.getSize() - start ;
+	}
+
+	@Override
+	public byte[] decompress(byte[] data, int offset, int length, int originalLength) {
+		Inflater inflater = inflaters.get() ;
+		inflater.reset();
+		if (dictionary != null) {
+			inflater.setDictionary(dictionary);
+		}
+		inflater.setInput(data, offset, length);
+		byte[] decompressed = new byte[originalLength];
+		try {
+			int position = 0 ;
+			while (position < originalLength) {
+				int inflated = inflater.inflate(decompressed, position, originalLength - position) ;
+				if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+					throw new ParserException("deflated data is shorter than original length " + originalLength) ;
+				}
+				position += inflated ;
+			}
+		} catch (DataFormatException e) {
+			throw new ParserException("invalid deflated data", e) ;
+		}
+		return decompressed ;
+	}
+
+	/**
+	 * Returns preset dictionary
+	 * @return null if no dictionary is used
+	 */
+	public byte[] getDictionary() {
+		return dictionary ;
+	}
+}
@@ -0,0 +1,167 @@
+package com.linkedlogics.bio.compression;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map.Entry;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.parser.BioObjectBinaryParser;
+
+/**
+ * Trains a preset dictionary for {@link BioDeflateCompressor} from sample messages. Messages of same bio objects share most of
+ * their content (tag codes, types, repeated values), dictionary collects such content so that each message only refers to it.
+ * <p>
+ * Sample is split into k-grams of {@link #GRAM_LENGTH} bytes and number of samples containing each k-gram is counted. Runs of
+ * k-grams found in enough samples become candidate segments, segments are scored by their k-grams' counts and best ones are
+ * placed at the end of dictionary where deflate references them with shortest distances. Dictionary should be trained from
+ * samples of same bio objects encoded by same parser settings as compressed messages and registered with a compressor code
+ * which identifies it in message header.
+ * <p>
+ * Samples are payloads as compressor sees them, without header. Encrypted messages are compressed after encryption, so their
+ * content has nothing in common and a dictionary can't be trained for them
+ * @author rdavudov
+ *
+ */
+public class BioDictionaryTrainer {
+	/**
+	 * Maximum useful size of dictionary, deflate can't refer further than its window
+	 */
+	public static final int MAX_DICTIONARY_SIZE = 32 * 1024 ;
+	/**
+	 * Length of k-grams, it is also minimum length of a segment
+	 */
+	private static final int GRAM_LENGTH = 8 ;
+
+	private final BioObjectBinaryParser parser ;
+	private final List<byte[]> samples = new ArrayList<byte[]>() ;
+
+	/**
+	 * Creates trainer for raw sample bytes added by {@link #addSample(byte[])}
+	 */
+	public BioDictionaryTrainer() {
+		this(null) ;
+	}
+
+	/**
+	 * Creates trainer which encodes payloads of sample bio objects by parser
+	 * @param parser
+	 * @throws ParserException if parser encrypts messages
+	 */
+	public BioDictionaryTrainer(BioObjectBinaryParser parser) {
+		if (parser != null && parser.isEncrypted()) {
+			throw new ParserException("dictionary can't be trained for encrypted messages since they are compressed after encryption") ;
+		}
+		this.parser = parser ;
+	}
+
+	/**
+	 * Adds payload of sample bio object
+	 * @param object
+	 * @return
+	 */
+	public BioDictionaryTrainer addSample(BioObject object) {
+		BioObjectBinaryParser parser = this.parser != null ? this.parser : new BioObjectBinaryParser() ;
+		byte[] payload = parser.encodePayload(object) ;
+		return payload != null ? addSample(payload) : this ;
+	}
+
+	/**
+	 * Adds sample payload bytes, they must be encoded by {@link BioObjectBinaryParser#encodePayload(Object)} or be same as compressed
+	 * data of messages, whole messages with their headers make worse dictionaries
+	 * @param sample
+	 * @return
+	 */
+	public BioDictionaryTrainer addSample(byte[] sample) {
+		samples.add(sample) ;
+		return this ;
+	}
+
+	/**
+	 * Trains dictionary of {@link #MAX_DICTIONARY_SIZE} bytes at most
+	 * @return
+	 */
+	public byte[] train() {
+		return train(MAX_DICTIONARY_SIZE) ;
+	}
+
+	/**
+	 * Trains dictionary of given size at most
+	 * @param size
+	 * @return empty array if samples have nothing in common
+	 */
+	public byte[] train(int size) {
+		// number of samples containing each k-gram
+		HashMap<Long, Integer> counts = new HashMap<Long, Integer>() ;
+		for (byte[] sample : samples) {
+			HashMap<Long, Boolean> grams = new HashMap<Long, Boolean>() ;
+			for (int i = 0; i + GRAM_LENGTH <= sample.length; i++) {
+				grams.put(getGram(sample, i), Boolean.TRUE) ;
+			}
+			for (Long gram : grams.keySet()) {
+				counts.merge(gram, 1, Integer::sum) ;
+			}
+		}
+
+		// a k-gram is common if it is found in at least 2 samples or 10% of samples
+		int minCount = Math.max(2, samples.size() / 10) ;
+		HashMap<String, Long> segments = new HashMap<String, Long>() ;
+		for (byte[] sample : samples) {
+			int start = -1 ;
+			long score = 0 ;
+			for (int i = 0; i + GRAM_LENGTH <= sample.length + 1; i++) {
+				int count = i + GRAM_LENGTH <= sample.length ? counts.get(getGram(sample, i)) : 0 ;
+				if (count >= minCount) {
+					if (start < 0) {
+						start = i ;
+						score = 0 ;
+					}
+					score += count ;
+				} else if (start >= 0) {
+					// same segment found in several samples is added once, its score is kept from one of them
+					String segment = new String(sample, start, i - 1 + GRAM_LENGTH - start, StandardCharsets.ISO_8859_1) ;
+					segments.merge(segment, score, Math::max) ;
+					start = -1 ;
+				}
+			}
+		}
+
+		List<Entry<String, Long>> sorted = new ArrayList<Entry<String, Long>>(segments.entrySet()) ;
+		sorted.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+		List<String> selected = new ArrayList<String>() ;
+		StringBuilder content = new StringBuilder() ;
+		int length = 0 ;
+		for (Entry<String, Long> e : sorted) {
+			String segment = e.getKey() ;
+			if (length + segment.length() > size) {
+				continue ;
+			}
+			if (content.indexOf(segment) >= 0) {
+				continue ;
+			}
+			selected.add(segment) ;
+			content.append(segment) ;
+			length += segment.length() ;
+		}
+
+		// best segments are placed last, closest to compressed data
+		ByteArrayOutputStream dictionary = new ByteArrayOutputStream(length) ;
+		for (int i = selected.size() - 1; i >= 0; i--) {
+			byte[] bytes = selected.get(i).getBytes(StandardCharsets.ISO_8859_1) ;
+			dictionary.write(bytes, 0, bytes.length);
+		}
+		return dictionary.toByteArray() ;
+	}
+
+	private static long getGram(byte[] sample, int offset) {
+		long gram = 0 ;
+		for (int i = 0; i < GRAM_LENGTH; i++) {
+			gram = (gram << 8) | (sample[offset + i] & 0xFF) ;
+		}
+		return gram ;
+	}
+}
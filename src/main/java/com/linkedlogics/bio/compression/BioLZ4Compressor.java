@@ -1,26 +1,57 @@
 package com.linkedlogics.bio.compression;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.linkedlogics.bio.BioCompressor;
+import com.linkedlogics.bio.stream.BoFastStream;
 
 import net.jpountz.lz4.LZ4Compressor;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
 
 /**
- * LZ4 implementation of {@link com.linkedlogics.bio.BioCompressor}
+ * LZ4 implementation of {@link com.linkedlogics.bio.BioCompressor}. LZ4 compressors keep no state, so single instance can be shared
+ * between threads (see {@link #getInstance()})
  * @author rdavudov
  *
  */
 public class BioLZ4Compressor implements BioCompressor {
+	public static final int CODE = 1 ;
+	
+	private static final BioLZ4Compressor instance = new BioLZ4Compressor() ;
+	
 	private LZ4Compressor compressor ;
 	private LZ4FastDecompressor decompressor ;
 	
 	public BioLZ4Compressor() {
-		LZ4Factory factory = LZ4Factory.fastestInstance();
-		compressor = factory.fastCompressor();
-		decompressor = factory.fastDecompressor();
+		this(LZ4Factory.fastestInstance().fastCompressor()) ;
+	}
+	
+	/**
+	 * Creates with given LZ4 compressor, all LZ4 compressors produce blocks decompressed by the same fast decompressor
+	 * @param compressor
+	 */
+	protected BioLZ4Compressor(LZ4Compressor compressor) {
+		this.compressor = compressor ;
+		this.decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+	}
+	
+	/**
+	 * Returns shared instance
+	 * @return
+	 */
+	public static BioLZ4Compressor getInstance() {
+		return instance ;
+	}
+	
+	/**
+	 * Returns maximum number of bytes compressing length bytes can produce
+	 * @param length
+	 * @return
+	 */
+	public int maxCompressedLength(int length) {
+		return compressor.maxCompressedLength(length) ;
 	}
 	
 	/**
@@ -43,11 +74,46 @@ public class BioLZ4Compressor implements BioCompressor {
 	 * @return
 	 */
 	public byte[] decompress(byte[] data, int originalLength) {
+		return decompress(data, 0, data.length, originalLength) ;
+	}
+	
+	/**
+	 * Compresses directly into stream's buffer, space for maximum compressed length is reserved and unused part is given back
+	 */
+	@Override
+	public int compress(byte[] data, int offset, int length, BoFastStream out) {
+		int maxCompressedLength = compressor.maxCompressedLength(length);
+		int position = out.reserve(maxCompressedLength) ;
+		int compressedLength = compressor.compress(data, offset, length, out.getBuffer(), position, maxCompressedLength);
+		out.rewind(position + compressedLength);
+		return compressedLength ;
+	}
+	
+	@Override
+	public byte[] decompress(byte[] data, int offset, int length, int originalLength) {
 		byte[] decompressed = new byte[originalLength];
-		decompressor.decompress(data, 0, decompressed, 0, originalLength);
+		decompressor.decompress(data, offset, decompressed, 0, originalLength);
 		return decompressed ;
 	}
 	
+	/**
+	 * Compresses into destination, it must have at least {@link #maxCompressedLength(int)} bytes remaining
+	 */
+	@Override
+	public int compress(ByteBuffer source, ByteBuffer destination) {
+		int compressedLength = compressor.compress(source, source.position(), source.remaining(), destination, destination.position(), destination.remaining());
+		source.position(source.limit()) ;
+		destination.position(destination.position() + compressedLength) ;
+		return compressedLength ;
+	}
+	
+	@Override
+	public void decompress(ByteBuffer source, ByteBuffer destination, int originalLength) {
+		int compressedLength = decompressor.decompress(source, source.position(), destination, destination.position(), originalLength);
+		source.position(source.position() + compressedLength) ;
+		destination.position(destination.position() + originalLength) ;
+	}
+	
 	public static void main(String[] args) {
 		BioLZ4Compressor c = new BioLZ4Compressor() ;
 		
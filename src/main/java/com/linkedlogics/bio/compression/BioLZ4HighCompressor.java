@@ -0,0 +1,27 @@
+package com.linkedlogics.bio.compression;
+
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * LZ4 high compression implementation of {@link com.linkedlogics.bio.BioCompressor}. It spends more CPU while compressing for 
+ * a better ratio, decompression is as fast as {@link BioLZ4Compressor}
+ * @author rdavudov
+ *
+ */
+public class BioLZ4HighCompressor extends BioLZ4Compressor {
+	public static final int CODE = 2 ;
+	
+	private static final BioLZ4HighCompressor instance = new BioLZ4HighCompressor() ;
+	
+	public BioLZ4HighCompressor() {
+		super(LZ4Factory.fastestInstance().highCompressor()) ;
+	}
+	
+	/**
+	 * Returns shared instance
+	 * @return
+	 */
+	public static BioLZ4HighCompressor getInstance() {
+		return instance ;
+	}
+}
@@ -1,6 +1,12 @@
 package com.linkedlogics.bio.dictionary;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 
@@ -70,6 +76,46 @@ public class BioObj {
 	 * Indicates code is auto generated
 	 */
 	private boolean isCodeGenerated ;
+	/**
+	 * Tags (including inherited ones) indexed by dense slot position, used for indexed storage of bio objects
+	 */
+	private BioTag[] slotTags ;
+	/**
+	 * Slot positions of {@link #slotTags} based on tag name/key
+	 */
+	private HashMap<String, Integer> slotMap ;
+	/**
+	 * Pre-resolved keys of {@link #slotTags}
+	 */
+	private BioTagKey[] slotKeys ;
+	/**
+	 * Flattened name/key to tag table including inherited and super tags, built once dictionary is validated
+	 */
+	private HashMap<String, BioTag> tagNameTable ;
+	/**
+	 * Flattened code to tag table including inherited tags
+	 */
+	private CodeTable tagCodeTable ;
+	/**
+	 * Code to tag table of super tags, they have minus codes so they are kept apart not to make {@link #tagCodeTable} sparse
+	 */
+	private CodeTable superTagCodeTable ;
+	/**
+	 * Child objs inheriting tags of this obj, their tables are built again whenever tables of this obj are built
+	 */
+	private final ArrayList<BioObj> children = new ArrayList<BioObj>() ;
+	/**
+	 * Cached tag list including inherited tags
+	 */
+	private List<BioTag> tagList ;
+	/**
+	 * Cached no-arg constructor handle of bio class, it depends only on class so it is kept when tables are built again
+	 */
+	private volatile MethodHandle constructor ;
+	/**
+	 * Encoder/decoder specialized by parser for current tables, it is dropped when tables are built again
+	 */
+	private volatile Object specialization ;
 	
 	public BioObj() {
 		
@@ -113,6 +159,7 @@ public class BioObj {
 			if (tag.isMandatory()) {
 				mandatoryTagList.add(tag) ;
 			}	
+			tagsChanged() ;
 		} else {
 			BioTag existingTag = codeMap.get(tag.getCode()) ;
 			if (existingTag != null && (existingTag.getCode() != tag.getCode() || !existingTag.getName().equals(tag.getName()))) {
@@ -130,6 +177,146 @@ public class BioObj {
 	public void removeTag(BioTag tag) {
 		nameMap.remove(tag.getName()) ;
 		codeMap.remove(tag.getCode()) ;
+		tagsChanged() ;
+	}
+	
+	/**
+	 * Builds flattened tag tables (name, code, tag list) and slot indexes including inherited and super tags. It is called once dictionary
+	 * is validated, afterwards tag lookups don't go through parents or dictionary and objects created keep their tag values in slot arrays
+	 * instead of maps. Tables of child objs are built again as well since they include tags of this obj
+	 */
+	public void buildTables() {
+		resetTables() ;
+		List<BioTag> list = Collections.unmodifiableList(getTagList()) ;
+		Collection<BioTag> superTags = BioDictionary.getDictionary(dictionary).getSuperTagNameMap().values() ;
+		
+		HashMap<String, BioTag> nameTable = new HashMap<String, BioTag>() ;
+		for (BioTag tag : superTags) {
+			nameTable.put(tag.getName(), tag) ;
+		}
+		for (int i = list.size() - 1; i >= 0; i--) {
+			nameTable.put(list.get(i).getName(), list.get(i)) ;
+		}
+		
+		this.tagNameTable = nameTable ;
+		this.tagCodeTable = new CodeTable(list) ;
+		this.superTagCodeTable = new CodeTable(superTags) ;
+		this.tagList = list ;
+		
+		buildSlots(list) ;
+		
+		for (BioObj child : children) {
+			child.buildTables() ;
+		}
+	}
+	
+	/**
+	 * Assigns a dense slot index to each tag including inherited ones
+	 * @param list
+	 */
+	private void buildSlots(List<BioTag> list) {
+		BioTag[] tags = list.toArray(new BioTag[list.size()]) ;
+		HashMap<String, Integer> map = new HashMap<String, Integer>(tags.length * 2) ;
+		for (int i = 0; i < tags.length; i++) {
+			map.put(tags[i].getName(), i) ;
+		}
+		BioTagKey[] keys = new BioTagKey[tags.length] ;
+		for (int i = 0; i < tags.length; i++) {
+			keys[i] = new BioTagKey(this, tags[i], i, tags) ;
+		}
+		this.slotMap = map ;
+		this.slotKeys = keys ;
+		this.slotTags = tags ;
+	}
+	
+	/**
+	 * Builds tables again if they were already built, otherwise drops them
+	 */
+	private void tagsChanged() {
+		if (hasSlots()) {
+			buildTables() ;
+		} else {
+			resetTables() ;
+		}
+	}
+	
+	/**
+	 * Drops flattened tables and slot indexes, tags are changed so they must be built again
+	 */
+	private void resetTables() {
+		this.tagNameTable = null ;
+		this.tagCodeTable = null ;
+		this.superTagCodeTable = null ;
+		this.tagList = null ;
+		this.slotTags = null ;
+		this.slotMap = null ;
+		this.slotKeys = null ;
+		this.specialization = null ;
+	}
+	
+	/**
+	 * Checks whether slot indexes are built
+	 * @return
+	 */
+	public boolean hasSlots() {
+		return slotTags != null ;
+	}
+	
+	/**
+	 * Retrieves slot index by tag name/key, -1 if tag has no slot
+	 * @param name
+	 * @return
+	 */
+	public int getSlot(String name) {
+		if (slotMap != null) {
+			Integer slot = slotMap.get(name) ;
+			if (slot != null) {
+				return slot ;
+			}
+		}
+		return -1 ;
+	}
+	
+	/**
+	 * Resolves tag by name/key into a key handle, null if tag is not found or slots are not built yet
+	 * @param name
+	 * @return
+	 */
+	public BioTagKey getTagKey(String name) {
+		BioTagKey[] keys = slotKeys ;
+		if (keys == null) {
+			return null ;
+		}
+		int slot = getSlot(name) ;
+		if (slot >= 0) {
+			return keys[slot] ;
+		}
+		// super tags have no slots but still can be resolved
+		BioTag tag = getTag(name) ;
+		if (tag != null) {
+			return new BioTagKey(this, tag, -1, slotTags) ;
+		}
+		return null ;
+	}
+	
+	public BioTag[] getSlotTags() {
+		return slotTags;
+	}
+	
+	public HashMap<String, Integer> getSlotMap() {
+		return slotMap;
+	}
+	
+	/**
+	 * Returns encoder/decoder specialized by parser for current tables
+	 * @return null if it is not created yet or tables are changed
+	 */
+	public Object getSpecialization() {
+		return specialization;
+	}
+	
+	public void setSpecialization(Object specialization) {
+		this.specialization = specialization;
 	}
 	
 	/**
@@ -138,6 +325,10 @@ public class BioObj {
 	 * @return
 	 */
 	public BioTag getTag(String name) {
+		HashMap<String, BioTag> nameTable = tagNameTable ;
+		if (nameTable != null) {
+			return nameTable.get(name) ;
+		}
 		BioTag tag = nameMap.get(name) ;
 		if (tag == null && parent != null) {
 			tag = parent.getTag(name) ;
@@ -154,10 +345,19 @@ public class BioObj {
 	 * @return
 	 */
 	public BioTag getTag(int code) {
+		CodeTable codeTable = tagCodeTable ;
+		CodeTable superCodeTable = superTagCodeTable ;
+		if (codeTable != null && superCodeTable != null) {
+			BioTag tag = codeTable.get(code) ;
+			return tag != null ? tag : superCodeTable.get(code) ;
+		}
 		BioTag tag = codeMap.get(code) ;
 		if (tag == null && parent != null) {
 			tag = parent.getTag(code) ;
 		}
+		if (tag == null) {
+			tag = BioDictionary.getDictionary(dictionary).getSuperTag(code) ;
+		}
 		return tag ; 
 	}
 	
@@ -233,6 +433,53 @@ public class BioObj {
 
 	public void setBioClass(Class bioClass) {
 		this.bioClass = bioClass ;
+		this.constructor = null ;
+	}
+	
+	/**
+	 * Creates a new instance of bio class using its no-arg constructor which is resolved only once
+	 * @return
+	 */
+	public <T> T newInstance() {
+		MethodHandle handle = constructor ;
+		if (handle == null) {
+			if (bioClass == null) {
+				throw new DictionaryException("bio obj " + name + " has no class") ;
+			}
+			handle = findConstructor(bioClass) ;
+			constructor = handle ;
+		}
+		try {
+			@SuppressWarnings("unchecked")
+			T instance = (T) handle.invokeExact() ;
+			return instance ;
+		} catch (RuntimeException | Error e) {
+			throw e ;
+		} catch (Throwable e) {
+			throw new DictionaryException("bio obj " + name + " can't be created", e) ;
+		}
+	}
+	
+	/**
+	 * Resolves no-arg constructor of bio class as a method handle. Public lookup doesn't depend on class loader of this class, 
+	 * so bio classes visible only from child class loaders (e.g. web applications or plugins) are resolved as well
+	 * @param bioClass
+	 * @return
+	 */
+	private static MethodHandle findConstructor(Class<?> bioClass) {
+		MethodType type = MethodType.methodType(Object.class) ;
+		try {
+			return MethodHandles.publicLookup().findConstructor(bioClass, MethodType.methodType(void.class)).asType(type) ;
+		} catch (IllegalAccessException e) {
+			// e.g. package of bio class is not exported, reflective access is checked against this class instead
+			try {
+				return MethodHandles.lookup().unreflectConstructor(bioClass.getConstructor()).asType(type) ;
+			} catch (ReflectiveOperationException ex) {
+				throw new DictionaryException("no-arg constructor of " + bioClass.getName() + " is not accessible", ex) ;
+			}
+		} catch (NoSuchMethodException e) {
+			throw new DictionaryException("bio class " + bioClass.getName() + " has no public no-arg constructor", e) ;
+		}
 	}
 
 	public Class<BioObject> getBioClass() {
@@ -244,7 +491,14 @@ public class BioObj {
 	}
 
 	public void setParent(BioObj parent) {
+		if (this.parent != null) {
+			this.parent.children.remove(this) ;
+		}
 		this.parent = parent;
+		if (parent != null) {
+			parent.children.add(this) ;
+		}
+		tagsChanged() ;
 	}
 
 	public String getParentName() {
@@ -263,6 +517,7 @@ public class BioObj {
 		this.className = className;
 		if (className != null) {
 			this.bioClass = Class.forName(className) ;
+			this.constructor = null ;
 		}
 	}
 
@@ -278,7 +533,14 @@ public class BioObj {
 		return type ;
 	}
 	
+	/**
+	 * Returns all tags including inherited ones, once tables are built it is cached and not modifiable
+	 * @return
+	 */
 	public List<BioTag> getTagList() {
+		if (tagList != null) {
+			return tagList ;
+		}
 		ArrayList<BioTag> list = new ArrayList<BioTag>(nameMap.values()) ;
 		if (parent != null) {
 			parent.getTagList().forEach(t -> {
@@ -289,4 +551,52 @@ public class BioObj {
 		}
 		return list ;
 	}
+	
+	/**
+	 * Code to tag table. If codes are dense enough it is indexed by code minus {@link #offset}, otherwise it is sorted by code 
+	 * and {@link #codes} is used for binary search
+	 */
+	private static final class CodeTable {
+		private final BioTag[] tags ;
+		private final int offset ;
+		private final int[] codes ;
+		
+		CodeTable(Collection<BioTag> list) {
+			// table is dense only if it doesn't waste too much, generated codes are usually spread up to 32767
+			BioTag[] sorted = list.toArray(new BioTag[list.size()]) ;
+			Arrays.sort(sorted, (t1, t2) -> Integer.compare(t1.getCode(), t2.getCode()));
+			BioTag[] table = null ;
+			int offset = 0 ;
+			if (sorted.length > 0) {
+				offset = sorted[0].getCode() ;
+				int span = sorted[sorted.length - 1].getCode() - offset + 1 ;
+				if (span <= Math.max(64, sorted.length * 8)) {
+					table = new BioTag[span] ;
+					for (int i = sorted.length - 1; i >= 0; i--) {
+						table[sorted[i].getCode() - offset] = sorted[i] ;
+					}
+				}
+			}
+			int[] codes = null ;
+			if (table == null) {
+				table = sorted ;
+				codes = new int[sorted.length] ;
+				for (int i = 0; i < sorted.length; i++) {
+					codes[i] = sorted[i].getCode() ;
+				}
+			}
+			this.tags = table ;
+			this.offset = offset ;
+			this.codes = codes ;
+		}
+		
+		BioTag get(int code) {
+			if (codes == null) {
+				int index = code - offset ;
+				return index >= 0 && index < tags.length ? tags[index] : null ;
+			}
+			int index = Arrays.binarySearch(codes, code) ;
+			return index >= 0 ? tags[index] : null ;
+		}
+	}
 }
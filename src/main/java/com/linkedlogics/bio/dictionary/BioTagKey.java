@@ -0,0 +1,142 @@
+package com.linkedlogics.bio.dictionary;
+
+import com.linkedlogics.bio.BioDictionary;
+import com.linkedlogics.bio.BioObject;
+
+/**
+ * BioTagKey is a pre-resolved handle of a tag inside a bio obj. It carries tag's slot index, type and code so that bio objects
+ * using indexed storage can access values without any name lookup. Keys can be declared as constants next to tag names, they are
+ * bound to dictionary on first use (dictionary must be built by then)
+ * <pre>
+ * &#64;BioTag(type="Integer")
+ * public static final String YEAR_OF_PRODUCTION = "year_of_production" ;
+ * public static final BioTagKey YEAR_OF_PRODUCTION_KEY = BioTagKey.of(Car.class, YEAR_OF_PRODUCTION) ;
+ * </pre>
+ * Slot is used only if indexed storage is enabled (see {@link com.linkedlogics.bio.BioDictionaryBuilder#setIndexedStorage(boolean)})
+ * and object's storage has same slot layout as key, e.g. key of another class or key bound before obj tables were built again
+ * falls back to lookup by name. Generic code working with entries (formatting, merging, json and binary encoding) does not use
+ * keys, it takes tags of indexed entries by slot through {@link BioObject#getEntryTag(BioObj, java.util.Map.Entry)}
+ * @author rdavudov
+ *
+ */
+public final class BioTagKey {
+	/**
+	 * Tag name/key
+	 */
+	private final String name ;
+	/**
+	 * Bio class used for binding to bio obj
+	 */
+	private final Class<? extends BioObject> bioClass ;
+	/**
+	 * Obj where tag is resolved
+	 */
+	private final BioObj obj ;
+	/**
+	 * Resolved tag
+	 */
+	private final BioTag tag ;
+	/**
+	 * Slot index of tag in obj, -1 if tag has no slot (e.g. super tags)
+	 */
+	private final int slot ;
+	/**
+	 * Slot layout of obj which slot index belongs to
+	 */
+	private final BioTag[] slotTags ;
+	/**
+	 * Bound key, for keys created by obj it is key itself
+	 */
+	private volatile BioTagKey bound ;
+
+	BioTagKey(BioObj obj, BioTag tag, int slot, BioTag[] slotTags) {
+		this.name = tag.getName() ;
+		this.bioClass = obj.getBioClass() ;
+		this.obj = obj ;
+		this.tag = tag ;
+		this.slot = slot ;
+		this.slotTags = slotTags ;
+		this.bound = this ;
+	}
+
+	private BioTagKey(Class<? extends BioObject> bioClass, String name) {
+		this.name = name ;
+		this.bioClass = bioClass ;
+		this.obj = null ;
+		this.tag = null ;
+		this.slot = -1 ;
+		this.slotTags = null ;
+	}
+
+	/**
+	 * Creates a key for tag of bio class which will be bound to dictionary on first use
+	 * @param bioClass
+	 * @param name
+	 * @return
+	 */
+	public static BioTagKey of(Class<? extends BioObject> bioClass, String name) {
+		return new BioTagKey(bioClass, name) ;
+	}
+
+	/**
+	 * Returns key bound to bio obj or null if obj or tag is not found in dictionary
+	 * @return
+	 */
+	public BioTagKey bind() {
+		BioTagKey key = bound ;
+		if (key == null) {
+			BioObj obj = BioDictionary.findObj(bioClass) ;
+			if (obj != null) {
+				key = obj.getTagKey(name) ;
+				bound = key ;
+			}
+		}
+		return key ;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public Class<? extends BioObject> getBioClass() {
+		return bioClass;
+	}
+
+	public BioObj getObj() {
+		BioTagKey key = bind() ;
+		return key != null ? key.obj : null ;
+	}
+
+	public BioTag getTag() {
+		BioTagKey key = bind() ;
+		return key != null ? key.tag : null ;
+	}
+
+	public int getCode() {
+		BioTagKey key = bind() ;
+		return key != null ? key.tag.getCode() : 0 ;
+	}
+
+	public BioType getType() {
+		BioTagKey key = bind() ;
+		return key != null ? key.tag.getType() : null ;
+	}
+
+	public int getSlot() {
+		BioTagKey key = bind() ;
+		return key != null ? key.slot : -1 ;
+	}
+
+	/**
+	 * Returns slot layout of obj which slot index is valid for
+	 * @return
+	 */
+	public BioTag[] getSlotTags() {
+		BioTagKey key = bind() ;
+		return key != null ? key.slotTags : null ;
+	}
+
+	public String toString() {
+		return name ;
+	}
+}
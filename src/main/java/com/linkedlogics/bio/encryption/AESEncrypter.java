@@ -9,13 +9,14 @@ import com.linkedlogics.bio.BioEncrypter;
 import com.linkedlogics.bio.exception.EncryptionException;
 
 /**
- * AES implementation of {@link com.linkedlogics.bio.BioEncrypter}
+ * AES implementation of {@link com.linkedlogics.bio.BioEncrypter}. Ciphers are not thread safe, so they are kept per thread and
+ * a single encrypter can be shared between parsers and threads
  * @author rdavudov
  *
  */
 public class AESEncrypter implements BioEncrypter {
-	private Cipher encrypter ;
-	private Cipher decrypter ;
+	private volatile ThreadLocal<Cipher> encrypters ;
+	private volatile ThreadLocal<Cipher> decrypters ;
 	
 	/**
 	 * Initializes encryption classes using property <b>aes_key</b> provided in properties
@@ -25,14 +26,21 @@ public class AESEncrypter implements BioEncrypter {
 	public boolean init(HashMap<String, Object> properties) {
 		String key = (String) properties.get("key") ;
 		SecretKeySpec secretKey = new SecretKeySpec(key.getBytes(), "AES");
+		ThreadLocal<Cipher> encrypters = ThreadLocal.withInitial(() -> createCipher(Cipher.ENCRYPT_MODE, secretKey)) ;
+		ThreadLocal<Cipher> decrypters = ThreadLocal.withInitial(() -> createCipher(Cipher.DECRYPT_MODE, secretKey)) ;
+		// ciphers of current thread are created right away so that invalid keys are reported here
+		encrypters.get() ;
+		decrypters.get() ;
+		this.encrypters = encrypters ;
+		this.decrypters = decrypters ;
+		return true ;
+	}
+	
+	private static Cipher createCipher(int mode, SecretKeySpec secretKey) {
 		try {
-			encrypter = Cipher.getInstance("AES");
-			encrypter.init(Cipher.ENCRYPT_MODE, secretKey);
-			
-			decrypter = Cipher.getInstance("AES");
-			decrypter.init(Cipher.DECRYPT_MODE, secretKey);
-			
-			return true ;
+			Cipher cipher = Cipher.getInstance("AES");
+			cipher.init(mode, secretKey);
+			return cipher ;
 		} catch (Throwable e) {
 			throw new EncryptionException(e) ;
 		}
@@ -44,7 +52,7 @@ public class AESEncrypter implements BioEncrypter {
 	 */
 	public byte[] encrypt(byte[] bytes) {
 		try {
-			return encrypter.doFinal(bytes);
+			return encrypters.get().doFinal(bytes);
 		} catch (Throwable e) {
 			throw new EncryptionException(e) ;
 		}
@@ -56,7 +64,7 @@ public class AESEncrypter implements BioEncrypter {
 	 */
 	public byte[] decrypt(byte[] bytes) {
 		try {
-			return decrypter.doFinal(bytes);
+			return decrypters.get().doFinal(bytes);
 		} catch (Throwable e) {
 			throw new EncryptionException(e) ;
 		}
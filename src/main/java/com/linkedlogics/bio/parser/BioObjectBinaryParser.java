@@ -1,9 +1,11 @@
 package com.linkedlogics.bio.parser;
 
-import java.io.ByteArrayInputStream;
 import java.lang.reflect.Array;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map.Entry;
@@ -13,12 +15,15 @@ import com.linkedlogics.bio.BioDictionary;
 import com.linkedlogics.bio.BioEncrypter;
 import com.linkedlogics.bio.BioEnum;
 import com.linkedlogics.bio.BioExpression;
+import com.linkedlogics.bio.BioLazySource;
 import com.linkedlogics.bio.BioObject;
 import com.linkedlogics.bio.dictionary.BioEnumObj;
 import com.linkedlogics.bio.dictionary.BioObj;
 import com.linkedlogics.bio.dictionary.BioTag;
 import com.linkedlogics.bio.dictionary.BioType;
 import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.parser.SpecializedBioObj.TagReader;
+import com.linkedlogics.bio.parser.SpecializedBioObj.TagWriter;
 import com.linkedlogics.bio.stream.BiFastStream;
 import com.linkedlogics.bio.stream.BoFastStream;
 import com.linkedlogics.bio.utility.ByteUtility;
@@ -28,6 +33,10 @@ import com.linkedlogics.bio.utility.XMLUtility;
 /**
  * This is serializer/deserializer class also includes binary compression and encryption if set. It can serialize data which is an array or list or
  * single bio object.
+ * <p>
+ * Parser keeps no state between calls, per call state and buffers are kept in contexts which are reused per thread. So once configured, 
+ * single instance can be shared between threads. Its compressor and encrypter are shared as well, so they must be thread safe 
+ * (see {@link com.linkedlogics.bio.BioCompressor} and {@link com.linkedlogics.bio.BioEncrypter}).
  * @author rdavudov
  *
  */
@@ -52,18 +61,81 @@ public class BioObjectBinaryParser {
 	 * indicates whether binary bytes contain xml parseable bio object
 	 */
 	public static final int FLAG_XML = 0x10 ;
+	/**
+	 * indicates whether lengths and counts in binary bytes are encoded as varints
+	 */
+	public static final int FLAG_VARINT_LENGTH = 0x20 ;
+	/**
+	 * indicates whether binary bytes contain integer values and tag codes as zigzag varints and time values as deltas
+	 */
+	public static final int FLAG_COMPACT = 0x40 ;
+	/**
+	 * indicates whether binary bytes contain a string table after payload and repeated string values are written as references to it,
+	 * offset of string table from payload's start follows tag name map
+	 */
+	public static final int FLAG_STRING_TABLE = 0x80 ;
+	/**
+	 * indicates whether an extended flag byte follows. Array and list flags are never set together otherwise, so their combination
+	 * is used as a marker and array/list indicators are moved to extended flags
+	 */
+	public static final int FLAG_EXTENDED = FLAG_ARRAY | FLAG_LIST ;
+	/**
+	 * extended flag, indicates whether binary bytes contain an array
+	 */
+	public static final int EXTENDED_FLAG_ARRAY = 0x01 ;
+	/**
+	 * extended flag, indicates whether binary bytes contain a list
+	 */
+	public static final int EXTENDED_FLAG_LIST = 0x02 ;
+	/**
+	 * extended flag, indicates whether each typed bio object ends with an index of its tag offsets sorted by tag code
+	 */
+	public static final int EXTENDED_FLAG_INDEX = 0x04 ;
+	/**
+	 * extended flag, indicates whether a byte with code of compressor registered in {@link BioDictionary} follows extended flags, 
+	 * otherwise dictionary's default compressor is used
+	 */
+	public static final int EXTENDED_FLAG_COMPRESSOR = 0x08 ;
+	/**
+	 * extended flag, indicates whether time base of compact time values follows tag name map as a zigzag varint. It is only written
+	 * when compact payload contains a time value
+	 */
+	public static final int EXTENDED_FLAG_TIME_BASE = 0x10 ;
+	/**
+	 * Size of an index entry, tag code in 2 bytes and offset from object's start in 4 bytes
+	 */
+	private static final int INDEX_ENTRY_SIZE = 6 ;
 	
 	private boolean isCompressed ;
 	private boolean isEncrypted ;
 	private boolean isLossless ;
-	private BioCompressor compressor = BioDictionary.getCompressor() ;
+	private boolean isVarintLength ;
+	private boolean isCompact ;
+	private boolean isStringTable ;
+	private boolean isSpecialized ;
+	private boolean isLazy ;
+	private boolean isIndexed ;
+	private BioCompressor defaultCompressor = BioDictionary.getCompressor() ;
+	private BioCompressor compressor = defaultCompressor ;
+	private int compressorCode ;
+	private int compressionThreshold ;
+	private double compressionRatio = 1.0 ;
 	private BioEncrypter encrypter = BioDictionary.getEncrypter() ;
 	private BioObjectXmlParser xmlParser = new BioObjectXmlParser() ;
 	private boolean isValidated ;
 	
-	private HashMap<Integer, BioTag> codeMap = new HashMap<Integer, BioTag>() ;
-	private HashMap<String, BioTag> nameMap =new HashMap<String, BioTag>() ;
-	private int codeCounter ;
+	/**
+	 * Buffers grown beyond this size are not kept for reuse
+	 */
+	private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024 ;
+	/**
+	 * Contexts reused per thread
+	 */
+	private static final ThreadLocal<Context> contexts = ThreadLocal.withInitial(Context::new) ;
+	/**
+	 * Context of lazily decoded objects when there are no untyped tags, it is only read
+	 */
+	private static final Context LAZY_CONTEXT = new Context(true) ;
 	
 	/**
 	 * Indicates whether parser will use compression
@@ -119,6 +191,167 @@ public class BioObjectBinaryParser {
 		this.isLossless = isLossless;
 	}
 	
+	/**
+	 * Indicates whether parser will encode lengths and counts as varints, so they are not limited to 32767 and small ones take a single byte
+	 * @return
+	 */
+	public boolean isVarintLength() {
+		return isVarintLength;
+	}
+	
+	/**
+	 * Changes varint length enabled flag, decoders not supporting {@link #FLAG_VARINT_LENGTH} can't read such bytes
+	 * @param isVarintLength
+	 */
+	public void setVarintLength(boolean isVarintLength) {
+		this.isVarintLength = isVarintLength;
+	}
+	
+	/**
+	 * Indicates whether parser will use compact profile where short, int, long, enum values and tag codes are encoded as zigzag varints
+	 * and time values as deltas from a base written once per message
+	 * @return
+	 */
+	public boolean isCompact() {
+		return isCompact;
+	}
+	
+	/**
+	 * Changes compact profile enabled flag, decoders not supporting {@link #FLAG_COMPACT} can't read such bytes
+	 * @param isCompact
+	 */
+	public void setCompact(boolean isCompact) {
+		this.isCompact = isCompact;
+	}
+	
+	/**
+	 * Indicates whether parser will intern repeated string values into a per message string table appended to payload. First occurrence
+	 * of a string is written inline, following ones are references to table, so they are decoded as the same string instance
+	 * @return
+	 */
+	public boolean isStringTable() {
+		return isStringTable;
+	}
+	
+	/**
+	 * Changes string table enabled flag, decoders not supporting {@link #FLAG_STRING_TABLE} can't read such bytes. String table 
+	 * implies varint lengths ({@link #FLAG_VARINT_LENGTH}) regardless of {@link #isVarintLength()}
+	 * @param isStringTable
+	 */
+	public void setStringTable(boolean isStringTable) {
+		this.isStringTable = isStringTable;
+	}
+	
+	/**
+	 * Indicates whether parser will use encoders/decoders specialized per bio obj for single valued tags instead of generic parsing, 
+	 * bytes are same. Arrays, lists, nested objects and super tags are still parsed generically, so it should be measured on actual 
+	 * objects before it is enabled
+	 * @return
+	 */
+	public boolean isSpecialized() {
+		return isSpecialized;
+	}
+	
+	/**
+	 * Changes specialized engine enabled flag
+	 * @param isSpecialized
+	 */
+	public void setSpecialized(boolean isSpecialized) {
+		this.isSpecialized = isSpecialized;
+	}
+	
+	/**
+	 * Indicates whether parser will decode bio objects lazily. Tags are only indexed during decoding and each value (or nested object)
+	 * is decoded when it is accessed first time. Objects which are not modified after decoding are encoded again by copying their 
+	 * original bytes, so only modified branches of forwarded messages are re-encoded
+	 * @return
+	 */
+	public boolean isLazy() {
+		return isLazy;
+	}
+	
+	/**
+	 * Changes lazy decoding flag. Lazily decoded objects keep a reference to encoded bytes until all values are decoded, so byte arrays
+	 * and heap buffers passed for decoding must not be modified meanwhile
+	 * @param isLazy
+	 */
+	public void setLazy(boolean isLazy) {
+		this.isLazy = isLazy;
+	}
+	
+	/**
+	 * Indicates whether parser will write an index of tag offsets at the end of each typed bio object, so that a single tag can
+	 * be read by {@link #peek(byte[], String)} without decoding
+	 * @return
+	 */
+	public boolean isIndexed() {
+		return isIndexed;
+	}
+	
+	/**
+	 * Changes index enabled flag, decoders not supporting {@link #FLAG_EXTENDED} can't read such bytes
+	 * @param isIndexed
+	 */
+	public void setIndexed(boolean isIndexed) {
+		this.isIndexed = isIndexed;
+	}
+	
+	/**
+	 * Returns code of compressor used when compression is enabled
+	 * @return 0 if dictionary's default compressor is used
+	 */
+	public int getCompressorCode() {
+		return compressorCode;
+	}
+	
+	/**
+	 * Selects compressor registered in {@link BioDictionary} by its code, code is written in header so decoders must have same 
+	 * compressor registered and support {@link #FLAG_EXTENDED}. Code 0 selects dictionary's default compressor
+	 * @param compressorCode
+	 */
+	public void setCompressorCode(int compressorCode) {
+		BioCompressor compressor = compressorCode == 0 ? defaultCompressor : BioDictionary.getCompressor(compressorCode) ;
+		if (compressor == null && compressorCode != 0) {
+			throw new ParserException("bio compressor with code " + compressorCode + " is not found") ;
+		}
+		this.compressor = compressor ;
+		this.compressorCode = compressorCode;
+	}
+	
+	/**
+	 * Returns minimum payload size in bytes which is compressed
+	 * @return
+	 */
+	public int getCompressionThreshold() {
+		return compressionThreshold;
+	}
+	
+	/**
+	 * Changes minimum payload size in bytes which is compressed, smaller payloads are written as is since compression adds overhead
+	 * @param compressionThreshold
+	 */
+	public void setCompressionThreshold(int compressionThreshold) {
+		this.compressionThreshold = compressionThreshold;
+	}
+	
+	/**
+	 * Returns maximum ratio of compressed size to original size which is kept
+	 * @return
+	 */
+	public double getCompressionRatio() {
+		return compressionRatio;
+	}
+	
+	/**
+	 * Changes maximum ratio of compressed size (including its length) to original size which is kept, if compression doesn't 
+	 * reduce size enough payload is written uncompressed and {@link #FLAG_COMPRESSED} is not set. Default is 1.0, compression
+	 * is kept only if it reduces size
+	 * @param compressionRatio
+	 */
+	public void setCompressionRatio(double compressionRatio) {
+		this.compressionRatio = compressionRatio;
+	}
+	
 	/**
 	 * Encodes bio object or bio object array or list to binary bytes
 	 * @param object
@@ -162,8 +395,110 @@ public class BioObjectBinaryParser {
 			// nothing to encode
 			return null ;
 		}
-		
-		final BoFastStream stream = createOutputStream();
+		Context context = acquireContext() ;
+		try {
+			if (!encode(context, object, context.output, isCompressed, isLossless, isEncrypted)) {
+				return null ;
+			}
+			return context.output.toByteArray() ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Encodes bio object or bio object array or list and returns only its payload (with string table if it is used), which is the
+	 * part given to compressor. Payload is neither compressed nor encrypted and contains no header, so it can be used as a sample
+	 * for training compression dictionaries (see {@link com.linkedlogics.bio.compression.BioDictionaryTrainer})
+	 * @param object
+	 * @return null if nothing is encoded
+	 */
+	public byte[] encodePayload(Object object) {
+		if (object == null) {
+			// nothing to encode
+			return null ;
+		}
+		Context context = acquireContext() ;
+		try {
+			if (!encode(context, object, context.output, false, isLossless, false)) {
+				return null ;
+			}
+			return context.payload.toByteArray() ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Encodes bio object or bio object array or list into given stream, so caller can reuse its own buffer. Bytes are same as 
+	 * {@link #encode(Object)} returns whatever mode stream is in (e.g. compact or string table), stream's mode is kept
+	 * @param object
+	 * @param stream
+	 * @return false if nothing is encoded
+	 */
+	public boolean encode(Object object, BoFastStream stream) {
+		if (object == null) {
+			// nothing to encode
+			return false ;
+		}
+		Context context = acquireContext() ;
+		try {
+			return encode(context, object, stream, isCompressed, isLossless, isEncrypted) ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Encodes bio object or bio object array or list into byte buffer (heap or direct) starting from its position. Heap buffers are 
+	 * encoded into directly, direct buffers are encoded into a reused array first and then copied with a single bulk put. Position 
+	 * is moved only if encoded bytes fit into buffer, but bytes after position might be overwritten anyway
+	 * @param object
+	 * @param buffer
+	 * @return false if nothing is encoded
+	 * @throws java.nio.BufferOverflowException if buffer doesn't have enough space
+	 */
+	public boolean encode(Object object, ByteBuffer buffer) {
+		if (object == null) {
+			// nothing to encode
+			return false ;
+		}
+		Context context = acquireContext() ;
+		try {
+			if (buffer.hasArray()) {
+				int start = buffer.arrayOffset() + buffer.position() ;
+				BoFastStream stream = new BoFastStream(buffer.array(), start, buffer.remaining()) ;
+				if (!encode(context, object, stream, isCompressed, isLossless, isEncrypted)) {
+					return false ;
+				}
+				if (stream.getBuffer() != buffer.array()) {
+					// stream moved to a new array since bytes didn't fit
+					throw new BufferOverflowException() ;
+				}
+				buffer.position(buffer.position() + stream.getSize() - start) ;
+				return true ;
+			}
+			if (!encode(context, object, context.output, isCompressed, isLossless, isEncrypted)) {
+				return false ;
+			}
+			context.output.writeTo(buffer);
+			return true ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Encodes bio object or bio object array or list with header into stream
+	 * @param context
+	 * @param object
+	 * @param stream
+	 * @param isCompressed
+	 * @param isLossless
+	 * @param isEncrypted
+	 * @return false if nothing is encoded
+	 */
+	private boolean encode(Context context, Object object, BoFastStream stream, boolean isCompressed, boolean isLossless, boolean isEncrypted) {
 		int flag = 0 ;
 		// set up necessary flags need while decoding
 		if (isLossless) {
@@ -178,98 +513,213 @@ public class BioObjectBinaryParser {
 			flag = flag | (isCompressed ? FLAG_COMPRESSED : 0) ;
 		}
 		
-		nameMap.clear(); 
-		codeCounter = 0 ;
+		// inline strings of string table have their lengths doubled, so 2 byte lengths would reject long strings
+		boolean isVarintLength = this.isVarintLength || isStringTable ;
+		if (isVarintLength) {
+			flag = flag | FLAG_VARINT_LENGTH ;
+		}
+		
+		if (isCompact) {
+			flag = flag | FLAG_COMPACT ;
+		}
+		
+		if (isStringTable) {
+			flag = flag | FLAG_STRING_TABLE ;
+		}
 		
-		byte[] encoded = null ;
+		int extended = 0 ;
+		if (isIndexed && !isLossless) {
+			extended = extended | EXTENDED_FLAG_INDEX ;
+		}
+		
+		// whole object graph is written into a single payload buffer
+		final BoFastStream payload = context.payload ;
+		payload.setLengthAsVarint(isVarintLength);
+		payload.setCompact(isCompact);
+		payload.setStringTable(isStringTable);
+		payload.setIndexed(isIndexed && !isLossless);
 		if (object instanceof BioObject[]) {
 			flag = flag | FLAG_ARRAY ;
-			encoded = encodeArray((BioObject[]) object, isLossless) ;
+			extended = extended | EXTENDED_FLAG_ARRAY ;
+			encodeArray(context, payload, (BioObject[]) object, isLossless) ;
 		} else if (object instanceof List) {
 			flag = flag | FLAG_LIST ;
-			encoded = encodeList((List<BioObject>) object, isLossless) ;
+			extended = extended | EXTENDED_FLAG_LIST ;
+			encodeList(context, payload, (List<BioObject>) object, isLossless) ;
 		} else if (object instanceof BioObject) {
-			encoded = encode((BioObject) object, isLossless) ;
+			// if something happened and we got nothing encoded
+			if (!encode(context, payload, (BioObject) object, isLossless)) {
+				return false ;
+			}
 		} else {
 			throw new ParserException("only bio objects can be serializer or their arrays or collections " + object.getClass().getName() + " is not a bio object") ;
 		}
 		
-		// if something happened and we got nothing encoded
-		if (encoded == null) {
-			return null ;
+		if (isCompact && payload.isTimeBase()) {
+			extended = extended | EXTENDED_FLAG_TIME_BASE ;
 		}
 		
-		if (isEncrypted && encrypter != null) {
-			encoded = encrypter.encrypt(encoded) ;
+		int tableOffset = payload.getSize() ;
+		if (isStringTable) {
+			// string table is appended to payload so that it is compressed and encrypted together with it without copying payload
+			List<String> strings = payload.getStrings() ;
+			payload.setStringTable(false);
+			payload.writeLength(strings.size());
+			for (int i = 0; i < strings.size(); i++) {
+				payload.writeUtfString(strings.get(i));
+			}
+		}
+		
+		if ((flag & FLAG_COMPRESSED) > 0 && payload.getSize() < compressionThreshold) {
+			// small payloads are not worth compressing
+			flag = flag & ~FLAG_COMPRESSED ;
+		}
+		if ((flag & FLAG_COMPRESSED) > 0 && compressorCode != 0) {
+			extended = extended | EXTENDED_FLAG_COMPRESSOR ;
 		}
-		stream.write(flag);
 		
-		stream.writeShort(nameMap.size());
-		for (Entry<String, BioTag> tag : nameMap.entrySet()) {
+		int flagPosition = stream.getSize() ;
+		if ((extended & ~(EXTENDED_FLAG_ARRAY | EXTENDED_FLAG_LIST)) != 0) {
+			stream.write(flag | FLAG_EXTENDED);
+			stream.write(extended);
+		} else {
+			stream.write(flag);
+		}
+		if ((extended & EXTENDED_FLAG_COMPRESSOR) > 0) {
+			stream.write(compressorCode);
+		}
+		
+		// header is always written in default mode with short lengths, whatever mode caller's stream is in
+		boolean isLengthAsVarint = stream.isLengthAsVarint() ;
+		boolean isLengthAsInt = stream.isLengthAsInt() ;
+		boolean isStreamCompact = stream.isCompact() ;
+		boolean isStreamStringTable = stream.isStringTable() ;
+		stream.setLengthAsVarint(false);
+		stream.setLengthAsInt(false);
+		stream.setCompact(false);
+		stream.setStringTable(false);
+		stream.writeShort(context.nameMap.size());
+		for (Entry<String, BioTag> tag : context.nameMap.entrySet()) {
 			stream.writeAsciiString(tag.getKey());
 			stream.writeShort(tag.getValue().getCode());
 		}
+		stream.setLengthAsVarint(isLengthAsVarint);
+		stream.setLengthAsInt(isLengthAsInt);
+		stream.setCompact(isStreamCompact);
+		stream.setStringTable(isStreamStringTable);
 		
-		if (isCompressed && compressor != null) {
-			byte[] compressed = compressor.compress(encoded) ;
-			stream.writeInt(encoded.length); // original length in 4 bytes
-			stream.write(compressed);
+		if ((extended & EXTENDED_FLAG_TIME_BASE) > 0) {
+			// time values in payload are deltas from this base
+			stream.writeVarLong(ByteUtility.zigzag(payload.getTimeBase()));
+		}
+		if (isStringTable) {
+			stream.writeVarInt(tableOffset);
+		}
+		
+		if (isEncrypted && encrypter != null) {
+			byte[] encoded = encrypter.encrypt(payload.toByteArray()) ;
+			if ((flag & FLAG_COMPRESSED) > 0) {
+				compress(stream, flagPosition, encoded, encoded.length) ;
+			} else {
+				stream.write(encoded);
+			}
+		} else if ((flag & FLAG_COMPRESSED) > 0) {
+			// compressed directly from payload's buffer into output
+			compress(stream, flagPosition, payload.getBuffer(), payload.getSize()) ;
 		} else {
-			stream.write(encoded);
+			payload.writeTo(stream);
 		}
 		
-		stream.close(); 
-		return stream.getBytes();
+		return true ;
 	}
 	
 	/**
-	 * Encodes bio object 
+	 * Writes compressed data with its original length, if compression ratio is worse than expected data is written uncompressed
+	 * and already written header is patched, compressed flag is cleared and compressor code is removed
+	 * @param stream
+	 * @param flagPosition
+	 * @param data
+	 * @param length
+	 */
+	private void compress(BoFastStream stream, int flagPosition, byte[] data, int length) {
+		int position = stream.reserve(4) ; // original length in 4 bytes
+		int compressedLength = compressor.compress(data, 0, length, stream) ;
+		if (compressedLength + 4 < length * compressionRatio) {
+			stream.patchInt(position, length);
+			return ;
+		}
+		
+		byte[] buffer = stream.getBuffer() ;
+		int flag = (buffer[flagPosition] & 0xFF) & ~FLAG_COMPRESSED ;
+		int removed = 0 ;
+		if ((flag & FLAG_EXTENDED) == FLAG_EXTENDED && (buffer[flagPosition + 1] & EXTENDED_FLAG_COMPRESSOR) > 0) {
+			int extended = buffer[flagPosition + 1] & ~EXTENDED_FLAG_COMPRESSOR ;
+			if ((extended & ~(EXTENDED_FLAG_ARRAY | EXTENDED_FLAG_LIST)) != 0) {
+				// only compressor code is removed
+				stream.patchByte(flagPosition + 1, extended);
+				removed = 1 ;
+			} else {
+				// extended flag byte is not needed either
+				flag = (flag & ~FLAG_EXTENDED) | ((extended & EXTENDED_FLAG_ARRAY) > 0 ? FLAG_ARRAY : 0) | ((extended & EXTENDED_FLAG_LIST) > 0 ? FLAG_LIST : 0) ;
+				removed = 2 ;
+			}
+			// rest of header follows compressor code
+			int start = flagPosition + 3 ;
+			System.arraycopy(buffer, start, buffer, start - removed, position - start);
+		}
+		stream.patchByte(flagPosition, flag);
+		stream.rewind(position - removed);
+		stream.write(data, 0, length);
+	}
+	
+	/**
+	 * Encodes bio object into stream
+	 * @param context
+	 * @param stream
 	 * @param bio
 	 * @param isLossless
-	 * @return
+	 * @return false if nothing is encoded
 	 */
-	private byte[] encode(BioObject bio, boolean isLossless) {
+	private boolean encode(Context context, BoFastStream stream, BioObject bio, boolean isLossless) {
 		if (isLossless) {
-			return XMLUtility.toXml(bio).getBytes() ;
+			stream.write(XMLUtility.toXml(bio).getBytes()) ;
+			return true ;
 		} else {
-			return writeBio(bio);
+			return writeBio(context, bio, stream);
 		}
 	}
 	
 	/**
 	 * Encodes array of bio objects
+	 * @param context
+	 * @param stream
 	 * @param array
-	 * @return
+	 * @param isLossless
 	 */
-	private byte[] encodeArray(BioObject[] array, boolean isLossless) {
-		final BoFastStream stream = createOutputStream();
-		stream.write(ByteUtility.shortToBytes((short) array.length));
-		for (int i = 0; i < array.length; i++) {
-			byte[] bytes = encode(array[i], isLossless);
-			if (bytes != null) {
-				stream.writeBioBytes(bytes);
-			}
-		}
-		stream.close();
-		return stream.getBytes();
+	private void encodeArray(Context context, BoFastStream stream, BioObject[] array, boolean isLossless) {
+		encodeList(context, stream, Arrays.asList(array), isLossless);
 	}
 	
 	/**
-	 * Encodes list of bio objects
+	 * Encodes list of bio objects, each object is length prefixed and length is patched once object is written
+	 * @param context
+	 * @param stream
 	 * @param list
-	 * @return
+	 * @param isLossless
 	 */
-	private byte[] encodeList(List<BioObject> list, boolean isLossless) {
-		final BoFastStream stream = createOutputStream();
-		stream.write(ByteUtility.shortToBytes((short) list.size()));
+	private void encodeList(Context context, BoFastStream stream, List<BioObject> list, boolean isLossless) {
+		int countPosition = stream.reserveLength(list.size()) ;
+		int count = 0 ;
 		for (int i = 0; i < list.size(); i++) {
-			byte[] bytes = encode(list.get(i), isLossless);
-			if (bytes != null) {
-				stream.writeBioBytes(bytes);
+			int position = stream.reserve(4) ;
+			if (encode(context, stream, list.get(i), isLossless)) {
+				stream.patchInt(position, stream.getSize() - position - 4);
+				count++ ;
+			} else {
+				stream.rewind(position);
 			}
 		}
-		stream.close();
-		return stream.getBytes();
+		stream.patchLength(countPosition, count, list.size());
 	}
 	
 	/**
@@ -281,16 +731,285 @@ public class BioObjectBinaryParser {
 		if (bytes == null) {
 			return null ;
 		}
-		BiFastStream stream = createInputStream(bytes);
-		int flag = stream.readByte() ;
-		boolean isCompressed = (int) (flag & FLAG_COMPRESSED) > 0 ;
-		boolean isArray = (int) (flag & FLAG_ARRAY) > 0 ;
-		boolean isList = (int) (flag & FLAG_LIST) > 0 ;
-		boolean isLossless = (int) (flag & FLAG_XML) > 0 ;
-		boolean isEncrypted = (int) (flag & FLAG_ENCRYPTED) > 0 ;
+		Context context = acquireContext() ;
+		try {
+			return decode(context, createInputStream(bytes)) ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Decodes only projected tags, others are skipped without being decoded. Projection contains tag names or paths of nested
+	 * tags separated by dots (e.g. customer.id), a tag without nested path is decoded as a whole. Projection is applied to each 
+	 * object of an array or list. Objects are not decoded lazily
+	 * @param bytes
+	 * @param projection tag names or paths
+	 * @return
+	 */
+	public Object decode(byte[] bytes, Collection<String> projection) {
+		if (bytes == null) {
+			return null ;
+		}
+		Context context = acquireContext() ;
+		try {
+			context.projection = BioProjection.of(projection) ;
+			return decode(context, createInputStream(bytes)) ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Decodes remaining bytes of byte buffer (heap or direct) to bio object, array or list. Heap buffers are parsed in place, 
+	 * direct ones are read into a reused array. Buffer's position is moved to its limit
+	 * @param buffer
+	 * @return
+	 */
+	public Object decode(ByteBuffer buffer) {
+		if (buffer == null) {
+			return null ;
+		}
+		Context context = acquireContext() ;
+		try {
+			int length = buffer.remaining() ;
+			BiFastStream stream = null ;
+			if (buffer.hasArray()) {
+				stream = new BiFastStream(buffer.array(), buffer.arrayOffset() + buffer.position(), length) ;
+			} else {
+				// lazy objects keep referring to bytes, so reused input can't be used
+				byte[] input = isLazy ? new byte[length] : context.getInput(length) ;
+				buffer.duplicate().get(input, 0, length) ;
+				stream = new BiFastStream(input, 0, length) ;
+			}
+			Object decoded = decode(context, stream) ;
+			buffer.position(buffer.limit()) ;
+			return decoded ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Reads a single tag value of encoded bio object without decoding the rest. If bytes are indexed tag is found by binary search 
+	 * in object's index, otherwise other tags are skipped until tag is found. Tag of a nested bio object can be read using a path 
+	 * separated by dots (e.g. customer.id)
+	 * @param bytes encoded single bio object
+	 * @param tag tag name or path
+	 * @return null if tag is not present
+	 */
+	public Object peek(byte[] bytes, String tag) {
+		if (bytes == null) {
+			return null ;
+		}
+		Context context = acquireContext() ;
+		try {
+			BiFastStream stream = createInputStream(bytes) ;
+			int flag = stream.readByte() ;
+			int extended = readExtendedFlag(flag, stream) ;
+			if ((flag & FLAG_XML) > 0 || (extended & (EXTENDED_FLAG_ARRAY | EXTENDED_FLAG_LIST)) > 0) {
+				throw new ParserException("only a single bio object can be peeked") ;
+			}
+			BiFastStream payload = readPayload(context, stream, flag, extended) ;
+			int start = 0 ;
+			while (payload != null) {
+				int end = tag.indexOf('.', start) ;
+				if (end < 0) {
+					return peekValue(context, payload, tag.substring(start), false) ;
+				}
+				payload = (BiFastStream) peekValue(context, payload, tag.substring(start, end), true) ;
+				start = end + 1 ;
+			}
+			return null ;
+		} catch (ParserException e) {
+			throw e ;
+		} catch (Throwable e) {
+			throw new ParserException(e) ;
+		} finally {
+			releaseContext(context);
+		}
+	}
+	
+	/**
+	 * Finds tag in encoded bio object and reads its value
+	 * @param context
+	 * @param stream stream bounded to object's bytes
+	 * @param key tag name
+	 * @param isNested whether nested bio object's stream is returned instead of decoding it
+	 * @return null if tag is not present
+	 */
+	private Object peekValue(Context context, BiFastStream stream, String key, boolean isNested) {
+		int start = stream.getPosition() ;
+		int dictionary = stream.readByte() ;
+		int objCode = stream.readObjCode();
+		int objVersion = stream.readObjVersion();
 		
-		codeMap.clear(); 
-		codeCounter = 0 ;
+		BioTag tag = null ;
+		int limit = stream.getLimit() ;
+		if (objCode == 0 && objVersion == 0) {
+			if (stream.readBoolean()) {
+				stream.skipAsciiString();
+			}
+			for (BioTag untyped : context.codeMap.values()) {
+				if (untyped.getName().equals(key)) {
+					tag = untyped ;
+					break ;
+				}
+			}
+		} else {
+			if (BioDictionary.getDictionary(dictionary) == null) {
+				if (!isValidated)
+					return null ;
+				else 
+					throw new ParserException("bio dictionary " + dictionary + " is not found");
+			}
+			BioObj obj = BioDictionary.getDictionary(dictionary).getObjByCode(objCode);
+			if (obj == null) {
+				if (!isValidated)
+					return null ;
+				else 
+					throw new ParserException("bio obj with " + objCode + " is not found");
+			}
+			if (obj.isLarge()) {
+				stream.setLengthAsInt(true);
+			}
+			tag = obj.getTag(key) ;
+			if (tag == null) {
+				tag = BioDictionary.getDictionary(dictionary).getSuperTag(key);
+			}
+			if (tag != null && stream.isIndexed()) {
+				// binary search in index
+				int count = stream.peekInt(limit - 4) ;
+				int index = limit - 4 - count * INDEX_ENTRY_SIZE ;
+				int low = 0 ;
+				int high = count - 1 ;
+				while (low <= high) {
+					int middle = (low + high) >>> 1 ;
+					int code = stream.peekShort(index + middle * INDEX_ENTRY_SIZE) ;
+					if (code < tag.getCode()) {
+						low = middle + 1 ;
+					} else if (code > tag.getCode()) {
+						high = middle - 1 ;
+					} else {
+						int offset = stream.peekInt(index + middle * INDEX_ENTRY_SIZE + 2) ;
+						return readTagValue(context, stream.slice(start + offset, index - start - offset), tag, isNested) ;
+					}
+				}
+				return null ;
+			}
+			limit = limit - getIndexLength(stream) ;
+		}
+		if (tag == null) {
+			return null ;
+		}
+		while (stream.getPosition() < limit) {
+			int position = stream.getPosition() ;
+			byte tagInfo = stream.readByte();
+			byte typeInfo = stream.readByte() ;
+			int tagCode = stream.readTagCode();
+			if (tagCode == tag.getCode()) {
+				return readTagValue(context, stream.slice(position, limit - position), tag, isNested) ;
+			}
+			skipValue(BioType.getType(tagInfo), typeInfo == 1, typeInfo == 2, stream);
+		}
+		return null ;
+	}
+	
+	/**
+	 * Reads tag value from stream positioned at its tag info
+	 * @param context
+	 * @param stream
+	 * @param tag
+	 * @param isNested whether nested bio object's stream is returned instead of decoding it
+	 * @return null if nested bio object is requested but value is not a single bio object
+	 */
+	private Object readTagValue(Context context, BiFastStream stream, BioTag tag, boolean isNested) {
+		BioType type = BioType.getType(stream.readByte());
+		byte typeInfo = stream.readByte() ;
+		stream.readTagCode();
+		if (isNested) {
+			return type == BioType.BioObject && typeInfo == 0 ? stream.readBioStream() : null ;
+		}
+		return readValue(context, type, typeInfo == 1, typeInfo == 2, tag, stream) ;
+	}
+	
+	/**
+	 * Decodes header and payload from stream
+	 * @param context
+	 * @param stream
+	 * @return
+	 */
+	private Object decode(Context context, BiFastStream stream) {
+		try {
+			int flag = stream.readByte() ;
+			int extended = readExtendedFlag(flag, stream) ;
+			boolean isArray = (extended & EXTENDED_FLAG_ARRAY) > 0 ;
+			boolean isList = (extended & EXTENDED_FLAG_LIST) > 0 ;
+			boolean isLossless = (flag & FLAG_XML) > 0 ;
+			
+			BiFastStream payload = readPayload(context, stream, flag, extended) ;
+			
+			if (isLazy && context.projection == null) {
+				// lazy values are decoded after this call when pooled context is already reused
+				context = detachContext(context) ;
+			}
+			
+			if (isArray) {
+				return decodeArray(context, payload, isLossless) ;
+			} else if (isList) {
+				return decodeList(context, payload, isLossless) ;
+			} else {
+				return decode(context, payload, isLossless) ;
+			}
+			
+		} catch (ParserException e) {
+			throw e ;
+		} catch (Throwable e) {
+			throw new ParserException(e) ;
+		}
+	}
+	
+	/**
+	 * Reads extended flag byte if it is present
+	 * @param flag
+	 * @param stream
+	 * @return extended flags, if there is no extended flag byte array and list indicators are taken from flag
+	 */
+	private int readExtendedFlag(int flag, BiFastStream stream) {
+		if ((flag & FLAG_EXTENDED) == FLAG_EXTENDED) {
+			return stream.readByte() ;
+		}
+		return ((flag & FLAG_ARRAY) > 0 ? EXTENDED_FLAG_ARRAY : 0) | ((flag & FLAG_LIST) > 0 ? EXTENDED_FLAG_LIST : 0) ;
+	}
+	
+	/**
+	 * Reads rest of header and returns payload stream decompressed, decrypted and set up as flags indicate
+	 * @param context
+	 * @param stream
+	 * @param flag
+	 * @param extended
+	 * @return
+	 */
+	private BiFastStream readPayload(Context context, BiFastStream stream, int flag, int extended) {
+		boolean isCompressed = (flag & FLAG_COMPRESSED) > 0 ;
+		boolean isEncrypted = (flag & FLAG_ENCRYPTED) > 0 ;
+		boolean isVarintLength = (flag & FLAG_VARINT_LENGTH) > 0 ;
+		boolean isCompact = (flag & FLAG_COMPACT) > 0 ;
+		boolean isStringTable = (flag & FLAG_STRING_TABLE) > 0 ;
+		boolean isIndexed = (extended & EXTENDED_FLAG_INDEX) > 0 ;
+		
+		BioCompressor compressor = this.compressor ;
+		if ((extended & EXTENDED_FLAG_COMPRESSOR) > 0) {
+			int compressorCode = stream.readByte() & 0xFF ;
+			if (isCompressed) {
+				compressor = BioDictionary.getCompressor(compressorCode) ;
+				if (compressor == null) {
+					throw new ParserException("bio compressor with code " + compressorCode + " is not found") ;
+				}
+			}
+		} else {
+			compressor = defaultCompressor ;
+		}
 		
 		int codeCount = stream.readShort() ;
 		for (int i = 0; i < codeCount; i++) {
@@ -299,67 +1018,90 @@ public class BioObjectBinaryParser {
 			BioTag tag = new BioTag() ;
 			tag.setCode(code);
 			tag.setName(key);
-			codeMap.put(code, tag) ;
+			context.codeMap.put(code, tag) ;
 		}
-		try {
+		
+		boolean isTimeBase = (extended & EXTENDED_FLAG_TIME_BASE) > 0 ;
+		long timeBase = 0 ;
+		if (isTimeBase) {
+			timeBase = ByteUtility.unzigzag(stream.readVarLong()) ;
+		}
+		int tableOffset = 0 ;
+		if (isStringTable) {
+			tableOffset = stream.readVarInt() ;
+		}
+		
+		// payload is parsed in place unless it has to be decompressed or decrypted
+		BiFastStream payload = stream ;
+		if (isCompressed || isEncrypted) {
 			int originalLength = 0 ;
 			if (isCompressed) {
 				originalLength = stream.readInt() ;
 			}
-			byte[] decoded = new byte[stream.available()] ;
-			stream.read(decoded);
+			int length = stream.getLimit() - stream.getPosition() ;
+			byte[] decoded = null ;
 			if (isCompressed) {
-				decoded = compressor.decompress(decoded, originalLength) ;
+				// decompressed directly from input buffer
+				decoded = compressor.decompress(stream.getBuffer(), stream.getPosition(), length, originalLength) ;
+			} else {
+				decoded = stream.read(length) ;
 			}
 			if (isEncrypted) {
 				decoded = encrypter.decrypt(decoded) ;
 			}
-			
-			if (isArray) {
-				return decodeArray(decoded, isLossless) ;
-			} else if (isList) {
-				return decodeList(decoded, isLossless) ;
-			} else {
-				return decode(decoded, isLossless) ;
+			payload = createInputStream(decoded) ;
+		}
+		payload.setLengthAsVarint(isVarintLength);
+		payload.setCompact(isCompact);
+		payload.setIndexed(isIndexed);
+		if (isTimeBase) {
+			payload.setTimeBase(timeBase);
+		}
+		
+		if (isStringTable) {
+			// string table follows payload, so payload is limited to bytes before it
+			int start = payload.getPosition() ;
+			BiFastStream table = payload.slice(start + tableOffset, payload.getLimit() - start - tableOffset) ;
+			String[] strings = new String[table.readLength()] ;
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = table.readUtfString() ;
 			}
-			
-		} catch (ParserException e) {
-			throw e ;
-		} catch (Throwable e) {
-			throw new ParserException(e) ;
+			payload = payload.slice(start, tableOffset) ;
+			payload.setStrings(strings);
 		}
+		return payload ;
 	}
 	
 	/**
-	 * Decodes bio object
-	 * @param decoded
+	 * Decodes bio object from stream
+	 * @param context
+	 * @param stream
 	 * @param isLossless
 	 * @return
 	 */
-	private BioObject decode(byte[] decoded, boolean isLossless) {
+	private BioObject decode(Context context, BiFastStream stream, boolean isLossless) {
 		if (isLossless) {
-			return xmlParser.parse(new ByteArrayInputStream(decoded)) ;
+			return xmlParser.parse(stream.asInputStream()) ;
 		} else {
-			return readBio(decoded) ;
+			return readBio(context, stream) ;
 		}
 	}
 	
 	/**
 	 * Decodes list of bio objects
-	 * @param bytes
+	 * @param context
+	 * @param stream
 	 * @param isLossless
 	 * @return
 	 */
-	private List<BioObject> decodeList(byte[] bytes, boolean isLossless) {
-		BiFastStream stream = createInputStream(bytes);
+	private List<BioObject> decodeList(Context context, BiFastStream stream, boolean isLossless) {
 		try {
-			int length = stream.readShort();
+			int length = stream.readLength();
 			
 			ArrayList<BioObject> list = new ArrayList<BioObject>(length) ;
 			
 			for (int i = 0; i < length; i++) {
-				byte[] bioBytes = stream.readBioBytes();
-				BioObject object = decode(bioBytes, isLossless) ;
+				BioObject object = decode(context, stream.readBioStream(), isLossless) ;
 				if (object != null) {
 					list.add(object) ;
 				}
@@ -373,12 +1115,13 @@ public class BioObjectBinaryParser {
 	
 	/**
 	 * Decodes array of bio objects
-	 * @param bytes
+	 * @param context
+	 * @param stream
 	 * @param isLossless
 	 * @return
 	 */
-	private BioObject[] decodeArray(byte[] bytes, boolean isLossless) {
-		List<BioObject> list = decodeList(bytes, isLossless) ;
+	private BioObject[] decodeArray(Context context, BiFastStream stream, boolean isLossless) {
+		List<BioObject> list = decodeList(context, stream, isLossless) ;
 		
 		if (list.size() > 0) {
 			Class bioClass = list.get(0).getClass() ;
@@ -410,78 +1153,174 @@ public class BioObjectBinaryParser {
 	}
 
 	/**
-	 * Writes bio tags and obj information to bytes
+	 * Writes bio tags and obj information to stream
+	 * @param context
 	 * @param bio
-	 * @return
+	 * @param stream
+	 * @return false if bio object is not found in dictionary and nothing is written
 	 */
-	private byte[] writeBio(BioObject bio) {
-		if (bio.getBioCode() == 0) {
-			final BoFastStream stream = createOutputStream();
-			stream.write(bio.getBioDictionary());
-			stream.write(ByteUtility.shortToBytes((short) bio.getBioCode()));
-			stream.write(ByteUtility.shortToBytes((short) bio.getBioVersion()));
-			
-			if (bio.getBioName() != null) {
-				stream.writeBoolean(true);
-				stream.writeAsciiString(bio.getBioName());
+	private boolean writeBio(Context context, BioObject bio, BoFastStream stream) {
+		// length format is specific to each object so parent's is restored afterwards
+		boolean isLengthAsInt = stream.isLengthAsInt() ;
+		try {
+			if (bio.getBioCode() == 0) {
+				stream.setLengthAsInt(false);
+				stream.write(bio.getBioDictionary());
+				stream.writeShort(bio.getBioCode());
+				stream.writeShort(bio.getBioVersion());
+				
+				if (bio.getBioName() != null) {
+					stream.writeBoolean(true);
+					stream.writeAsciiString(bio.getBioName());
+				} else {
+					stream.writeBoolean(false);
+				}
+				
+				for (Entry<String, Object> e : bio.entries()) {
+					writeValue(context, stream, e.getKey(), e.getValue());
+				}
+				
+				return true ;
 			} else {
-				stream.writeBoolean(false);
-			}
-			
-			for (Entry<String, Object> e : bio.entries()) {
-				writeValue(stream, e.getKey(), e.getValue());
-			}
-			
-			stream.close();
-
-			return stream.getBytes();
-			
-		} else {
-			if (BioDictionary.getDictionary(bio.getBioDictionary()) == null) {
-				if (!isValidated)
-					return null ;
-				else 
-					throw new ParserException("bio dictionary " + bio.getBioDictionary() + " is not found");
-			}
-			final BioObj object = BioDictionary.getDictionary(bio.getBioDictionary()).getObjByCode(bio.getBioCode());
-			if (object == null) {
-				if (!isValidated)
-					return null ;
-				else 
-					throw new ParserException("bio object " + bio.getBioCode() + "v" + bio.getBioVersion() + " is not found");
-			}
-			final BoFastStream stream = createOutputStream();
-			if (object.isLarge()) {
-				stream.setLengthAsInt(true);
+				if (BioDictionary.getDictionary(bio.getBioDictionary()) == null) {
+					if (!isValidated)
+						return false ;
+					else 
+						throw new ParserException("bio dictionary " + bio.getBioDictionary() + " is not found");
+				}
+				final BioObj object = BioDictionary.getDictionary(bio.getBioDictionary()).getObjByCode(bio.getBioCode());
+				if (object == null) {
+					if (!isValidated)
+						return false ;
+					else 
+						throw new ParserException("bio object " + bio.getBioCode() + "v" + bio.getBioVersion() + " is not found");
+				}
+				// lazily decoded objects which are not modified are copied as is
+				BioLazySource source = bio.getLazySource() ;
+				if (source instanceof LazySource && bio.getBioVersion() == object.getVersion() && ((LazySource) source).writeTo(object, stream)) {
+					return true ;
+				}
+				stream.setLengthAsInt(object.isLarge());
+				int start = stream.getSize() ;
+				stream.write(object.getDictionary());
+				stream.writeShort(object.getCode());
+				stream.writeShort(object.getVersion());
+				
+				// index entries are tag codes in high and offsets in low 32 bits, so sorting them sorts by code
+				long[] index = stream.isIndexed() ? new long[8] : null ;
+				int indexSize = 0 ;
+				SpecializedBioObj specialized = isSpecialized ? SpecializedBioObj.of(object) : null ;
+				for (Entry<String, Object> e : bio.entries()) {
+					int position = stream.getSize() ;
+					// tag is resolved once per entry, by slot for indexed storage
+					BioTag tag = BioObject.getEntryTag(object, e) ;
+					if (tag == null) {
+						tag = BioDictionary.getDictionary(object.getDictionary()).getSuperTag(e.getKey());
+					}
+					TagWriter writer = specialized != null ? specialized.getWriter(tag) : null ;
+					if (writer != null) {
+						try {
+							writer.write(stream, e.getValue());
+						} catch (Exception ex) {
+							throw new ParserException("exception " + ex.getClass().getName() + " for tag " + e.getKey() + " value " + e.getValue() + " object " + object.getBioClass().getName());
+						}
+					} else {
+						writeValue(context, object, stream, tag, e.getKey(), e.getValue());
+					}
+					if (index != null && stream.getSize() > position) {
+						if (indexSize == index.length) {
+							index = Arrays.copyOf(index, indexSize * 2) ;
+						}
+						index[indexSize++] = ((long) tag.getCode() << 32) | (position - start) ;
+					}
+				}
+				if (index != null) {
+					writeIndex(stream, index, indexSize);
+				}
+				
+				return true ;
 			}
-			stream.write(object.getDictionary());
-			stream.write(ByteUtility.shortToBytes((short) object.getCode()));
-			stream.write(ByteUtility.shortToBytes((short) object.getVersion()));
-			
-			for (Entry<String, Object> e : bio.entries()) {
-				writeValue(object, stream, e.getKey(), e.getValue());
+		} finally {
+			stream.setLengthAsInt(isLengthAsInt);
+		}
+	}
+	
+	/**
+	 * Writes index of tag offsets sorted by tag code, entries are followed by their count so index can be found from object's end
+	 * @param stream
+	 * @param index
+	 * @param size
+	 */
+	private void writeIndex(BoFastStream stream, long[] index, int size) {
+		Arrays.sort(index, 0, size);
+		int position = stream.reserve(size * INDEX_ENTRY_SIZE + 4) ;
+		for (int i = 0; i < size; i++) {
+			stream.patchShort(position, (int) (index[i] >>> 32));
+			stream.patchInt(position + 2, (int) index[i]);
+			position += INDEX_ENTRY_SIZE ;
+		}
+		stream.patchInt(position, size);
+	}
+	
+	/**
+	 * Returns length of index at the end of a typed bio object
+	 * @param stream stream bounded to object's bytes
+	 * @return 0 if stream is not indexed
+	 */
+	private int getIndexLength(BiFastStream stream) {
+		if (!stream.isIndexed()) {
+			return 0 ;
+		}
+		return stream.peekInt(stream.getLimit() - 4) * INDEX_ENTRY_SIZE + 4 ;
+	}
+	
+	/**
+	 * Writes nested bio object prefixed with its length directly into parent's stream, length is patched once object is written
+	 * @param context
+	 * @param bio
+	 * @param stream
+	 * @return false if nothing is written
+	 */
+	private boolean writeBioBytes(Context context, BioObject bio, BoFastStream stream) {
+		int position = stream.reserve(4) ;
+		if (writeBio(context, bio, stream)) {
+			stream.patchInt(position, stream.getSize() - position - 4);
+			return true ;
+		}
+		stream.rewind(position);
+		return false ;
+	}
+	
+	/**
+	 * Writes nested bio objects of an array or list tag, count is patched with number of objects actually written
+	 * @param context
+	 * @param stream
+	 * @param tag
+	 * @param list list of bio objects
+	 */
+	private void writeBioList(Context context, BoFastStream stream, BioTag tag, List<?> list) {
+		stream.writeTag(tag);
+		int position = stream.reserveLength(list.size()) ;
+		int count = 0 ;
+		for (int i = 0; i < list.size(); i++) {
+			if (writeBioBytes(context, (BioObject) list.get(i), stream)) {
+				count++ ;
 			}
-			
-			stream.close();
-
-			return stream.getBytes();
 		}
+		stream.patchLength(position, count, list.size());
 	}
 	
 	/**
 	 * Encodes single tag data
+	 * @param context
 	 * @param object
 	 * @param stream
+	 * @param tag tag of object or super tag, null if key has no tag
 	 * @param key
 	 * @param value
 	 */
-	private void writeValue(final BioObj object, final BoFastStream stream, String key, Object value) {
+	private void writeValue(Context context, final BioObj object, final BoFastStream stream, BioTag tag, String key, Object value) {
 		try {
-			// We find tag information
-			BioTag tag = object.getTag(key);
-			if (tag == null) {
-				tag = BioDictionary.getDictionary(object.getDictionary()).getSuperTag(key);
-			}
 			// we encode only if we have tag info and tag is encodable
 			if (tag != null) {
 				if (!tag.isEncodable()) {
@@ -489,19 +1328,24 @@ public class BioObjectBinaryParser {
 				}
 				// encode like array (including array length) if tag is 
 				if (tag.isArray()) {
-					if (!(value instanceof Object[])) {
+					if (!(value instanceof Object[]) && !ConversionUtility.isPrimitiveArray(value)) {
 						throw new ParserException(" for tag " + key + " value " + value + " is not array @ " + object.getBioClass().getName()) ;
 					}
 					// writing tag info
 					stream.write(tag.getType().value());
 					// writing array indicator
 					stream.write((byte) 1);
+					if (!(value instanceof Object[])) {
+						// primitive arrays are written in bulk, bytes are same as of boxed ones
+						writePrimitiveArray(stream, tag, value);
+						return ;
+					}
 					switch (tag.getType()) {
 					case Long:
 						stream.writeLongArray(tag, (Long[]) value);
 						break;
 					case Time:
-						stream.writeLongArray(tag, (Long[]) value);
+						stream.writeTimeArray(tag, (Long[]) value);
 						break;
 					case BioEnum:
 						BioEnum[] bioEnumArray = (BioEnum[]) value;
@@ -538,15 +1382,7 @@ public class BioObjectBinaryParser {
 						stream.writeObjectArray(tag, (Object[]) value);
 						break;
 					case BioObject:
-						BioObject[] bioArray = (BioObject[]) value;
-						stream.writeTag(tag);
-						stream.writeLength(bioArray.length);
-						for (int i = 0; i < bioArray.length; i++) {
-							byte[] bioBytes = writeBio(bioArray[i]);
-							if (bioBytes != null) {
-								stream.writeBioBytes(bioBytes);
-							}
-						}
+						writeBioList(context, stream, tag, Arrays.asList((BioObject[]) value));
 						break;
 					default:
 						throw new ParserException(tag.getType() + " arrays are not supported");
@@ -562,14 +1398,10 @@ public class BioObjectBinaryParser {
 					List<Object> list = (List) value;
 					switch (tag.getType()) {
 					case Long:
-						Long[] longArray = new Long[list.size()];
-						list.toArray(longArray);
-						stream.writeLongArray(tag, longArray);
+						stream.writeLongList(tag, list);
 						break;
 					case Time:
-						longArray = new Long[list.size()];
-						list.toArray(longArray);
-						stream.writeLongArray(tag, longArray);
+						stream.writeTimeList(tag, list);
 						break;
 					case BioEnum:
 						List<BioEnum> bioEnumArray = (List<BioEnum>) value;
@@ -579,44 +1411,28 @@ public class BioObjectBinaryParser {
 						stream.writeIntArray(tag, intCodeArray);
 						break;
 					case Integer:
-						Integer[] intArray = new Integer[list.size()];
-						list.toArray(intArray);
-						stream.writeIntArray(tag, intArray);
+						stream.writeIntList(tag, list);
 						break;
 					case Byte:
-						Byte[] byteArray = new Byte[list.size()];
-						list.toArray(byteArray);
-						stream.writeByteArray(tag, byteArray);
+						stream.writeByteList(tag, list);
 						break;
 					case Short:
-						Short[] shortArray = new Short[list.size()];
-						list.toArray(shortArray);
-						stream.writeShortArray(tag, shortArray);
+						stream.writeShortList(tag, list);
 						break;
 					case Float:
-						Float[] floatArray = new Float[list.size()];
-						list.toArray(floatArray);
-						stream.writeFloatArray(tag, floatArray);
+						stream.writeFloatList(tag, list);
 						break;
 					case Boolean:
-						Boolean[] booleanArray = new Boolean[list.size()];
-						list.toArray(booleanArray);
-						stream.writeBooleanArray(tag, booleanArray);
+						stream.writeBooleanList(tag, list);
 						break;
 					case Double:
-						Double[] doubleArray = new Double[list.size()];
-						list.toArray(doubleArray);
-						stream.writeDoubleArray(tag, doubleArray);
+						stream.writeDoubleList(tag, list);
 						break;
 					case String:
-						String[] stringArray = new String[list.size()];
-						list.toArray(stringArray);
-						stream.writeAsciiStringArray(tag, stringArray);
+						stream.writeAsciiStringList(tag, list);
 						break;
 					case UtfString:
-						stringArray = new String[list.size()];
-						list.toArray(stringArray);
-						stream.writeUtfStringArray(tag, stringArray);
+						stream.writeUtfStringList(tag, list);
 						break;
 					case JavaObject:
 						Object[] objectArray = new Object[list.size()];
@@ -624,16 +1440,7 @@ public class BioObjectBinaryParser {
 						stream.writeObjectArray(tag, objectArray);
 						break;
 					case BioObject:
-						BioObject[] bioArray = new BioObject[list.size()];
-						list.toArray(bioArray);
-						stream.writeTag(tag);
-						stream.writeLength(bioArray.length);
-						for (int i = 0; i < bioArray.length; i++) {
-							byte[] bioBytes = writeBio(bioArray[i]);
-							if (bioBytes != null) {
-								stream.writeBioBytes(bioBytes);
-							}
-						}
+						writeBioList(context, stream, tag, list);
 						break;
 					default:
 						throw new ParserException(tag.getType() + " lists are not supported");
@@ -648,6 +1455,7 @@ public class BioObjectBinaryParser {
 						return ;
 					}
 					// write tag info
+					int position = stream.getSize() ;
 					stream.write(tag.getType().value());
 					// write single object indicator
 					stream.write((byte) 0);
@@ -656,7 +1464,7 @@ public class BioObjectBinaryParser {
 						stream.writeLong(tag, ((Number) value).longValue());
 						break;
 					case Time:
-						stream.writeLong(tag, ((Number) value).longValue());
+						stream.writeTime(tag, ((Number) value).longValue());
 						break;
 					case Byte:
 						stream.writeByte(tag, ((Number) value).byteValue());
@@ -690,9 +1498,10 @@ public class BioObjectBinaryParser {
 						stream.writeObject(tag, value);
 						break;
 					case BioObject:
-						byte[] bioBytes = writeBio((BioObject) value);
-						if (bioBytes != null) {
-							stream.writeBioBytes(tag, bioBytes);
+						stream.writeTag(tag);
+						// nothing is written for unknown objects so tag info is also dropped
+						if (!writeBioBytes(context, (BioObject) value, stream)) {
+							stream.rewind(position);
 						}
 						break;
 					}
@@ -703,17 +1512,39 @@ public class BioObjectBinaryParser {
 		}
 	}
 	
-	private void writeValue(final BoFastStream stream, String key, Object value) {
+	/**
+	 * Encodes primitive array tag data
+	 * @param stream
+	 * @param tag
+	 * @param value
+	 */
+	private void writePrimitiveArray(BoFastStream stream, BioTag tag, Object value) {
+		if (value instanceof long[] && tag.getType() == BioType.Long) {
+			stream.writeLongArray(tag, (long[]) value);
+		} else if (value instanceof long[] && tag.getType() == BioType.Time) {
+			stream.writeTimeArray(tag, (long[]) value);
+		} else if (value instanceof int[] && tag.getType() == BioType.Integer) {
+			stream.writeIntArray(tag, (int[]) value);
+		} else if (value instanceof double[] && tag.getType() == BioType.Double) {
+			stream.writeDoubleArray(tag, (double[]) value);
+		} else if (value instanceof float[] && tag.getType() == BioType.Float) {
+			stream.writeFloatArray(tag, (float[]) value);
+		} else {
+			throw new ParserException(value.getClass().getSimpleName() + " is not supported for " + tag.getType() + " arrays");
+		}
+	}
+	
+	private void writeValue(Context context, final BoFastStream stream, String key, Object value) {
 		try {
 			BioTag tag = null ;
 			// We find tag information
-			if (nameMap.containsKey(key)) {
-				tag = nameMap.get(key) ;
+			if (context.nameMap.containsKey(key)) {
+				tag = context.nameMap.get(key) ;
 			} else {
 				tag = new BioTag() ;
-				tag.setCode(++codeCounter);
+				tag.setCode(++context.codeCounter);
 				tag.setName(key);
-				nameMap.put(key, tag) ;
+				context.nameMap.put(key, tag) ;
 			}
 
 			boolean isArray = value instanceof Object[] ;
@@ -731,7 +1562,7 @@ public class BioObjectBinaryParser {
 					stream.writeLongArray(tag, (Long[]) value);
 					break;
 				case Time:
-					stream.writeLongArray(tag, (Long[]) value);
+					stream.writeTimeArray(tag, (Long[]) value);
 					break;
 				case BioEnum:
 					BioEnum[] bioEnumArray = (BioEnum[]) value;
@@ -768,15 +1599,7 @@ public class BioObjectBinaryParser {
 					stream.writeObjectArray(tag, (Object[]) value);
 					break;
 				case BioObject:
-					BioObject[] bioArray = (BioObject[]) value;
-					stream.writeTag(tag);
-					stream.writeLength(bioArray.length);
-					for (int i = 0; i < bioArray.length; i++) {
-						byte[] bioBytes = writeBio(bioArray[i]);
-						if (bioBytes != null) {
-							stream.writeBioBytes(bioBytes);
-						}
-					}
+					writeBioList(context, stream, tag, Arrays.asList((BioObject[]) value));
 					break;
 				default:
 					throw new ParserException(tag.getType() + " arrays are not supported");
@@ -789,14 +1612,10 @@ public class BioObjectBinaryParser {
 				List<Object> list = (List) value;
 				switch (type) {
 				case Long:
-					Long[] longArray = new Long[list.size()];
-					list.toArray(longArray);
-					stream.writeLongArray(tag, longArray);
+					stream.writeLongList(tag, list);
 					break;
 				case Time:
-					longArray = new Long[list.size()];
-					list.toArray(longArray);
-					stream.writeLongArray(tag, longArray);
+					stream.writeTimeList(tag, list);
 					break;
 				case BioEnum:
 					List<BioEnum> bioEnumArray = (List<BioEnum>) value;
@@ -806,44 +1625,28 @@ public class BioObjectBinaryParser {
 					stream.writeIntArray(tag, intCodeArray);
 					break;
 				case Integer:
-					Integer[] intArray = new Integer[list.size()];
-					list.toArray(intArray);
-					stream.writeIntArray(tag, intArray);
+					stream.writeIntList(tag, list);
 					break;
 				case Byte:
-					Byte[] byteArray = new Byte[list.size()];
-					list.toArray(byteArray);
-					stream.writeByteArray(tag, byteArray);
+					stream.writeByteList(tag, list);
 					break;
 				case Short:
-					Short[] shortArray = new Short[list.size()];
-					list.toArray(shortArray);
-					stream.writeShortArray(tag, shortArray);
+					stream.writeShortList(tag, list);
 					break;
 				case Float:
-					Float[] floatArray = new Float[list.size()];
-					list.toArray(floatArray);
-					stream.writeFloatArray(tag, floatArray);
+					stream.writeFloatList(tag, list);
 					break;
 				case Boolean:
-					Boolean[] booleanArray = new Boolean[list.size()];
-					list.toArray(booleanArray);
-					stream.writeBooleanArray(tag, booleanArray);
+					stream.writeBooleanList(tag, list);
 					break;
 				case Double:
-					Double[] doubleArray = new Double[list.size()];
-					list.toArray(doubleArray);
-					stream.writeDoubleArray(tag, doubleArray);
+					stream.writeDoubleList(tag, list);
 					break;
 				case String:
-					String[] stringArray = new String[list.size()];
-					list.toArray(stringArray);
-					stream.writeAsciiStringArray(tag, stringArray);
+					stream.writeAsciiStringList(tag, list);
 					break;
 				case UtfString:
-					stringArray = new String[list.size()];
-					list.toArray(stringArray);
-					stream.writeUtfStringArray(tag, stringArray);
+					stream.writeUtfStringList(tag, list);
 					break;
 				case JavaObject:
 					Object[] objectArray = new Object[list.size()];
@@ -851,22 +1654,14 @@ public class BioObjectBinaryParser {
 					stream.writeObjectArray(tag, objectArray);
 					break;
 				case BioObject:
-					BioObject[] bioArray = new BioObject[list.size()];
-					list.toArray(bioArray);
-					stream.writeTag(tag);
-					stream.writeLength(bioArray.length);
-					for (int i = 0; i < bioArray.length; i++) {
-						byte[] bioBytes = writeBio(bioArray[i]);
-						if (bioBytes != null) {
-							stream.writeBioBytes(bioBytes);
-						}
-					}
+					writeBioList(context, stream, tag, list);
 					break;
 				default:
 					throw new ParserException(tag.getType() + " lists are not supported");
 				}
 			} else {
 				// write tag info
+				int position = stream.getSize() ;
 				stream.write(type.value());
 				// write single object indicator
 				stream.write((byte) 0);
@@ -875,7 +1670,7 @@ public class BioObjectBinaryParser {
 					stream.writeLong(tag, ((Number) value).longValue());
 					break;
 				case Time:
-					stream.writeLong(tag, ((Number) value).longValue());
+					stream.writeTime(tag, ((Number) value).longValue());
 					break;
 				case Byte:
 					stream.writeByte(tag, ((Number) value).byteValue());
@@ -909,9 +1704,10 @@ public class BioObjectBinaryParser {
 					stream.writeObject(tag, value);
 					break;
 				case BioObject:
-					byte[] bioBytes = writeBio((BioObject) value);
-					if (bioBytes != null) {
-						stream.writeBioBytes(tag, bioBytes);
+					stream.writeTag(tag);
+					// nothing is written for unknown objects so tag info is also dropped
+					if (!writeBioBytes(context, (BioObject) value, stream)) {
+						stream.rewind(position);
 					}
 					break;
 				}
@@ -922,13 +1718,15 @@ public class BioObjectBinaryParser {
 	}
 	
 	/**
-	 * Decodes bio object
-	 * @param bytes
+	 * Decodes bio object from stream, stream must be bounded to object's bytes
+	 * @param context
+	 * @param stream
 	 * @return
 	 */
-	private BioObject readBio(byte[] bytes) {
-		BiFastStream stream = createInputStream(bytes);
+	private BioObject readBio(Context context, BiFastStream stream) {
 		try {
+			int start = stream.getPosition() ;
+			BioProjection projection = context.projection ;
 			int dictionary = stream.readByte() ;
 			int objCode = stream.readObjCode();
 			int objVersion = stream.readObjVersion();
@@ -949,8 +1747,9 @@ public class BioObjectBinaryParser {
 					boolean isArray = typeInfo == 1 ;
 					boolean isList = typeInfo == 2 ;
 					int tagCode = stream.readTagCode();
-					tag = codeMap.get(tagCode) ;
-					Object value = readValue(tagType, isArray, isList, tag, stream);
+					tag = context.codeMap.get(tagCode) ;
+					Object value = projection != null ? readProjectedValue(context, projection, tagType, isArray, isList, tag, stream) 
+							: readValue(context, tagType, isArray, isList, tag, stream);
 					if (value != null) {
 						bio.put(tag.getName(), value);
 					}
@@ -980,37 +1779,56 @@ public class BioObjectBinaryParser {
 					// why empty() because otherwise if bio obj has initial fields they will auto generated
 					// but actually during serialization they were not present
 					// so here we empty object and only add serialized tag values
-					bio = (BioObject) obj.getBioClass().getConstructor().newInstance().empty();
+					bio = ((BioObject) obj.newInstance()).empty();
 					bio.setBioCode(objCode);
 					bio.setBioName(obj.getName());
 					bio.setBioVersion(objVersion);
 				} else {
 					bio = new BioObject(objCode, null, objVersion);
 				}
+				// tags are followed by index if it is present
+				int limit = stream.getLimit() - getIndexLength(stream) ;
+				if (context.isLazy) {
+					bio.setLazySource(new LazySource(context, obj, dictionary, stream, start, limit));
+					return bio ;
+				}
 				// we parse tags one by one
+				SpecializedBioObj specialized = isSpecialized && projection == null ? SpecializedBioObj.of(obj) : null ;
 				BioTag tag = null;
-				while (stream.available() > 0) {
+				while (stream.getPosition() < limit) {
 					byte tagInfo = stream.readByte();
-					BioType tagType = BioType.getType(tagInfo);
 					byte typeInfo = stream.readByte() ;
+					int tagCode = stream.readTagCode();
+					if (specialized != null && typeInfo == 0) {
+						TagReader reader = specialized.getReader(tagCode, tagInfo) ;
+						if (reader != null) {
+							reader.read(stream, bio);
+							continue ;
+						}
+					}
+					BioType tagType = BioType.getType(tagInfo);
 					boolean isArray = typeInfo == 1 ;
 					boolean isList = typeInfo == 2 ;
-					int tagCode = stream.readTagCode();
 					tag = obj.getTag(tagCode);
 					// if couldn't find tag, may be it is a super tag ???
 					if (tag == null) {
 						tag = BioDictionary.getDictionary(dictionary).getSuperTag(tagCode);
 					}
 
-					if (tag != null) {
-						Object value = readValue(tagType, isArray, isList, tag, stream);
+					if (projection != null) {
+						Object value = readProjectedValue(context, projection, tagType, isArray, isList, tag, stream) ;
+						if (value != null) {
+							bio.put(tag.getName(), value);
+						}
+					} else if (tag != null) {
+						Object value = readValue(context, tagType, isArray, isList, tag, stream);
 						if (value != null) {
 							bio.put(tag.getName(), value);
 						}
 					} else {
 						// there is something encoded but we don't have it in dictionary
 						// so we just ignore it
-						readValue(tagType, isArray, isList, null, stream);
+						readValue(context, tagType, isArray, isList, null, stream);
 					}
 				}
 				return bio;
@@ -1031,6 +1849,7 @@ public class BioObjectBinaryParser {
 	
 	/**
 	 * Decodes tag value
+	 * @param context
 	 * @param obj
 	 * @param type
 	 * @param isArray
@@ -1039,8 +1858,24 @@ public class BioObjectBinaryParser {
 	 * @param stream
 	 * @return
 	 */
-	private Object readValue(BioType type, boolean isArray, boolean isList, BioTag tag, BiFastStream stream) {
+	private Object readValue(Context context, BioType type, boolean isArray, boolean isList, BioTag tag, BiFastStream stream) {
 		if (isArray) {
+			if (tag != null && tag.isArray() && BioDictionary.isPrimitiveArrays()) {
+				switch (type) {
+				case Long:
+					return stream.readPrimitiveLongArray();
+				case Time:
+					return stream.readPrimitiveTimeArray();
+				case Integer:
+					return stream.readPrimitiveIntArray();
+				case Double:
+					return stream.readPrimitiveDoubleArray();
+				case Float:
+					return stream.readPrimitiveFloatArray();
+				default:
+					break;
+				}
+			}
 			switch (type) {
 			case Long:
 				return stream.readLongArray();
@@ -1076,13 +1911,13 @@ public class BioObjectBinaryParser {
 			case JavaObject:
 				return stream.readObjectArray();
 			case Time:
-				return stream.readLongArray();
+				return stream.readTimeArray();
 			case BioObject:
 				int size = stream.readLength();
 				
 				ArrayList<BioObject> list = new ArrayList<BioObject>() ;
 				for (int i = 0; i < size; i++) {
-					BioObject bio = readBio(stream.readBioBytes());
+					BioObject bio = readBio(context, stream.readBioStream());
 					if (bio != null) {
 						list.add(bio) ;
 					}
@@ -1135,12 +1970,12 @@ public class BioObjectBinaryParser {
 			case JavaObject:
 				return new ArrayList(Arrays.asList(stream.readObjectArray()));
 			case Time:
-				return new ArrayList(Arrays.asList(stream.readLongArray()));
+				return new ArrayList(Arrays.asList(stream.readTimeArray()));
 			case BioObject:
 				int size = stream.readLength();
 				ArrayList<BioObject> list = new ArrayList<BioObject>() ;
 				for (int i = 0; i < size; i++) {
-					BioObject bio = readBio(stream.readBioBytes());
+					BioObject bio = readBio(context, stream.readBioStream());
 					if (bio != null) {
 						list.add(bio) ;
 					}
@@ -1166,7 +2001,7 @@ public class BioObjectBinaryParser {
 			case Double:
 				return stream.readDouble();
 			case Time:
-				return stream.readLong();
+				return stream.readTime();
 			case Boolean:
 				return stream.readBoolean();
 			case Byte:
@@ -1182,12 +2017,135 @@ public class BioObjectBinaryParser {
 			case JavaObject:
 				return stream.readObject();
 			case BioObject:
-				return readBio(stream.readBioBytes());
+				return readBio(context, stream.readBioStream());
 			}
 		}
 		return null;
 	}
 	
+	/**
+	 * Decodes tag value if it is projected, otherwise skips it. Nested bio objects are decoded with tag's projection
+	 * @param context
+	 * @param projection
+	 * @param type
+	 * @param isArray
+	 * @param isList
+	 * @param tag
+	 * @param stream
+	 * @return null if value is skipped
+	 */
+	private Object readProjectedValue(Context context, BioProjection projection, BioType type, boolean isArray, boolean isList, BioTag tag, BiFastStream stream) {
+		BioProjection tagProjection = tag != null ? projection.get(tag.getName()) : null ;
+		if (tagProjection == null) {
+			skipValue(type, isArray, isList, stream);
+			return null ;
+		}
+		context.projection = tagProjection.isWhole() ? null : tagProjection ;
+		try {
+			return readValue(context, type, isArray, isList, tag, stream) ;
+		} finally {
+			context.projection = projection ;
+		}
+	}
+	
+	/**
+	 * Skips tag value without decoding it
+	 * @param type
+	 * @param isArray
+	 * @param isList
+	 * @param stream
+	 */
+	private void skipValue(BioType type, boolean isArray, boolean isList, BiFastStream stream) {
+		if (isArray || isList) {
+			switch (type) {
+			case Long:
+				stream.skipLongArray();
+				break ;
+			case Time:
+				stream.skipTimeArray();
+				break ;
+			case Integer:
+			case BioEnum:
+				stream.skipIntArray();
+				break ;
+			case Double:
+				stream.skipDoubleArray();
+				break ;
+			case Byte:
+				stream.skipByteArray();
+				break ;
+			case Short:
+				stream.skipShortArray();
+				break ;
+			case Float:
+				stream.skipFloatArray();
+				break ;
+			case Boolean:
+				stream.skipBooleanArray();
+				break ;
+			case String:
+				stream.skipAsciiStringArray();
+				break ;
+			case UtfString:
+				stream.skipUtfStringArray();
+				break ;
+			case JavaObject:
+				stream.skipObjectArray();
+				break ;
+			case BioObject:
+				int size = stream.readLength();
+				for (int i = 0; i < size; i++) {
+					stream.skipBioBytes();
+				}
+				break ;
+			default:
+				break ;
+			}
+		} else {
+			switch (type) {
+			case Long:
+				stream.skipLong();
+				break ;
+			case Time:
+				stream.skipTime();
+				break ;
+			case Integer:
+			case BioEnum:
+				stream.skipInt();
+				break ;
+			case Double:
+				stream.skipDouble();
+				break ;
+			case Byte:
+				stream.skipByte();
+				break ;
+			case Short:
+				stream.skipShort();
+				break ;
+			case Float:
+				stream.skipFloat();
+				break ;
+			case Boolean:
+				stream.skipBoolean();
+				break ;
+			case String:
+				stream.skipAsciiString();
+				break ;
+			case UtfString:
+				stream.skipUtfString();
+				break ;
+			case JavaObject:
+				stream.skipObject();
+				break ;
+			case BioObject:
+				stream.skipBioBytes();
+				break ;
+			default:
+				break ;
+			}
+		}
+	}
+	
 	/**
 	 * Creates stream for decoding
 	 * @param data
@@ -1198,10 +2156,216 @@ public class BioObjectBinaryParser {
 	}
 
 	/**
-	 * Creates stream for encoding
+	 * Returns context of current thread cleared for a new call
+	 * @return
+	 */
+	private static Context acquireContext() {
+		Context context = contexts.get() ;
+		if (context.isUsed) {
+			// nested call within same thread (e.g. from a java object being serialized) gets its own context
+			context = new Context() ;
+		}
+		context.isUsed = true ;
+		context.nameMap.clear();
+		context.codeMap.clear();
+		context.codeCounter = 0 ;
+		context.projection = null ;
+		context.payload.reset();
+		context.output.reset();
+		return context ;
+	}
+	
+	/**
+	 * Returns context which can be used after call is finished, only tags of untyped bio objects are kept
+	 * @param context
 	 * @return
 	 */
-	private BoFastStream createOutputStream() {
-		return new BoFastStream();
+	private static Context detachContext(Context context) {
+		if (context.codeMap.isEmpty()) {
+			return LAZY_CONTEXT ;
+		}
+		Context detached = new Context(true) ;
+		detached.codeMap.putAll(context.codeMap);
+		return detached ;
+	}
+	
+	/**
+	 * Releases context, buffers which grew too much are dropped instead of being kept by thread
+	 * @param context
+	 */
+	private static void releaseContext(Context context) {
+		context.isUsed = false ;
+		if (context.payload.getCapacity() > MAX_POOLED_BUFFER_SIZE || context.output.getCapacity() > MAX_POOLED_BUFFER_SIZE 
+				|| (context.input != null && context.input.length > MAX_POOLED_BUFFER_SIZE)) {
+			if (contexts.get() == context) {
+				contexts.remove();
+			}
+		}
+	}
+	
+	/**
+	 * Tag offset index of a lazily decoded bio object, values are decoded from slices of object's stream. Original bytes of object
+	 * are copied as is when it is encoded again without modifications
+	 * @author rdavudov
+	 *
+	 */
+	private class LazySource implements BioLazySource {
+		private final Context context ;
+		private final BiFastStream stream ;
+		private final BioObj obj ;
+		/**
+		 * Position of object's first byte in stream
+		 */
+		private final int start ;
+		private BioTag[] tags = new BioTag[8] ;
+		private byte[] types = new byte[8] ;
+		private byte[] typeInfos = new byte[8] ;
+		private int[] offsets = new int[8] ;
+		private int[] lengths = new int[8] ;
+		private int size ;
+		
+		private LazySource(Context context, BioObj obj, int dictionary, BiFastStream stream, int start, int limit) {
+			this.context = context ;
+			this.stream = stream ;
+			this.obj = obj ;
+			this.start = start ;
+			while (stream.getPosition() < limit) {
+				byte tagInfo = stream.readByte();
+				byte typeInfo = stream.readByte() ;
+				int tagCode = stream.readTagCode();
+				BioTag tag = obj.getTag(tagCode);
+				if (tag == null) {
+					tag = BioDictionary.getDictionary(dictionary).getSuperTag(tagCode);
+				}
+				int offset = stream.getPosition() ;
+				skipValue(BioType.getType(tagInfo), typeInfo == 1, typeInfo == 2, stream) ;
+				// values not found in dictionary are ignored
+				if (tag != null) {
+					add(tag, tagInfo, typeInfo, offset, stream.getPosition()) ;
+				}
+			}
+		}
+		
+		private void add(BioTag tag, byte type, byte typeInfo, int start, int end) {
+			if (size == tags.length) {
+				tags = Arrays.copyOf(tags, size * 2) ;
+				types = Arrays.copyOf(types, size * 2) ;
+				typeInfos = Arrays.copyOf(typeInfos, size * 2) ;
+				offsets = Arrays.copyOf(offsets, size * 2) ;
+				lengths = Arrays.copyOf(lengths, size * 2) ;
+			}
+			tags[size] = tag ;
+			types[size] = type ;
+			typeInfos[size] = typeInfo ;
+			offsets[size] = start ;
+			lengths[size] = end - start ;
+			size++ ;
+		}
+
+		@Override
+		public int size() {
+			return size ;
+		}
+
+		@Override
+		public String getKey(int index) {
+			return tags[index].getName() ;
+		}
+
+		@Override
+		public Object decode(int index) {
+			try {
+				BiFastStream value = stream.slice(offsets[index], lengths[index]) ;
+				return readValue(context, BioType.getType(types[index]), typeInfos[index] == 1, typeInfos[index] == 2, tags[index], value) ;
+			} catch (ParserException e) {
+				throw e ;
+			} catch (Throwable e) {
+				throw new ParserException(e) ;
+			}
+		}
+		
+		/**
+		 * Copies original bytes of object to stream if they are same as they would be encoded
+		 * @param obj
+		 * @param out
+		 * @return false if bytes can't be copied and object must be encoded
+		 */
+		private boolean writeTo(BioObj obj, BoFastStream out) {
+			// codes of untyped tags and string references are specific to original message
+			if (obj != this.obj || context != LAZY_CONTEXT || stream.getStrings() != null || out.isStringTable()) {
+				return false ;
+			}
+			if (out.isLengthAsVarint() != stream.isLengthAsVarint() || out.isCompact() != stream.isCompact() || out.isIndexed() != stream.isIndexed()) {
+				return false ;
+			}
+			if (out.isCompact() && stream.isTimeBase()) {
+				// time values are deltas from time base of original message
+				if (!out.isTimeBase()) {
+					out.setTimeBase(stream.getTimeBase());
+				} else if (out.getTimeBase() != stream.getTimeBase()) {
+					return false ;
+				}
+			}
+			stream.copyTo(start, stream.getLimit() - start, out);
+			return true ;
+		}
+	}
+	
+	/**
+	 * Per call state of parser
+	 * @author rdavudov
+	 *
+	 */
+	private static class Context {
+		/**
+		 * Tags of untyped bio objects while decoding
+		 */
+		private final HashMap<Integer, BioTag> codeMap = new HashMap<Integer, BioTag>() ;
+		/**
+		 * Tags of untyped bio objects while encoding
+		 */
+		private final HashMap<String, BioTag> nameMap = new HashMap<String, BioTag>() ;
+		private int codeCounter ;
+		/**
+		 * Buffer where object graph is written
+		 */
+		private final BoFastStream payload = new BoFastStream() ;
+		/**
+		 * Buffer where header and payload are written
+		 */
+		private final BoFastStream output = new BoFastStream() ;
+		/**
+		 * Buffer where bytes of direct byte buffers are read into while decoding
+		 */
+		private byte[] input ;
+		private boolean isUsed ;
+		/**
+		 * Indicates whether bio objects are decoded lazily, such contexts are kept by lazy objects after call is finished
+		 */
+		private final boolean isLazy ;
+		/**
+		 * Projection of tags of bio object being decoded, null if all tags are decoded
+		 */
+		private BioProjection projection ;
+		
+		private Context() {
+			this(false) ;
+		}
+		
+		private Context(boolean isLazy) {
+			this.isLazy = isLazy ;
+		}
+		
+		/**
+		 * Returns input buffer having at least given length
+		 * @param length
+		 * @return
+		 */
+		private byte[] getInput(int length) {
+			if (input == null || input.length < length) {
+				input = new byte[Math.max(length, 256)] ;
+			}
+			return input ;
+		}
 	}
-}
\ No newline at end of file
+}
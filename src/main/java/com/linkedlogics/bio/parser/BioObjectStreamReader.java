@@ -0,0 +1,139 @@
+package com.linkedlogics.bio.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.exception.ParserException;
+
+/**
+ * Reads a sequence of bio objects written by {@link BioObjectStreamWriter} lazily from an input stream or channel. Only one frame
+ * is kept in memory at a time and its buffer is reused for next frames. Reader can be used as an iterator or as a java stream
+ * <pre>
+ * try (BioObjectStreamReader reader = new BioObjectStreamReader(parser, in)) {
+ *     reader.stream().forEach(object -&gt; ...) ;
+ * }
+ * </pre>
+ * Objects which can not be decoded (e.g. not found in dictionary and parser is not validated) are skipped.
+ * @author rdavudov
+ *
+ */
+public class BioObjectStreamReader implements Iterator<BioObject>, Closeable {
+	private final BioObjectBinaryParser parser ;
+	private final InputStream in ;
+	private byte[] buffer = new byte[4096] ;
+	private BioObject next ;
+	private boolean isFinished ;
+
+	public BioObjectStreamReader(BioObjectBinaryParser parser, InputStream in) {
+		this.parser = parser ;
+		this.in = in ;
+	}
+
+	public BioObjectStreamReader(BioObjectBinaryParser parser, ReadableByteChannel channel) {
+		this(parser, Channels.newInputStream(channel)) ;
+	}
+
+	/**
+	 * Reads next bio object
+	 * @return null if there are no more frames
+	 */
+	public BioObject read() {
+		if (next != null) {
+			BioObject object = next ;
+			next = null ;
+			return object ;
+		}
+		while (!isFinished) {
+			if (!readFully(4, true)) {
+				isFinished = true ;
+				return null ;
+			}
+			int length = ((buffer[0] & 0xFF) << 24) | ((buffer[1] & 0xFF) << 16) | ((buffer[2] & 0xFF) << 8) | (buffer[3] & 0xFF) ;
+			if (length < 0) {
+				throw new ParserException("invalid frame length " + length) ;
+			}
+			if (buffer.length < length) {
+				buffer = new byte[Math.max(length, buffer.length * 2)] ;
+			}
+			readFully(length, false) ;
+			// lazily decoded objects keep referring to frame bytes, so they can't be decoded from reused buffer
+			Object object = parser.isLazy() ? parser.decode(Arrays.copyOf(buffer, length)) : parser.decode(ByteBuffer.wrap(buffer, 0, length)) ;
+			if (object instanceof BioObject) {
+				return (BioObject) object ;
+			}
+		}
+		return null ;
+	}
+
+	/**
+	 * Reads exactly length bytes into buffer
+	 * @param length
+	 * @param isEndAllowed whether stream can end before any byte is read
+	 * @return false if stream ended
+	 */
+	private boolean readFully(int length, boolean isEndAllowed) {
+		try {
+			int offset = 0 ;
+			while (offset < length) {
+				int read = in.read(buffer, offset, length - offset) ;
+				if (read < 0) {
+					if (offset == 0 && isEndAllowed) {
+						return false ;
+					}
+					throw new ParserException("unexpected end of stream, missing " + (length - offset) + " bytes") ;
+				}
+				offset += read ;
+			}
+			return true ;
+		} catch (IOException e) {
+			throw new ParserException(e) ;
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null) {
+			next = read() ;
+		}
+		return next != null ;
+	}
+
+	@Override
+	public BioObject next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException() ;
+		}
+		BioObject object = next ;
+		next = null ;
+		return object ;
+	}
+
+	/**
+	 * Returns a sequential stream of remaining bio objects, closing it closes reader
+	 * @return
+	 */
+	public Stream<BioObject> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close) ;
+	}
+
+	@Override
+	public void close() {
+		try {
+			in.close();
+		} catch (IOException e) {
+			throw new ParserException(e) ;
+		}
+	}
+}
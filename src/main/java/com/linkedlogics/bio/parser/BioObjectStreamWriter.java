@@ -0,0 +1,119 @@
+package com.linkedlogics.bio.parser;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * Writes a sequence of bio objects to an output stream or channel one by one, so large batches are never kept in memory as a whole.
+ * Each object is encoded by {@link BioObjectBinaryParser} as a separate frame prefixed with its length in 4 bytes. Frames are collected
+ * in a reused buffer and written to output once buffer is full. Sequence can be read back by {@link BioObjectStreamReader}
+ * <pre>
+ * try (BioObjectStreamWriter writer = new BioObjectStreamWriter(parser, out)) {
+ *     for (BioObject object : objects) {
+ *         writer.write(object) ;
+ *     }
+ * }
+ * </pre>
+ * @author rdavudov
+ *
+ */
+public class BioObjectStreamWriter implements Closeable, Flushable {
+	/**
+	 * Buffered frames are written to output when buffer exceeds this size
+	 */
+	private static final int FLUSH_SIZE = 64 * 1024 ;
+
+	private final BioObjectBinaryParser parser ;
+	private final OutputStream out ;
+	private final BoFastStream buffer = new BoFastStream(FLUSH_SIZE * 2) ;
+	private long count ;
+
+	public BioObjectStreamWriter(BioObjectBinaryParser parser, OutputStream out) {
+		this.parser = parser ;
+		this.out = out ;
+	}
+
+	public BioObjectStreamWriter(BioObjectBinaryParser parser, WritableByteChannel channel) {
+		this(parser, Channels.newOutputStream(channel)) ;
+	}
+
+	/**
+	 * Writes bio object as a new frame
+	 * @param object
+	 * @return false if nothing is encoded (e.g. object is not found in dictionary)
+	 */
+	public boolean write(BioObject object) {
+		int position = buffer.reserve(4) ;
+		try {
+			if (!parser.encode(object, buffer)) {
+				buffer.rewind(position);
+				return false ;
+			}
+		} catch (RuntimeException | Error e) {
+			// partially written frame is discarded so that following frames stay readable
+			buffer.rewind(position);
+			throw e ;
+		}
+		buffer.patchInt(position, buffer.getSize() - position - 4);
+		count++ ;
+		if (buffer.getSize() >= FLUSH_SIZE) {
+			writeBuffer() ;
+		}
+		return true ;
+	}
+
+	/**
+	 * Writes all bio objects
+	 * @param objects
+	 */
+	public void writeAll(Iterable<? extends BioObject> objects) {
+		for (BioObject object : objects) {
+			write(object) ;
+		}
+	}
+
+	/**
+	 * Returns number of frames written
+	 * @return
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	private void writeBuffer() {
+		try {
+			buffer.writeTo(out);
+			buffer.reset();
+		} catch (IOException e) {
+			throw new ParserException(e) ;
+		}
+	}
+
+	@Override
+	public void flush() {
+		writeBuffer() ;
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new ParserException(e) ;
+		}
+	}
+
+	@Override
+	public void close() {
+		flush() ;
+		try {
+			out.close();
+		} catch (IOException e) {
+			throw new ParserException(e) ;
+		}
+	}
+}
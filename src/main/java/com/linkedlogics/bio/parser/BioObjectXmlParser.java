@@ -143,7 +143,8 @@ public class BioObjectXmlParser {
         	}
         } else {
         	try {
-				object = (BioObject) bioClass.getConstructor().newInstance() ;
+				BioObj classObj = BioDictionary.findObj(bioClass) ;
+				object = classObj != null && classObj.getBioClass() == bioClass ? classObj.newInstance() : (BioObject) bioClass.getConstructor().newInstance() ;
 				obj = BioDictionary.getDictionary(dictionary).getObjByCode(object.getBioCode());
 			} catch (Throwable ex) {
 				throw new ParserException(ex) ;
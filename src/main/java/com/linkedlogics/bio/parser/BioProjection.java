@@ -0,0 +1,74 @@
+package com.linkedlogics.bio.parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * Tree of tag names to be decoded, built from tag names or paths of nested tags separated by dots (e.g. customer.id). A tag without
+ * children is decoded as a whole, other tags of its parent are skipped.
+ * @author rdavudov
+ *
+ */
+final class BioProjection {
+	/**
+	 * Projections of child tags by name, null if tag is decoded as a whole
+	 */
+	private HashMap<String, BioProjection> children ;
+
+	/**
+	 * Builds projection of paths
+	 * @param paths
+	 * @return
+	 */
+	static BioProjection of(Collection<String> paths) {
+		BioProjection root = new BioProjection() ;
+		root.children = new HashMap<String, BioProjection>() ;
+		for (String path : paths) {
+			root.add(path) ;
+		}
+		return root ;
+	}
+
+	private void add(String path) {
+		BioProjection current = this ;
+		int start = 0 ;
+		while (current.children != null) {
+			int end = path.indexOf('.', start) ;
+			String name = end < 0 ? path.substring(start) : path.substring(start, end) ;
+			BioProjection child = current.children.get(name) ;
+			if (end < 0) {
+				// whole tag is projected, its previous child paths are covered
+				if (child == null) {
+					current.children.put(name, new BioProjection()) ;
+				} else {
+					child.children = null ;
+				}
+				return ;
+			}
+			if (child == null) {
+				child = new BioProjection() ;
+				child.children = new HashMap<String, BioProjection>() ;
+				current.children.put(name, child) ;
+			}
+			current = child ;
+			start = end + 1 ;
+		}
+	}
+
+	/**
+	 * Indicates whether tag is decoded as a whole
+	 * @return
+	 */
+	boolean isWhole() {
+		return children == null ;
+	}
+
+	/**
+	 * Returns projection of child tag
+	 * @param name
+	 * @return null if tag is not projected
+	 */
+	BioProjection get(String name) {
+		return children.get(name) ;
+	}
+}
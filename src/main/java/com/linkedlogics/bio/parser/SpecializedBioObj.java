@@ -0,0 +1,292 @@
+package com.linkedlogics.bio.parser;
+
+import java.util.Arrays;
+
+import com.linkedlogics.bio.BioEnum;
+import com.linkedlogics.bio.BioExpression;
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.dictionary.BioEnumObj;
+import com.linkedlogics.bio.dictionary.BioObj;
+import com.linkedlogics.bio.dictionary.BioTag;
+import com.linkedlogics.bio.dictionary.BioTagKey;
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+/**
+ * Encoder/decoder specialized for a single bio obj. For each single valued tag of primitive, string, enum and java object types
+ * a writer and a reader bound to tag's type and slot are prepared once, so per value there is no switch on tag type. Writers and
+ * readers are found by tag code in an array, tags are resolved by slot for indexed storage, so there is no lookup by name either.
+ * Decoded long, int, double and boolean values are put through tag keys, so objects with indexed storage keep them unboxed, other
+ * values are put boxed same as in generic parsing.
+ * <p>
+ * It is an interim step towards generated encoders/decoders per bio class: writers and readers are lambdas called through 
+ * {@link TagWriter} and {@link TagReader} instead of straight-line code, so how much it saves over generic parsing depends on how 
+ * well JIT inlines them, on flat objects it measures on par with generic parsing rather than faster. Its interface to {@link BioObjectBinaryParser} (a writer per tag, a reader per code) is what generated
+ * code would implement as well.
+ * <p>
+ * Bytes are same as of generic parsing, tags without writer/reader (arrays, lists, bio objects, super tags) are handled by
+ * {@link BioObjectBinaryParser} as usual.
+ * @author rdavudov
+ *
+ */
+final class SpecializedBioObj {
+	/**
+	 * Writes tag info and value
+	 */
+	interface TagWriter {
+		void write(BoFastStream stream, Object value) ;
+	}
+
+	/**
+	 * Reads value and puts it into bio object
+	 */
+	interface TagReader {
+		void read(BiFastStream stream, BioObject bio) ;
+	}
+
+	/**
+	 * Slot layout which specialization is built for, it is changed if obj tags are changed
+	 */
+	private final BioTag[] slotTags ;
+	/**
+	 * Writers and tags they are prepared for, indexed same as readers
+	 */
+	private final TagWriter[] writers ;
+	private final BioTag[] writerTags ;
+	/**
+	 * Readers and encoded tag types they accept, indexed by tag code - offset or by position in sorted codes
+	 */
+	private final TagReader[] readers ;
+	private final byte[] readerTypes ;
+	private final int codeOffset ;
+	private final int[] codes ;
+
+	/**
+	 * Returns specialization of obj, it is kept in obj itself so that it goes away together with obj and is dropped once obj
+	 * tables are built again
+	 * @param obj
+	 * @return null if obj tables are not built yet
+	 */
+	static SpecializedBioObj of(BioObj obj) {
+		SpecializedBioObj specialized = (SpecializedBioObj) obj.getSpecialization() ;
+		if (specialized == null || specialized.slotTags != obj.getSlotTags()) {
+			if (!obj.hasSlots()) {
+				return null ;
+			}
+			specialized = new SpecializedBioObj(obj) ;
+			obj.setSpecialization(specialized) ;
+		}
+		return specialized ;
+	}
+
+	private SpecializedBioObj(BioObj obj) {
+		this.slotTags = obj.getSlotTags() ;
+
+		BioTag[] sorted = slotTags.clone() ;
+		Arrays.sort(sorted, (t1, t2) -> Integer.compare(t1.getCode(), t2.getCode()));
+		int offset = sorted.length > 0 ? sorted[0].getCode() : 0 ;
+		int span = sorted.length > 0 ? sorted[sorted.length - 1].getCode() - offset + 1 : 0 ;
+		int[] codes = null ;
+		if (span > Math.max(64, sorted.length * 8)) {
+			codes = new int[sorted.length] ;
+			for (int i = 0; i < sorted.length; i++) {
+				codes[i] = sorted[i].getCode() ;
+			}
+			span = sorted.length ;
+		}
+		this.codeOffset = offset ;
+		this.codes = codes ;
+		this.writers = new TagWriter[span] ;
+		this.writerTags = new BioTag[span] ;
+		this.readers = new TagReader[span] ;
+		this.readerTypes = new byte[span] ;
+
+		for (int i = 0; i < sorted.length; i++) {
+			BioTag tag = sorted[i] ;
+			if (tag.isArray() || tag.isList()) {
+				continue ;
+			}
+			TagWriter writer = createWriter(tag) ;
+			TagReader reader = createReader(tag, obj.getTagKey(tag.getName())) ;
+			if (writer == null || reader == null) {
+				continue ;
+			}
+			int index = codes == null ? tag.getCode() - offset : i ;
+			// first tag wins same as in generic code table, others with same code are left to generic parsing
+			if (readers[index] == null) {
+				writers[index] = writer ;
+				writerTags[index] = tag ;
+				readers[index] = reader ;
+				readerTypes[index] = tag.getType().value() ;
+			}
+		}
+	}
+
+	/**
+	 * Returns writer of tag
+	 * @param tag resolved tag, super tags and tags of other objs have no writer
+	 * @return null if tag must be written by generic parsing
+	 */
+	TagWriter getWriter(BioTag tag) {
+		if (tag == null) {
+			return null ;
+		}
+		int index = getIndex(tag.getCode()) ;
+		return index >= 0 && writerTags[index] == tag ? writers[index] : null ;
+	}
+
+	/**
+	 * Returns reader of single valued tag by code
+	 * @param code
+	 * @param type encoded tag type
+	 * @return null if tag must be read by generic parsing
+	 */
+	TagReader getReader(int code, byte type) {
+		int index = getIndex(code) ;
+		return index >= 0 && readerTypes[index] == type ? readers[index] : null ;
+	}
+
+	/**
+	 * Returns index of tag code in writers and readers
+	 * @param code
+	 * @return -1 if code is out of range
+	 */
+	private int getIndex(int code) {
+		if (codes == null) {
+			int index = code - codeOffset ;
+			return index >= 0 && index < readers.length ? index : -1 ;
+		}
+		int index = Arrays.binarySearch(codes, code) ;
+		return index >= 0 ? index : -1 ;
+	}
+
+	private static TagWriter createWriter(final BioTag tag) {
+		if (!tag.isEncodable()) {
+			return (stream, value) -> {} ;
+		}
+		final byte type = tag.getType().value() ;
+		switch (tag.getType()) {
+		case Long:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeLong(tag, ((Number) value).longValue());
+			} ;
+		case Time:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeTime(tag, ((Number) value).longValue());
+			} ;
+		case Byte:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeByte(tag, ((Number) value).byteValue());
+			} ;
+		case Short:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeShort(tag, ((Number) value).shortValue());
+			} ;
+		case Float:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeFloat(tag, ((Number) value).floatValue());
+			} ;
+		case Integer:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeInt(tag, ((Number) value).intValue());
+			} ;
+		case BioEnum:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeInt(tag, ((BioEnum) value).getOrdinal());
+			} ;
+		case Double:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeDouble(tag, (Double) value);
+			} ;
+		case String:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeAsciiString(tag, (String) value);
+			} ;
+		case UtfString:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeUtfString(tag, (String) value);
+			} ;
+		case Boolean:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeBoolean(tag, (Boolean) value);
+			} ;
+		case JavaObject:
+			return (stream, value) -> {
+				if (writeHeader(stream, type, value))
+					stream.writeObject(tag, value);
+			} ;
+		default:
+			return null ;
+		}
+	}
+
+	/**
+	 * Writes tag type and single value indicator
+	 * @param stream
+	 * @param type
+	 * @param value
+	 * @return false if value must not be written
+	 */
+	private static boolean writeHeader(BoFastStream stream, byte type, Object value) {
+		// dynamic expressions are not encoded
+		if (value instanceof BioExpression) {
+			return false ;
+		}
+		stream.write(type);
+		stream.write((byte) 0);
+		return true ;
+	}
+
+	private static TagReader createReader(final BioTag tag, final BioTagKey key) {
+		if (key == null) {
+			return null ;
+		}
+		switch (tag.getType()) {
+		case Long:
+			return (stream, bio) -> bio.putLong(key, stream.readLongValue()) ;
+		case Time:
+			return (stream, bio) -> bio.putLong(key, stream.readTimeValue()) ;
+		case Integer:
+			return (stream, bio) -> bio.putInt(key, stream.readInt()) ;
+		case Double:
+			return (stream, bio) -> bio.putDouble(key, stream.readDouble()) ;
+		case Boolean:
+			return (stream, bio) -> bio.putBoolean(key, stream.readBoolean()) ;
+		case Byte:
+			return (stream, bio) -> bio.put(key, stream.readByte()) ;
+		case Short:
+			return (stream, bio) -> bio.put(key, stream.readShort()) ;
+		case Float:
+			return (stream, bio) -> bio.put(key, stream.readFloat()) ;
+		case BioEnum:
+			return (stream, bio) -> {
+				int ordinal = stream.readInt() ;
+				BioEnumObj enumObj = tag.getEnumObj() ;
+				if (enumObj != null && enumObj.getBioClass() != null) {
+					bio.put(key, enumObj.getBioEnum(ordinal)) ;
+				} else {
+					bio.put(key, ordinal) ;
+				}
+			} ;
+		case String:
+			return (stream, bio) -> bio.put(key, stream.readAsciiString()) ;
+		case UtfString:
+			return (stream, bio) -> bio.put(key, stream.readUtfString()) ;
+		case JavaObject:
+			return (stream, bio) -> bio.put(key, stream.readObject()) ;
+		default:
+			return null ;
+		}
+	}
+}
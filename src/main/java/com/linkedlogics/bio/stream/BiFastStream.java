@@ -4,7 +4,11 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.ObjectStreamConstants;
+import java.nio.ByteBuffer;
 
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.BioDictionary;
 import com.linkedlogics.bio.BioObject;
 import com.linkedlogics.bio.dictionary.BioObj;
 import com.linkedlogics.bio.dictionary.BioType;
@@ -21,6 +25,14 @@ public class BiFastStream extends InputStream {
 	private int pos;
 	private int length;
 	private boolean isLengthAsInt ;
+	private boolean isLengthAsVarint ;
+	private boolean isCompact ;
+	private boolean isIndexed ;
+	private long timeBase ;
+	private boolean isTimeBase ;
+	private String[] strings ;
+	
+	private static final byte JAVA_SERIALIZATION_MAGIC = (byte) (ObjectStreamConstants.STREAM_MAGIC >> 8) ;
 	
 	public BiFastStream(byte[] data) {
 		buffer = data ;
@@ -41,6 +53,115 @@ public class BiFastStream extends InputStream {
 	public void setLengthAsInt(boolean isLengthAsInt) {
 		this.isLengthAsInt = isLengthAsInt;
 	}
+	
+	/**
+	 * Indicates whether lengths are read as varints which is preferred over int/short lengths
+	 * @return
+	 */
+	public boolean isLengthAsVarint() {
+		return isLengthAsVarint;
+	}
+
+	public void setLengthAsVarint(boolean isLengthAsVarint) {
+		this.isLengthAsVarint = isLengthAsVarint;
+	}
+	
+	/**
+	 * Indicates whether short, int, long values and tag codes are read as zigzag varints and time values as deltas from time base
+	 * @return
+	 */
+	public boolean isCompact() {
+		return isCompact;
+	}
+
+	public void setCompact(boolean isCompact) {
+		this.isCompact = isCompact;
+	}
+	
+	/**
+	 * Indicates whether bytes of typed bio objects end with an index of their tag offsets
+	 * @return
+	 */
+	public boolean isIndexed() {
+		return isIndexed;
+	}
+
+	public void setIndexed(boolean isIndexed) {
+		this.isIndexed = isIndexed;
+	}
+	
+	public long getTimeBase() {
+		return timeBase;
+	}
+	
+	/**
+	 * Indicates whether time base is set, it is not set if compact message contains no time values
+	 * @return
+	 */
+	public boolean isTimeBase() {
+		return isTimeBase;
+	}
+
+	public void setTimeBase(long timeBase) {
+		this.timeBase = timeBase;
+		this.isTimeBase = true ;
+	}
+	
+	/**
+	 * Returns string table used to resolve string references, null if strings are written inline
+	 * @return
+	 */
+	public String[] getStrings() {
+		return strings;
+	}
+
+	public void setStrings(String[] strings) {
+		this.strings = strings;
+	}
+
+	/**
+	 * Returns current read position in underlying buffer
+	 * @return
+	 */
+	public int getPosition() {
+		return pos ;
+	}
+	
+	/**
+	 * Returns underlying buffer, stream's bytes are between {@link #getPosition()} and {@link #getLimit()}
+	 * @return
+	 */
+	public byte[] getBuffer() {
+		return buffer ;
+	}
+	
+	/**
+	 * Returns position in underlying buffer where stream ends
+	 * @return
+	 */
+	public int getLimit() {
+		return length ;
+	}
+	
+	/**
+	 * Reads short value of 2 bytes at given position without moving position
+	 * @param position
+	 * @return
+	 */
+	public short peekShort(int position) {
+		checkRange(position, 2) ;
+		return ByteUtility.bytesToShort(buffer, position) ;
+	}
+	
+	/**
+	 * Reads int value of 4 bytes at given position without moving position
+	 * @param position
+	 * @return
+	 */
+	public int peekInt(int position) {
+		checkRange(position, 4) ;
+		return ByteUtility.bytesToInt(buffer, position) ;
+	}
 
 	@Override
 	public int available() throws IOException {
@@ -48,18 +169,17 @@ public class BiFastStream extends InputStream {
 	}
 	
 	public int readObjCode() {
-		int code = ByteUtility.bytesToShort(buffer, pos) ;
-		pos+=2 ;
-		return code ;
+		return readShort() ;
 	}
 	
 	public int readObjVersion() {
-		int code = ByteUtility.bytesToShort(buffer, pos) ;
-		pos+=2 ;
-		return code ;
+		return readShort() ;
 	}
 	
 	public int readTagCode() {
+		if (isCompact) {
+			return ByteUtility.unzigzag(readVarInt()) ;
+		}
 		int code = ByteUtility.bytesToShort(buffer, pos) ;
 		pos+=2 ;
 		return code ;
@@ -80,7 +200,9 @@ public class BiFastStream extends InputStream {
 	}
 	
 	public int readLength() {
-		if (isLengthAsInt) {
+		if (isLengthAsVarint) {
+			return readVarInt() ;
+		} else if (isLengthAsInt) {
 			int len = ByteUtility.bytesToInt(buffer, pos) ;
 			pos+=4 ;
 			return len ;
@@ -91,6 +213,38 @@ public class BiFastStream extends InputStream {
 		}
 	}
 	
+	/**
+	 * Reads value written in 7 bit groups
+	 * @return
+	 */
+	public int readVarInt() {
+		int value = 0 ;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer[pos++] ;
+			value |= (b & 0x7F) << shift ;
+			if (b >= 0) {
+				return value ;
+			}
+		}
+		throw new RuntimeException("malformed varint at " + (pos - 5)) ;
+	}
+	
+	/**
+	 * Reads long value written in 7 bit groups
+	 * @return
+	 */
+	public long readVarLong() {
+		long value = 0 ;
+		for (int shift = 0; shift < 64; shift += 7) {
+			byte b = buffer[pos++] ;
+			value |= (long) (b & 0x7F) << shift ;
+			if (b >= 0) {
+				return value ;
+			}
+		}
+		throw new RuntimeException("malformed varint at " + (pos - 10)) ;
+	}
+	
 	public int readIntLength() {
 		int len = ByteUtility.bytesToInt(buffer, pos) ;
 		pos+=4 ;
@@ -98,18 +252,54 @@ public class BiFastStream extends InputStream {
 	}
 	
 	public Long readLong() {
+		return readLongValue() ;
+	}
+	
+	/**
+	 * Reads long value same as {@link #readLong()} but without boxing it
+	 * @return
+	 */
+	public long readLongValue() {
+		if (isCompact) {
+			return ByteUtility.unzigzag(readVarLong()) ;
+		}
 		long value = ByteUtility.bytesToLong(buffer, pos) ;
 		pos+=8 ;
 		return value ;
 	}
 	
+	/**
+	 * Reads time value, in compact mode it is a delta from time base
+	 * @return
+	 */
+	public Long readTime() {
+		return readTimeValue() ;
+	}
+	
+	/**
+	 * Reads time value same as {@link #readTime()} but without boxing it
+	 * @return
+	 */
+	public long readTimeValue() {
+		if (isCompact) {
+			return timeBase + ByteUtility.unzigzag(readVarLong()) ;
+		}
+		return readLongValue() ;
+	}
+	
 	public int readInt() {
+		if (isCompact) {
+			return ByteUtility.unzigzag(readVarInt()) ;
+		}
 		int value = ByteUtility.bytesToInt(buffer, pos) ;
 		pos+=4 ;
 		return value ;
 	}
 	
 	public short readShort() {
+		if (isCompact) {
+			return (short) ByteUtility.unzigzag(readVarInt()) ;
+		}
 		short value = ByteUtility.bytesToShort(buffer, pos) ;
 		pos+=2 ;
 		return value ;
@@ -137,6 +327,12 @@ public class BiFastStream extends InputStream {
 	
 	public String readAsciiString() {
 		int length = readLength() ;
+		if (strings != null) {
+			if ((length & 1) == 1) {
+				return readStringReference(length) ;
+			}
+			length = length >> 1 ;
+		}
 		if (length == 0) {
 			return null ;
 		}
@@ -147,6 +343,12 @@ public class BiFastStream extends InputStream {
 	
 	public String readUtfString() {
 		int length = readLength() ;
+		if (strings != null) {
+			if ((length & 1) == 1) {
+				return readStringReference(length) ;
+			}
+			length = length >> 1 ;
+		}
 		if (length == 0) {
 			return null ;
 		}
@@ -155,8 +357,34 @@ public class BiFastStream extends InputStream {
 		return value ;
 	}
 	
+	/**
+	 * Resolves string reference from string table
+	 * @param reference
+	 * @return
+	 */
+	private String readStringReference(int reference) {
+		int index = reference >> 1 ;
+		if (index >= strings.length) {
+			throw new RuntimeException("string reference " + index + " is not found in string table of " + strings.length) ;
+		}
+		return strings[index] ;
+	}
+	
 	public Object readObject() {
 		int length = readLength() ;
+		// java serialization always starts with its magic, otherwise value is written by a codec and starts with codec code
+		if (length >= 2 && buffer[pos] != JAVA_SERIALIZATION_MAGIC) {
+			int code = ByteUtility.bytesToShort(buffer, pos) ;
+			BioCodec<?> codec = BioDictionary.getCodec(code) ;
+			if (codec == null) {
+				throw new RuntimeException("bio codec " + code + " is not found") ;
+			}
+			int end = pos + length ;
+			pos+=2 ;
+			Object object = codec.decode(this, length - 2) ;
+			pos = end ;
+			return object ;
+		}
 		try {
 			ByteArrayInputStream bytesIn = new ByteArrayInputStream(buffer, pos, length) ;
 			ObjectInputStream in = new ObjectInputStream(bytesIn) ;
@@ -248,6 +476,88 @@ public class BiFastStream extends InputStream {
 		return bytes ;
 	}
 	
+	/**
+	 * Reads length prefixed bio object as a stream over the same buffer, bytes are not copied
+	 * @return
+	 */
+	public BiFastStream readBioStream() {
+		int length = readIntLength() ;
+		BiFastStream stream = view(length) ;
+		skip(length) ;
+		return stream ;
+	}
+	
+	/**
+	 * Creates a stream over next len bytes of the same buffer without moving position
+	 * @param len
+	 * @return
+	 */
+	public BiFastStream view(int len) {
+		if (this.pos + len <= length) {
+			BiFastStream stream = new BiFastStream(buffer, pos, len) ;
+			stream.setLengthAsVarint(isLengthAsVarint);
+			stream.setCompact(isCompact);
+			stream.setIndexed(isIndexed);
+			if (isTimeBase) {
+				stream.setTimeBase(timeBase);
+			}
+			stream.setStrings(strings);
+			return stream ;
+		} else {
+			throw new RuntimeException("missing bytes left " + (length - this.pos) + " but needed " + len + " bytes") ;
+		}
+	}
+	
+	/**
+	 * Creates a stream over len bytes of the same buffer starting at given position, position is absolute as returned by {@link #getPosition()}
+	 * @param position
+	 * @param len
+	 * @return
+	 */
+	public BiFastStream slice(int position, int len) {
+		checkRange(position, len) ;
+		BiFastStream stream = new BiFastStream(buffer, position, len) ;
+		stream.setLengthAsInt(isLengthAsInt);
+		stream.setLengthAsVarint(isLengthAsVarint);
+		stream.setCompact(isCompact);
+		stream.setIndexed(isIndexed);
+		if (isTimeBase) {
+			stream.setTimeBase(timeBase);
+		}
+		stream.setStrings(strings);
+		return stream ;
+	}
+	
+	/**
+	 * Copies len bytes starting at given position to output stream without moving position
+	 * @param position
+	 * @param len
+	 * @param out
+	 */
+	public void copyTo(int position, int len, BoFastStream out) {
+		checkRange(position, len) ;
+		out.write(buffer, position, len);
+	}
+	
+	/**
+	 * Checks that len bytes starting at given position are within stream bounds
+	 * @param position
+	 * @param len
+	 */
+	private void checkRange(int position, int len) {
+		if (position < 0 || len < 0 || position + len > length) {
+			throw new RuntimeException("range " + position + ":" + len + " is out of stream bounds " + length) ;
+		}
+	}
+	
+	/**
+	 * Returns a standard input stream over remaining bytes without copying them
+	 * @return
+	 */
+	public InputStream asInputStream() {
+		return new ByteArrayInputStream(buffer, pos, length - pos) ;
+	}
+	
 	public Long[] readLongArray() {
 		int length = readLength() ;
 		Long[] longArray = new Long[length] ;
@@ -257,6 +567,15 @@ public class BiFastStream extends InputStream {
 		return longArray ;
 	}
 	
+	public Long[] readTimeArray() {
+		int length = readLength() ;
+		Long[] longArray = new Long[length] ;
+		for (int i = 0; i < length; i++) {
+			longArray[i] = readTime() ;
+		}
+		return longArray ;
+	}
+	
 	public Integer[] readIntArray() {
 		int length = readLength() ;
 		Integer[] intArray = new Integer[length] ;
@@ -293,6 +612,90 @@ public class BiFastStream extends InputStream {
 		return byteArray ;
 	}
 	
+	/**
+	 * Reads primitive long array in bulk through a byte buffer view, in compact mode values are read one by one
+	 * @return
+	 */
+	public long[] readPrimitiveLongArray() {
+		int length = readLength() ;
+		long[] longArray = new long[length] ;
+		if (isCompact) {
+			for (int i = 0; i < length; i++) {
+				longArray[i] = readLongValue() ;
+			}
+			return longArray ;
+		}
+		ByteBuffer.wrap(buffer, pos, checkAvailable(length * 8)).asLongBuffer().get(longArray) ;
+		pos += length * 8 ;
+		return longArray ;
+	}
+	
+	public long[] readPrimitiveTimeArray() {
+		if (isCompact) {
+			int length = readLength() ;
+			long[] longArray = new long[length] ;
+			for (int i = 0; i < length; i++) {
+				longArray[i] = readTimeValue() ;
+			}
+			return longArray ;
+		}
+		return readPrimitiveLongArray() ;
+	}
+	
+	/**
+	 * Reads primitive int array in bulk through a byte buffer view, in compact mode values are read one by one
+	 * @return
+	 */
+	public int[] readPrimitiveIntArray() {
+		int length = readLength() ;
+		int[] intArray = new int[length] ;
+		if (isCompact) {
+			for (int i = 0; i < length; i++) {
+				intArray[i] = readInt() ;
+			}
+			return intArray ;
+		}
+		ByteBuffer.wrap(buffer, pos, checkAvailable(length * 4)).asIntBuffer().get(intArray) ;
+		pos += length * 4 ;
+		return intArray ;
+	}
+	
+	/**
+	 * Reads primitive double array in bulk through a byte buffer view
+	 * @return
+	 */
+	public double[] readPrimitiveDoubleArray() {
+		int length = readLength() ;
+		double[] doubleArray = new double[length] ;
+		ByteBuffer.wrap(buffer, pos, checkAvailable(length * 8)).asDoubleBuffer().get(doubleArray) ;
+		pos += length * 8 ;
+		return doubleArray ;
+	}
+	
+	/**
+	 * Reads primitive float array in bulk through a byte buffer view
+	 * @return
+	 */
+	public float[] readPrimitiveFloatArray() {
+		int length = readLength() ;
+		float[] floatArray = new float[length] ;
+		ByteBuffer.wrap(buffer, pos, checkAvailable(length * 4)).asFloatBuffer().get(floatArray) ;
+		pos += length * 4 ;
+		return floatArray ;
+	}
+	
+	/**
+	 * Checks that stream has len more bytes
+	 * @param len
+	 * @return len
+	 */
+	private int checkAvailable(int len) {
+		if (this.pos + len > length) {
+			throw new RuntimeException("missing bytes left " + (length - this.pos) + " but needed " + len + " bytes") ;
+		}
+		return len ;
+	}
+	
 	public Boolean[] readBooleanArray() {
 		int length = readLength() ;
 		Boolean[] booleanArray = new Boolean[length] ;
@@ -348,19 +751,31 @@ public class BiFastStream extends InputStream {
 	}
 	
 	public void skipLength() {
-		skip(2) ;
+		readLength() ;
 	}
 	
 	public void skipLong() {
-		skip(8) ;
+		if (isCompact) {
+			readVarLong() ;
+		} else {
+			skip(8) ;
+		}
 	}
 	
 	public void skipInt() {
-		skip(4) ;
+		if (isCompact) {
+			readVarInt() ;
+		} else {
+			skip(4) ;
+		}
 	}
 	
 	public void skipShort() {
-		skip(2) ;
+		if (isCompact) {
+			readVarInt() ;
+		} else {
+			skip(2) ;
+		}
 	}
 
 	public void skipByte() {
@@ -375,13 +790,33 @@ public class BiFastStream extends InputStream {
 		skip(8) ;
 	}
 	
+	public void skipFloat() {
+		skip(4) ;
+	}
+	
+	public void skipTime() {
+		skipLong() ;
+	}
+	
 	public void skipAsciiString() {
 		int length = readLength() ;
+		if (strings != null) {
+			if ((length & 1) == 1) {
+				return ;
+			}
+			length = length >> 1 ;
+		}
 		skip(length) ;
 	}
 	
 	public void skipUtfString() {
 		int length = readLength() ;
+		if (strings != null) {
+			if ((length & 1) == 1) {
+				return ;
+			}
+			length = length >> 1 ;
+		}
 		skip(length) ;
 	}
 	
@@ -391,33 +826,53 @@ public class BiFastStream extends InputStream {
 	}
 	
 	public void skipLongArray() {
-		int length = readLength() ;
-		skip(length) ;
+		int size = readLength() ;
+		for (int i = 0; i < size; i++) {
+			skipLong() ;
+		}
 	}
 	
 	public void skipIntArray() {
-		int length = readLength() ;
-		skip(length) ;
+		int size = readLength() ;
+		for (int i = 0; i < size; i++) {
+			skipInt() ;
+		}
 	}
 	
 	public void skipByteArray() {
-		int length = readLength() ;
-		skip(length) ;
+		int size = readLength() ;
+		skip(size) ;
 	}
 	
 	public void skipBioBytes() {
-		int length = readLength() ;
+		int length = readIntLength() ;
 		skip(length) ;
 	}
 	
+	public void skipShortArray() {
+		int size = readLength() ;
+		for (int i = 0; i < size; i++) {
+			skipShort() ;
+		}
+	}
+	
+	public void skipFloatArray() {
+		int size = readLength() ;
+		skip(size * 4) ;
+	}
+	
+	public void skipTimeArray() {
+		skipLongArray() ;
+	}
+	
 	public void skipBooleanArray() {
-		int length = readLength() ;
-		skip(length) ;
+		int size = readLength() ;
+		skip(size) ;
 	}
 	
 	public void skipDoubleArray() {
-		int length = readLength() ;
-		skip(length) ;
+		int size = readLength() ;
+		skip(size * 8) ;
 	}
 	
 	public void skipAsciiStringArray() {
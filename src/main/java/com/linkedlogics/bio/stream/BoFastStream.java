@@ -4,12 +4,19 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map.Entry;
 
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.BioDictionary;
 import com.linkedlogics.bio.BioObject;
 import com.linkedlogics.bio.dictionary.BioObj;
 import com.linkedlogics.bio.dictionary.BioTag;
 import com.linkedlogics.bio.dictionary.BioType;
+import com.linkedlogics.bio.exception.ParserException;
 import com.linkedlogics.bio.utility.ByteUtility;
 import com.linkedlogics.bio.utility.ConversionUtility;
 
@@ -22,11 +29,37 @@ import com.linkedlogics.bio.utility.ConversionUtility;
  */
 
 public class BoFastStream extends OutputStream {
+	/**
+	 * Maximum number of bytes of an int varint
+	 */
+	private static final int MAX_VARINT_SIZE = 5 ;
+	
 	private byte[] buffer;
 	
 	private int pos;
 	private int length;
 	private boolean isLengthAsInt ;
+	private boolean isLengthAsVarint ;
+	private boolean isCompact ;
+	private boolean isIndexed ;
+	private long timeBase ;
+	private boolean isTimeBase ;
+	private boolean isStringTable ;
+	/**
+	 * Indexes of interned strings, strings seen only once are kept with {@link #SEEN_ONCE}
+	 */
+	private HashMap<String, Integer> stringIndexes ;
+	private ArrayList<String> strings ;
+	
+	/**
+	 * Longer strings are never interned since they are rarely repeated
+	 */
+	private static final int MAX_INTERNED_LENGTH = 128 ;
+	/**
+	 * Maximum number of interned strings so that references fit into short lengths
+	 */
+	private static final int MAX_INTERNED_COUNT = Short.MAX_VALUE >> 1 ;
+	private static final Integer SEEN_ONCE = -1 ;
 	
 	public BoFastStream() {
 		length = 256 ;
@@ -38,6 +71,20 @@ public class BoFastStream extends OutputStream {
 		buffer = new byte[length] ;
 	}
 	
+	/**
+	 * Creates a stream writing into given array starting from offset, positions are absolute in array same as in {@link BiFastStream}.
+	 * If more than len bytes are written stream moves to a new array, so {@link #getBuffer()} must be checked to find out whether 
+	 * bytes are in given array
+	 * @param data
+	 * @param offset
+	 * @param len
+	 */
+	public BoFastStream(byte[] data, int offset, int len) {
+		buffer = data ;
+		length = offset + len ;
+		pos = offset ;
+	}
+	
 	public boolean isLengthAsInt() {
 		return isLengthAsInt;
 	}
@@ -45,6 +92,94 @@ public class BoFastStream extends OutputStream {
 	public void setLengthAsInt(boolean isLengthAsInt) {
 		this.isLengthAsInt = isLengthAsInt;
 	}
+	
+	/**
+	 * Indicates whether lengths are written as varints which is preferred over int/short lengths
+	 * @return
+	 */
+	public boolean isLengthAsVarint() {
+		return isLengthAsVarint;
+	}
+
+	public void setLengthAsVarint(boolean isLengthAsVarint) {
+		this.isLengthAsVarint = isLengthAsVarint;
+	}
+	
+	/**
+	 * Indicates whether short, int, long values and tag codes are written as zigzag varints and time values as deltas from time base
+	 * @return
+	 */
+	public boolean isCompact() {
+		return isCompact;
+	}
+
+	public void setCompact(boolean isCompact) {
+		this.isCompact = isCompact;
+	}
+	
+	/**
+	 * Indicates whether bytes of typed bio objects end with an index of their tag offsets
+	 * @return
+	 */
+	public boolean isIndexed() {
+		return isIndexed;
+	}
+
+	public void setIndexed(boolean isIndexed) {
+		this.isIndexed = isIndexed;
+	}
+	
+	/**
+	 * Returns time base which is the first time value written in compact mode, 0 if there is none
+	 * @return
+	 */
+	public long getTimeBase() {
+		return timeBase;
+	}
+	
+	/**
+	 * Indicates whether time base is already set
+	 * @return
+	 */
+	public boolean isTimeBase() {
+		return isTimeBase;
+	}
+	
+	/**
+	 * Sets time base, in compact mode following time values are written as deltas from it
+	 * @param timeBase
+	 */
+	public void setTimeBase(long timeBase) {
+		this.timeBase = timeBase;
+		this.isTimeBase = true ;
+	}
+
+	/**
+	 * Indicates whether repeated string values are interned into a string table and written as references. First occurrence of a
+	 * string is written inline, it is interned only when it repeats, so unique strings don't grow payload. In this mode each string
+	 * starts with a length where odd values are references ((index &lt;&lt; 1) | 1) into {@link #getStrings()} and even values are 
+	 * lengths of inline strings (length &lt;&lt; 1)
+	 * @return
+	 */
+	public boolean isStringTable() {
+		return isStringTable;
+	}
+
+	public void setStringTable(boolean isStringTable) {
+		this.isStringTable = isStringTable;
+		if (isStringTable && strings == null) {
+			stringIndexes = new HashMap<String, Integer>() ;
+			strings = new ArrayList<String>() ;
+		}
+	}
+	
+	/**
+	 * Returns interned strings in order of their indexes, they must be written as a string table so that references can be resolved
+	 * @return
+	 */
+	public List<String> getStrings() {
+		return strings;
+	}
 
 	public byte[] getBytes() {
 		if (this.pos == this.length)
@@ -56,12 +191,190 @@ public class BoFastStream extends OutputStream {
 		}
 	}
 	
+	/**
+	 * Returns a copy of written bytes, unlike {@link #getBytes()} it never returns internal buffer so stream can be reused afterwards
+	 * @return
+	 */
+	public byte[] toByteArray() {
+		byte[] res = new byte[this.pos];
+		System.arraycopy(this.buffer, 0, res, 0, this.pos);
+		return res;
+	}
+	
 	public int getSize() {
 		return pos ;
 	}
 	
+	/**
+	 * Returns internal buffer, first {@link #getSize()} bytes are written ones. Bytes reserved by {@link #reserve(int)} can be written
+	 * into it directly. Buffer is replaced when stream grows
+	 * @return
+	 */
+	public byte[] getBuffer() {
+		return buffer ;
+	}
+	
+	/**
+	 * Returns size of allocated buffer
+	 * @return
+	 */
+	public int getCapacity() {
+		return length ;
+	}
+	
 	public void reset() {
 		pos = 0 ;
+		timeBase = 0 ;
+		isTimeBase = false ;
+		if (strings != null) {
+			stringIndexes.clear();
+			strings.clear();
+		}
+	}
+	
+	/**
+	 * Moves write position back, everything written after position is discarded
+	 * @param position
+	 */
+	public void rewind(int position) {
+		pos = position ;
+	}
+	
+	/**
+	 * Reserves bytes at current position to be patched later (e.g. lengths which are known only after content is written)
+	 * @param byteCount
+	 * @return position of reserved bytes
+	 */
+	public int reserve(int byteCount) {
+		checkBuffer(byteCount) ;
+		int position = this.pos ;
+		this.pos += byteCount ;
+		return position ;
+	}
+	
+	/**
+	 * Reserves bytes for a length written by {@link #writeLength(int)}. Length is not known yet, so for varint lengths maximum
+	 * width is reserved and bytes not needed are dropped by {@link #patchLength(int, int)}
+	 * @return position of reserved bytes
+	 */
+	public int reserveLength() {
+		if (isLengthAsVarint) {
+			return reserve(MAX_VARINT_SIZE) ;
+		}
+		return reserve(isLengthAsInt ? 4 : 2) ;
+	}
+	
+	/**
+	 * Reserves bytes for a length which doesn't exceed maxLength, for varint lengths only width of maxLength is reserved
+	 * @param maxLength
+	 * @return position of reserved bytes to be patched by {@link #patchLength(int, int, int)}
+	 */
+	public int reserveLength(int maxLength) {
+		if (isLengthAsVarint) {
+			return reserve(getVarIntSize(maxLength)) ;
+		}
+		return reserve(isLengthAsInt ? 4 : 2) ;
+	}
+	
+	/**
+	 * Writes byte value at reserved position
+	 * @param position
+	 * @param value
+	 */
+	public void patchByte(int position, int value) {
+		this.buffer[position] = (byte) value ;
+	}
+
+	/**
+	 * Writes short value at reserved position
+	 * @param position
+	 * @param value
+	 */
+	public void patchShort(int position, int value) {
+		ByteUtility.shortToBytes(this.buffer, position, (short) value) ;
+	}
+	
+	/**
+	 * Writes int value at reserved position
+	 * @param position
+	 * @param value
+	 */
+	public void patchInt(int position, int value) {
+		ByteUtility.intToBytes(this.buffer, position, value) ;
+	}
+	
+	/**
+	 * Writes length at position reserved by {@link #reserveLength()}
+	 * @param position
+	 * @param length
+	 */
+	public void patchLength(int position, int length) {
+		if (isLengthAsVarint) {
+			// content is compacted once to drop reserved bytes which length doesn't need
+			int unused = MAX_VARINT_SIZE - getVarIntSize(length) ;
+			if (unused > 0) {
+				int start = position + MAX_VARINT_SIZE ;
+				System.arraycopy(this.buffer, start, this.buffer, start - unused, this.pos - start);
+				this.pos -= unused ;
+			}
+			writeVarInt(this.buffer, position, length) ;
+		} else if (isLengthAsInt) {
+			patchInt(position, length) ;
+		} else {
+			if (length > Short.MAX_VALUE) {
+				throw new ParserException("length " + length + " doesn't fit into 2 bytes, varint lengths must be used") ;
+			}
+			patchShort(position, length) ;
+		}
+	}
+	
+	/**
+	 * Writes length at position reserved by {@link #reserveLength(int)}. Varint length is padded to reserved width, so content
+	 * written after it is never moved
+	 * @param position
+	 * @param length
+	 * @param maxLength same as passed to {@link #reserveLength(int)}
+	 */
+	public void patchLength(int position, int length, int maxLength) {
+		if (isLengthAsVarint) {
+			int size = getVarIntSize(maxLength) ;
+			if (getVarIntSize(length) > size) {
+				throw new ParserException("length " + length + " exceeds reserved max length " + maxLength) ;
+			}
+			for (int i = 1; i < size; i++) {
+				this.buffer[position++] = (byte) ((length & 0x7F) | 0x80) ;
+				length >>>= 7 ;
+			}
+			this.buffer[position] = (byte) length ;
+		} else {
+			patchLength(position, length) ;
+		}
+	}
+	
+	/**
+	 * Writes content to another stream without copying it to an intermediate array
+	 * @param out
+	 * @throws IOException
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(this.buffer, 0, this.pos) ;
+	}
+	
+	/**
+	 * Writes content to another fast stream without copying it to an intermediate array
+	 * @param out
+	 */
+	public void writeTo(BoFastStream out) {
+		out.write(this.buffer, 0, this.pos) ;
+	}
+	
+	/**
+	 * Writes content to byte buffer (heap or direct) in a single bulk put
+	 * @param out
+	 * @throws java.nio.BufferOverflowException if buffer doesn't have enough space
+	 */
+	public void writeTo(ByteBuffer out) {
+		out.put(this.buffer, 0, this.pos) ;
 	}
 	
 	private void checkBuffer(int byteCount) {
@@ -70,7 +383,7 @@ public class BoFastStream extends OutputStream {
 			if (newLength < this.pos + byteCount)
 				newLength = this.pos + byteCount + this.length;
 			byte[] newBuf = new byte[newLength];
-			System.arraycopy(this.buffer, 0, newBuf, 0, this.buffer.length);
+			System.arraycopy(this.buffer, 0, newBuf, 0, this.pos);
 			this.buffer = newBuf;
 			this.length = newLength;
 		}
@@ -95,23 +408,77 @@ public class BoFastStream extends OutputStream {
 	}
 
 	public void writeTag(BioTag tag) {
+		if (isCompact) {
+			writeVarInt(ByteUtility.zigzag(tag.getCode())) ;
+			return ;
+		}
 		checkBuffer(2) ;
 		ByteUtility.shortToBytes(this.buffer, this.pos, (short) tag.getCode()) ;
 		this.pos += 2 ;
 	}
 	
 	public void writeLength(int length) {
-		if (isLengthAsInt) {
+		if (isLengthAsVarint) {
+			writeVarInt(length) ;
+		} else if (isLengthAsInt) {
 			checkBuffer(4) ;
 			ByteUtility.intToBytes(this.buffer, this.pos, length) ;
 			this.pos += 4 ;
 		} else {
+			if (length > Short.MAX_VALUE) {
+				throw new ParserException("length " + length + " doesn't fit into 2 bytes, varint lengths must be used") ;
+			}
 			checkBuffer(2) ;
 			ByteUtility.shortToBytes(this.buffer, this.pos, (short) length) ;
 			this.pos += 2 ;
 		}
 	}
 	
+	/**
+	 * Writes non negative value in 7 bit groups, small values take a single byte
+	 * @param value
+	 */
+	public void writeVarInt(int value) {
+		checkBuffer(5) ;
+		this.pos = writeVarInt(this.buffer, this.pos, value) ;
+	}
+	
+	/**
+	 * Writes non negative long value in 7 bit groups
+	 * @param value
+	 */
+	public void writeVarLong(long value) {
+		checkBuffer(10) ;
+		while ((value & ~0x7FL) != 0) {
+			this.buffer[this.pos++] = (byte) ((value & 0x7F) | 0x80) ;
+			value >>>= 7 ;
+		}
+		this.buffer[this.pos++] = (byte) value ;
+	}
+	
+	private static int writeVarInt(byte[] buffer, int position, int value) {
+		while ((value & ~0x7F) != 0) {
+			buffer[position++] = (byte) ((value & 0x7F) | 0x80) ;
+			value >>>= 7 ;
+		}
+		buffer[position++] = (byte) value ;
+		return position ;
+	}
+	
+	/**
+	 * Returns number of bytes needed to write value as varint
+	 * @param value
+	 * @return
+	 */
+	public static int getVarIntSize(int value) {
+		int size = 1 ;
+		while ((value & ~0x7F) != 0) {
+			value >>>= 7 ;
+			size++ ;
+		}
+		return size ;
+	}
+	
 	public void writeIntLength(int length) {
 		checkBuffer(4) ;
 		ByteUtility.intToBytes(this.buffer, this.pos, length) ;
@@ -144,12 +511,20 @@ public class BoFastStream extends OutputStream {
 	}
 	
 	public void writeInt(int value) {
+		if (isCompact) {
+			writeVarInt(ByteUtility.zigzag(value)) ;
+			return ;
+		}
 		checkBuffer(4) ;
 		ByteUtility.intToBytes(this.buffer, this.pos, value) ;
 		this.pos+=4 ;
 	}
 	
 	public void writeShort(int value) {
+		if (isCompact) {
+			writeVarInt(ByteUtility.zigzag((short) value)) ;
+			return ;
+		}
 		checkBuffer(2) ;
 		ByteUtility.shortToBytes(this.buffer, this.pos, (short) value) ;
 		this.pos+=2 ;
@@ -167,11 +542,48 @@ public class BoFastStream extends OutputStream {
 	}
 	
 	public void writeLong(long value) {
+		if (isCompact) {
+			writeVarLong(ByteUtility.zigzag(value)) ;
+			return ;
+		}
 		checkBuffer(8) ;
 		ByteUtility.longToBytes(this.buffer, this.pos, value) ;
 		this.pos+=8 ;
 	}
 	
+	public void writeTime(BioTag tag, long value) {
+		writeTag(tag) ;
+		writeTime(value) ;
+	}
+	
+	/**
+	 * Writes time value, in compact mode it is written as a delta from time base which is set by first time value
+	 * @param value
+	 */
+	public void writeTime(long value) {
+		if (isCompact) {
+			if (!isTimeBase) {
+				timeBase = value ;
+				isTimeBase = true ;
+			}
+			writeLong(value - timeBase) ;
+			return ;
+		}
+		writeLong(value) ;
+	}
+	
+	public void writeTimeArray(BioTag tag, Long[] value) {
+		writeTag(tag) ;
+		writeTimeArray(value) ;
+	}
+	
+	public void writeTimeArray(Long[] value) {
+		writeLength(value.length) ;
+		for (int i = 0; i < value.length; i++) {
+			writeTime(value[i]) ;
+		}
+	}
+	
 	public void writeLongArray(BioTag tag, Long[] value) {
 		writeTag(tag) ;
 		writeLongArray(value) ;
@@ -249,6 +661,183 @@ public class BoFastStream extends OutputStream {
 		}
 	}
 	
+	public void writeLongArray(BioTag tag, long[] value) {
+		writeTag(tag) ;
+		writeLongArray(value) ;
+	}
+	
+	/**
+	 * Writes primitive long array in bulk through a byte buffer view, in compact mode values are written one by one
+	 * @param value
+	 */
+	public void writeLongArray(long[] value) {
+		writeLength(value.length) ;
+		if (isCompact) {
+			for (int i = 0; i < value.length; i++) {
+				writeLong(value[i]) ;
+			}
+			return ;
+		}
+		checkBuffer(value.length * 8) ;
+		ByteBuffer.wrap(this.buffer, this.pos, value.length * 8).asLongBuffer().put(value) ;
+		this.pos += value.length * 8 ;
+	}
+	
+	public void writeTimeArray(BioTag tag, long[] value) {
+		writeTag(tag) ;
+		writeTimeArray(value) ;
+	}
+	
+	public void writeTimeArray(long[] value) {
+		if (isCompact) {
+			writeLength(value.length) ;
+			for (int i = 0; i < value.length; i++) {
+				writeTime(value[i]) ;
+			}
+			return ;
+		}
+		writeLongArray(value) ;
+	}
+	
+	public void writeIntArray(BioTag tag, int[] value) {
+		writeTag(tag) ;
+		writeIntArray(value) ;
+	}
+	
+	/**
+	 * Writes primitive int array in bulk through a byte buffer view, in compact mode values are written one by one
+	 * @param value
+	 */
+	public void writeIntArray(int[] value) {
+		writeLength(value.length) ;
+		if (isCompact) {
+			for (int i = 0; i < value.length; i++) {
+				writeInt(value[i]) ;
+			}
+			return ;
+		}
+		checkBuffer(value.length * 4) ;
+		ByteBuffer.wrap(this.buffer, this.pos, value.length * 4).asIntBuffer().put(value) ;
+		this.pos += value.length * 4 ;
+	}
+	
+	public void writeDoubleArray(BioTag tag, double[] value) {
+		writeTag(tag) ;
+		writeDoubleArray(value) ;
+	}
+	
+	/**
+	 * Writes primitive double array in bulk through a byte buffer view
+	 * @param value
+	 */
+	public void writeDoubleArray(double[] value) {
+		writeLength(value.length) ;
+		checkBuffer(value.length * 8) ;
+		ByteBuffer.wrap(this.buffer, this.pos, value.length * 8).asDoubleBuffer().put(value) ;
+		this.pos += value.length * 8 ;
+	}
+	
+	public void writeFloatArray(BioTag tag, float[] value) {
+		writeTag(tag) ;
+		writeFloatArray(value) ;
+	}
+	
+	/**
+	 * Writes primitive float array in bulk through a byte buffer view
+	 * @param value
+	 */
+	public void writeFloatArray(float[] value) {
+		writeLength(value.length) ;
+		checkBuffer(value.length * 4) ;
+		ByteBuffer.wrap(this.buffer, this.pos, value.length * 4).asFloatBuffer().put(value) ;
+		this.pos += value.length * 4 ;
+	}
+	
+	/**
+	 * Writes list of numbers as long array without copying it into an array first
+	 * @param tag
+	 * @param value
+	 */
+	public void writeLongList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeLong(((Number) v).longValue()) ;
+		}
+	}
+	
+	public void writeTimeList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeTime(((Number) v).longValue()) ;
+		}
+	}
+	
+	public void writeIntList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeInt(((Number) v).intValue()) ;
+		}
+	}
+	
+	public void writeShortList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeShort(((Number) v).shortValue()) ;
+		}
+	}
+	
+	public void writeByteList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			write(((Number) v).byteValue()) ;
+		}
+	}
+	
+	public void writeDoubleList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeDouble(((Number) v).doubleValue()) ;
+		}
+	}
+	
+	public void writeFloatList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeFloat(((Number) v).floatValue()) ;
+		}
+	}
+	
+	public void writeBooleanList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeBoolean((Boolean) v) ;
+		}
+	}
+	
+	public void writeAsciiStringList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeAsciiString((String) v) ;
+		}
+	}
+	
+	public void writeUtfStringList(BioTag tag, List<?> value) {
+		writeTag(tag) ;
+		writeLength(value.size()) ;
+		for (Object v : value) {
+			writeUtfString((String) v) ;
+		}
+	}
+	
 	public void writeByteArray(byte[] value) {
 		writeIntLength(value.length) ;
 		for (int i = 0; i < value.length; i++) {
@@ -303,7 +892,14 @@ public class BoFastStream extends OutputStream {
 			writeLength(0) ;
 			return ;
 		}
-		writeLength(value.length()) ;
+		if (isStringTable) {
+			if (writeStringReference(value)) {
+				return ;
+			}
+			writeLength(value.length() << 1) ;
+		} else {
+			writeLength(value.length()) ;
+		}
 		checkBuffer(value.length()) ;
 		ByteUtility.asciiStringToBytes(value, buffer, pos) ;
 		pos+=value.length();
@@ -331,9 +927,49 @@ public class BoFastStream extends OutputStream {
 			writeLength(0) ;
 			return ;
 		}
-		byte[] bytes = ByteUtility.utfStringToBytes(value) ;
-		writeLength(bytes.length) ;
-		write(bytes) ;
+		if (isStringTable && writeStringReference(value)) {
+			return ;
+		}
+		if (isLengthAsVarint) {
+			// varint length width depends on size, so size is computed first not to move encoded string afterwards
+			int size = ByteUtility.getUtfSize(value) ;
+			writeLength(isStringTable ? size << 1 : size) ;
+			checkBuffer(size) ;
+			pos += ByteUtility.utfStringToBytes(value, buffer, pos) ;
+			return ;
+		}
+		// string is encoded directly into buffer and its length is patched afterwards
+		int position = reserveLength() ;
+		checkBuffer(value.length() * 3) ;
+		int size = ByteUtility.utfStringToBytes(value, buffer, pos) ;
+		pos+=size ;
+		patchLength(position, isStringTable ? size << 1 : size) ;
+	}
+	
+	/**
+	 * Writes reference of a repeated string, string is interned when it is seen second time
+	 * @param value
+	 * @return false if string is seen first time or can not be interned and must be written inline
+	 */
+	private boolean writeStringReference(String value) {
+		if (value.length() == 0 || value.length() > MAX_INTERNED_LENGTH) {
+			return false ;
+		}
+		Integer index = stringIndexes.get(value) ;
+		if (index == null) {
+			stringIndexes.put(value, SEEN_ONCE) ;
+			return false ;
+		}
+		if (index < 0) {
+			if (strings.size() >= MAX_INTERNED_COUNT) {
+				return false ;
+			}
+			index = strings.size() ;
+			stringIndexes.put(value, index) ;
+			strings.add(value) ;
+		}
+		writeLength((index << 1) | 1) ;
+		return true ;
 	}
 	
 	public void writeUtfStringArray(BioTag tag, String[] value) {
@@ -353,7 +989,29 @@ public class BoFastStream extends OutputStream {
 		writeObject(object) ;
 	}
 	
+	/**
+	 * Encodes object by codec registered for its class
+	 * @param codec
+	 * @param object
+	 */
+	private <T> void encode(BioCodec<T> codec, Object object) {
+		// codec is registered for object's class
+		@SuppressWarnings("unchecked")
+		T value = (T) object ;
+		codec.encode(value, this) ;
+	}
+	
 	public void writeObject(Object object) {
+		int code = object != null ? BioDictionary.getCodecCode(object.getClass()) : 0 ;
+		if (code > 0) {
+			// codec code is written in place of java serialization magic so both can be read back
+			int position = reserveLength() ;
+			int start = this.pos ;
+			patchShort(reserve(2), code) ;
+			encode(BioDictionary.getCodec(code), object) ;
+			patchLength(position, this.pos - start) ;
+			return ;
+		}
 		try {
 			ByteArrayOutputStream bytesOut = new ByteArrayOutputStream() ;
 			ObjectOutputStream out = new ObjectOutputStream(bytesOut) ;
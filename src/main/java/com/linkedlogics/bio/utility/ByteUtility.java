@@ -5,11 +5,11 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.io.UnsupportedEncodingException;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 /**
@@ -113,11 +113,82 @@ public class ByteUtility {
     }
 
     public static byte[] utfStringToBytes(String value) {
-        try {
-            return value.getBytes("utf-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes string as UTF-8 directly into given array without creating intermediate byte array.
+     * Array must have at least value.length() * 3 bytes available after offset. Unpaired surrogates are encoded as '?'
+     * same as {@link String#getBytes(java.nio.charset.Charset)}
+     * @param value
+     * @param result
+     * @param offset
+     * @return number of bytes written
+     */
+    public static int utfStringToBytes(String value, byte[] result, int offset) {
+        int position = offset;
+        int length = value.length();
+        int i = 0;
+        // ascii prefix is most common, so it is handled without any branching on multi byte chars
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            result[position++] = (byte) c;
+            i++;
+        }
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                result[position++] = (byte) c;
+            } else if (c < 0x800) {
+                result[position++] = (byte) (0xC0 | (c >> 6));
+                result[position++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    result[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    result[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    result[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    result[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else {
+                    result[position++] = (byte) '?';
+                }
+            } else {
+                result[position++] = (byte) (0xE0 | (c >> 12));
+                result[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                result[position++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return position - offset;
+    }
+
+    /**
+     * Returns number of bytes written by {@link #utfStringToBytes(String, byte[], int)}
+     * @param value
+     * @return
+     */
+    public static int getUtfSize(String value) {
+        int length = value.length();
+        int size = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                continue;
+            } else if (c < 0x800) {
+                size += 1;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    // pair of chars takes 4 bytes
+                    size += 2;
+                    i++;
+                }
+            } else {
+                size += 2;
+            }
         }
+        return size;
     }
 
     public static long bytesToLong(byte[] bytes) {
@@ -174,6 +245,25 @@ public class ByteUtility {
         return result;
     }
 
+    /**
+     * Maps signed value to unsigned so that small negative values also have small varint size (0, -1, 1, -2 ... to 0, 1, 2, 3 ...)
+     */
+    public static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    public static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
     public static double bytesToDouble(byte[] bytes) {
         long value = bytesToLong(bytes);
         return Double.longBitsToDouble(value);
@@ -195,35 +285,26 @@ public class ByteUtility {
     }
 
     public static String bytesToAsciiString(byte[] bytes) {
-        try {
-            return new String(bytes, "us-ascii");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
-        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
     }
 
+    /**
+     * Ascii bytes are decoded as ISO-8859-1 which is copied as is into compact string without any validation or replacement
+     * @param bytes
+     * @param offset
+     * @param length
+     * @return
+     */
     public static String bytesToAsciiString(byte[] bytes, int offset, int length) {
-        try {
-            return new String(bytes, offset, length, "us-ascii");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
-        }
+        return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
     }
 
     public static String bytesToUtfString(byte[] bytes) {
-        try {
-            return new String(bytes, "utf-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
-        }
+        return new String(bytes, StandardCharsets.UTF_8);
     }
 
     public static String bytesToUtfString(byte[] bytes, int offset, int length) {
-        try {
-            return new String(bytes, offset, length, "utf-8");
-        } catch (UnsupportedEncodingException e) {
-            throw new RuntimeException(e);
-        }
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
     }
 
     public static String bytesToHex(final byte[] data) {
@@ -62,6 +62,33 @@ public class ConversionUtility {
     	}
     }
 
+    /**
+     * Checks whether value is one of primitive arrays supported by bio objects (long[], int[], double[], float[])
+     * @param value
+     * @return
+     */
+    public static boolean isPrimitiveArray(Object value) {
+        return value instanceof long[] || value instanceof int[] || value instanceof double[] || value instanceof float[];
+    }
+
+    /**
+     * Checks whether string contains only ascii chars in a single pass without encoding it. Chars 0x80-0xFF are not ascii
+     * although String type is read back as ISO-8859-1, so such strings are typed as UtfString as getBytes() length check did with UTF-8 default charset
+     * @param value
+     * @return true for null values as well
+     */
+    public static boolean isAscii(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns bio type based on value
      * @param value
@@ -70,13 +97,11 @@ public class ConversionUtility {
     public static BioType getType(Object value) {
         if (value.getClass().isArray()) {
             if (value instanceof String[]) {
-            	if (((String[]) value).length > 0) {
-            		String[] array = (String[]) value ;
-            		for (int i = 0; i < array.length; i++) {
-            			if (((String[]) value)[i].length() != ((String[]) value)[i].getBytes().length) {
-                			return BioType.UtfString ;
-                		}
-					}
+            	String[] array = (String[]) value ;
+            	for (int i = 0; i < array.length; i++) {
+            		if (!isAscii(array[i])) {
+            			return BioType.UtfString ;
+            		}
             	}
                 return BioType.String;
             } else if (value instanceof Boolean[]) {
@@ -107,9 +132,13 @@ public class ConversionUtility {
             }
             value = list.get(0);
             if (value instanceof String) {
-            	if (((String) value).length() != ((String) value).getBytes().length) {
-        			return BioType.UtfString ;
-        		}
+            	// all elements are written with the same type, so a single non ascii element makes whole list utf
+            	for (int i = 0; i < list.size(); i++) {
+            		Object element = list.get(i) ;
+            		if (element instanceof String && !isAscii((String) element)) {
+            			return BioType.UtfString ;
+            		}
+            	}
                 return BioType.String;
             } else if (value instanceof Boolean) {
                 return BioType.Boolean;
@@ -134,7 +163,7 @@ public class ConversionUtility {
             }
         } else {
             if (value instanceof String) {
-            	if (((String) value).length() != ((String) value).getBytes().length) {
+            	if (!isAscii((String) value)) {
         			return BioType.UtfString ;
         		}
                 return BioType.String;
@@ -84,11 +84,9 @@ public class JSONUtility {
 		
 		for(Entry<String, Object> e : object.entries()) {
 			if (!e.getKey().startsWith("_")) {
-				if (obj != null) {
-					BioTag tag = obj.getTag(e.getKey());
-					if (tag != null && !tag.isExportable()) {
-						continue ;
-					}
+				BioTag tag = obj != null ? BioObject.getEntryTag(obj, e) : null ;
+				if (tag != null && !tag.isExportable()) {
+					continue ;
 				}
 
 				if (e.getValue() instanceof BioObject[]) {
@@ -126,7 +124,7 @@ public class JSONUtility {
 					json.put(e.getKey(), ((BioEnum) e.getValue()).getName());
 				} else if (e.getValue() instanceof BioExpression) {
 
-				} else if (obj != null && obj.getTag(e.getKey()) != null && obj.getTag(e.getKey()).getType() == BioType.Time) {
+				} else if (tag != null && tag.getType() == BioType.Time) {
 					json.put(e.getKey(), BioTime.format((Long) e.getValue(), BioTime.DATETIME_FORMAT));
 				} else {
 					json.put(e.getKey(), e.getValue());
@@ -170,7 +170,7 @@ public class POJOUtility {
 		BioObj obj = BioDictionary.getDictionary().getObjByCode(object.getBioCode()) ;
 		if (obj != null) {
 			try {
-				Object pojo = obj.getBioClass().getConstructor().newInstance() ;
+				Object pojo = obj.newInstance() ;
 				for(Entry<String, Object> e : object.entries()) {
 					BioTag tag = obj.getTag(e.getKey()) ;
 					if (tag != null) {
@@ -179,8 +179,7 @@ public class XMLUtility {
 			.append(value).append("</")
 			.append(key).append(">\n");
 		} else if (type == BioType.String || type == BioType.UtfString) {
-			int bytes = value.toString().getBytes().length;
-			if (xmlForbiddenChars.matcher(value.toString()).find() || bytes > value.toString().length() || type == BioType.UtfString) {
+			if (type == BioType.UtfString || !ConversionUtility.isAscii(value.toString()) || xmlForbiddenChars.matcher(value.toString()).find()) {
 				xml.append(tab).append(TAB).append("<").append(key)
 				.append(" type=\"").append(type)
 				.append("\"><![CDATA[").append(value).append("]]></")
@@ -10,6 +10,8 @@ module com.linkedlogics.bio {
 	exports com.linkedlogics.bio.utility;
 	exports com.linkedlogics.bio.dictionary;
 	exports com.linkedlogics.bio.expression;
+	exports com.linkedlogics.bio.codec;
+	exports com.linkedlogics.bio.compression;
 	exports com.linkedlogics.bio.dictionary.builder to com.linkedlogics.bio.sql ;
 	exports com.linkedlogics.bio.stream to com.linkedlogics ;
 	
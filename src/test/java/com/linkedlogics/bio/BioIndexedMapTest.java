@@ -0,0 +1,202 @@
+package com.linkedlogics.bio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioIndexedMapTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	private static BioIndexedMap carMap() {
+		return new BioIndexedMap(BioDictionary.getDictionary().getObjByCode(1)) ;
+	}
+
+	/**
+	 * Map with two slot keys, a primitive slot and two overflow keys
+	 * @return
+	 */
+	private static BioIndexedMap mixedMap() {
+		BioIndexedMap map = carMap() ;
+		map.put(Car.PRODUCER, "BMW") ;
+		map.put(Car.PRICE, 1.5) ;
+		map.putPrimitiveLong(map.getSlot(Car.YEAR), 2020) ;
+		map.put("custom1", "x") ;
+		map.put("custom2", 2) ;
+		return map ;
+	}
+
+	private static Map<String, Object> expectedMixed() {
+		HashMap<String, Object> expected = new HashMap<String, Object>() ;
+		expected.put(Car.PRODUCER, "BMW") ;
+		expected.put(Car.PRICE, 1.5) ;
+		expected.put(Car.YEAR, 2020) ;
+		expected.put("custom1", "x") ;
+		expected.put("custom2", 2) ;
+		return expected ;
+	}
+
+	@Test
+	public void testSlotAndOverflowKeys() {
+		BioIndexedMap map = mixedMap() ;
+		assertTrue(map.getSlot(Car.PRODUCER) >= 0);
+		assertTrue(map.getSlot(Car.YEAR) >= 0);
+		assertEquals(-1, map.getSlot("custom1"));
+		assertTrue(map.isPrimitive(map.getSlot(Car.YEAR)));
+		assertFalse(map.isPrimitive(map.getSlot(Car.PRODUCER)));
+
+		assertEquals(5, map.size());
+		assertEquals(expectedMixed(), map);
+		assertEquals(map, expectedMixed());
+		assertEquals(Integer.valueOf(2020), map.get(Car.YEAR));
+		assertTrue(map.containsKey("custom2"));
+		assertTrue(map.containsKey(Car.PRICE));
+		assertFalse(map.containsKey(Car.SOLD));
+		assertFalse(map.containsKey("custom3"));
+		assertNull(map.get(Car.SOLD));
+		assertNull(map.get("custom3"));
+
+		assertEquals(Integer.valueOf(2020), map.put(Car.YEAR, 2021));
+		assertFalse(map.isPrimitive(map.getSlot(Car.YEAR)));
+		assertEquals("x", map.put("custom1", "y"));
+		assertEquals(5, map.size());
+	}
+
+	@Test
+	public void testNullRemoves() {
+		BioIndexedMap map = mixedMap() ;
+		assertEquals("BMW", map.put(Car.PRODUCER, null));
+		assertEquals(Integer.valueOf(2020), map.put(Car.YEAR, null));
+		assertEquals("x", map.put("custom1", null));
+		assertNull(map.put(Car.SOLD, null));
+		assertNull(map.put("custom3", null));
+		assertFalse(map.containsKey(Car.PRODUCER));
+		assertFalse(map.containsKey(Car.YEAR));
+		assertFalse(map.containsKey("custom1"));
+		assertFalse(map.containsKey("custom3"));
+		assertEquals(2, map.size());
+
+		assertEquals(1.5, map.remove(Car.PRICE));
+		assertEquals(2, map.remove("custom2"));
+		assertNull(map.remove(Car.PRICE));
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testSizeAndClear() {
+		BioIndexedMap map = mixedMap() ;
+		map.putPrimitiveLong(map.getSlot(Car.YEAR), 2022) ;
+		map.put(Car.PRODUCER, "Audi") ;
+		map.put("custom2", 3) ;
+		assertEquals(5, map.size());
+		assertEquals(5, map.entrySet().size());
+
+		map.clear();
+		assertEquals(0, map.size());
+		assertTrue(map.isEmpty());
+		assertFalse(map.entrySet().iterator().hasNext());
+		assertNull(map.get(Car.YEAR));
+		assertNull(map.get("custom1"));
+
+		map.putPrimitiveLong(map.getSlot(Car.YEAR), 2023) ;
+		map.put("custom1", "z") ;
+		assertEquals(2, map.size());
+		assertEquals(Integer.valueOf(2023), map.get(Car.YEAR));
+		map.entrySet().clear();
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testIteratorRemoveAcrossBoundary() {
+		BioIndexedMap map = mixedMap() ;
+		List<String> keys = new ArrayList<String>() ;
+		Iterator<Entry<String, Object>> iterator = map.entrySet().iterator() ;
+		while (iterator.hasNext()) {
+			keys.add(iterator.next().getKey()) ;
+		}
+		// slots come first in slot order, then overflow keys
+		assertEquals(5, keys.size());
+		assertTrue(keys.subList(3, 5).containsAll(Arrays.asList("custom1", "custom2")));
+		String lastSlot = keys.get(2) ;
+		String firstOverflow = keys.get(3) ;
+
+		Map<String, Object> expected = expectedMixed() ;
+		iterator = map.entrySet().iterator() ;
+		while (iterator.hasNext()) {
+			String key = iterator.next().getKey() ;
+			if (key.equals(lastSlot) || key.equals(firstOverflow)) {
+				iterator.remove();
+				expected.remove(key) ;
+			}
+		}
+		assertEquals(3, map.size());
+		assertEquals(expected, map);
+
+		iterator = map.entrySet().iterator() ;
+		while (iterator.hasNext()) {
+			iterator.next() ;
+			iterator.remove();
+		}
+		assertTrue(map.isEmpty());
+	}
+
+	@Test
+	public void testIteratorRemoveWithoutNext() {
+		Iterator<Entry<String, Object>> iterator = mixedMap().entrySet().iterator() ;
+		try {
+			iterator.remove();
+			fail("remove before next must fail") ;
+		} catch (IllegalStateException e) {
+			// expected
+		}
+		iterator.next() ;
+		iterator.remove();
+		try {
+			iterator.remove();
+			fail("second remove must fail") ;
+		} catch (IllegalStateException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testSlotEntrySetValue() {
+		BioIndexedMap map = mixedMap() ;
+		for (Entry<String, Object> entry : map.entrySet()) {
+			if (entry.getKey().equals(Car.YEAR)) {
+				assertEquals(Integer.valueOf(2020), entry.setValue(1999));
+				assertEquals(1999, entry.getValue());
+			} else if (entry.getKey().equals("custom2")) {
+				assertEquals(2, entry.setValue(4));
+			}
+		}
+		assertEquals(1999, map.get(Car.YEAR));
+		assertEquals(4, map.get("custom2"));
+
+		for (Entry<String, Object> entry : map.entrySet()) {
+			if (entry.getKey().equals(Car.PRODUCER)) {
+				assertEquals("BMW", entry.setValue(null));
+			}
+		}
+		assertFalse(map.containsKey(Car.PRODUCER));
+		assertEquals(4, map.size());
+	}
+}
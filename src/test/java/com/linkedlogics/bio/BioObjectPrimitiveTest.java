@@ -0,0 +1,125 @@
+package com.linkedlogics.bio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.Consumer;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioObjectPrimitiveTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	@After
+	public void tearDown() {
+		// indexed storage is a global setting so other tests must see it disabled
+		new BioDictionaryBuilder().setIndexedStorage(false) ;
+	}
+
+	private static Car indexedCar() {
+		new BioDictionaryBuilder().setIndexedStorage(true) ;
+		Car car = new Car() ;
+		assertTrue(car.getMap() instanceof BioIndexedMap);
+		return car ;
+	}
+
+	private static Car mapCar() {
+		new BioDictionaryBuilder().setIndexedStorage(false) ;
+		Car car = new Car() ;
+		assertFalse(car.getMap() instanceof BioIndexedMap);
+		return car ;
+	}
+
+	/**
+	 * Applies same setters to objects with indexed and map storage and asserts that values read back are same with same types
+	 * @param setter
+	 * @param key
+	 */
+	private static void assertSame(Consumer<Car> setter, String key) {
+		Car indexed = indexedCar() ;
+		Car map = mapCar() ;
+		setter.accept(indexed);
+		setter.accept(map);
+		Object expected = map.get(key) ;
+		Object actual = indexed.get(key) ;
+		assertEquals(expected, actual);
+		assertEquals(expected.getClass(), actual.getClass());
+		assertEquals(map.getLongValue(key), indexed.getLongValue(key));
+		assertEquals(map.getDoubleValue(key), indexed.getDoubleValue(key), 0.0);
+		assertEquals(map, indexed);
+	}
+
+	@Test
+	public void testMatchingTypes() {
+		assertSame(car -> car.putInt(Car.YEAR, 2020), Car.YEAR) ;
+		assertSame(car -> car.putLong(Car.SOLD, 1600000000000L), Car.SOLD) ;
+		assertSame(car -> car.putTime(Car.SOLD, 1600000000000L), Car.SOLD) ;
+		assertSame(car -> car.putDouble(Car.PRICE, 2.75), Car.PRICE) ;
+
+		Car car = indexedCar() ;
+		car.putInt(Car.YEAR, 2020) ;
+		car.putLong(Car.SOLD, 1600000000000L) ;
+		car.putDouble(Car.PRICE, -2.75) ;
+		BioIndexedMap map = (BioIndexedMap) car.getMap() ;
+		assertTrue(map.isPrimitive(map.getSlot(Car.YEAR)));
+		assertTrue(map.isPrimitive(map.getSlot(Car.SOLD)));
+		assertTrue(map.isPrimitive(map.getSlot(Car.PRICE)));
+		assertEquals(2020, car.getIntValue(Car.YEAR));
+		assertEquals(1600000000000L, car.getTimeValue(Car.SOLD));
+		assertEquals(-2.75, car.getDoubleValue(Car.PRICE), 0.0);
+		assertEquals(Integer.valueOf(2020), car.get(Car.YEAR));
+		assertEquals(Long.valueOf(1600000000000L), car.get(Car.SOLD));
+		assertEquals(Double.valueOf(-2.75), car.get(Car.PRICE));
+	}
+
+	@Test
+	public void testMismatchedTypes() {
+		// setter type differs from tag type, value goes through put and is kept as is
+		assertSame(car -> car.putLong(Car.YEAR, 2020L), Car.YEAR) ;
+		assertSame(car -> car.putDouble(Car.YEAR, 2020.5), Car.YEAR) ;
+		assertSame(car -> car.putInt(Car.SOLD, 16), Car.SOLD) ;
+		assertSame(car -> car.putInt(Car.PRICE, 3), Car.PRICE) ;
+		assertSame(car -> car.putLong(Car.PRICE, 3L), Car.PRICE) ;
+		assertSame(car -> car.putFloat(Car.PRICE, 1.5f), Car.PRICE) ;
+
+		Car car = indexedCar() ;
+		car.putLong(Car.YEAR, 2020L) ;
+		car.putDouble(Car.SOLD, 1.5) ;
+		car.putBoolean(Car.PRICE, true) ;
+		BioIndexedMap map = (BioIndexedMap) car.getMap() ;
+		assertFalse(map.isPrimitive(map.getSlot(Car.YEAR)));
+		assertFalse(map.isPrimitive(map.getSlot(Car.SOLD)));
+		assertFalse(map.isPrimitive(map.getSlot(Car.PRICE)));
+		assertEquals(Long.valueOf(2020L), car.get(Car.YEAR));
+		assertEquals(Double.valueOf(1.5), car.get(Car.SOLD));
+		assertEquals(Boolean.TRUE, car.get(Car.PRICE));
+	}
+
+	@Test
+	public void testOverwriteAndRemove() {
+		Car car = indexedCar() ;
+		car.putLong(Car.SOLD, 1L) ;
+		car.putLong(Car.SOLD, 2L) ;
+		car.put(Car.SOLD, 3L) ;
+		assertEquals(Long.valueOf(3L), car.get(Car.SOLD));
+		car.putLong(Car.SOLD, 4L) ;
+		assertEquals(1, car.getMap().size());
+		assertEquals(Long.valueOf(4L), car.remove(Car.SOLD));
+		assertEquals(0, car.getMap().size());
+
+		car.putInt(Car.YEAR, 2020) ;
+		assertEquals(Integer.valueOf(2020), car.remove(Car.YEAR));
+		assertFalse(car.has(Car.YEAR));
+		assertEquals(0, car.getIntValue(Car.YEAR));
+		assertEquals(0, car.getMap().size());
+	}
+}
@@ -0,0 +1,176 @@
+package com.linkedlogics.bio;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map.Entry;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.dictionary.BioObj;
+import com.linkedlogics.bio.dictionary.BioTagKey;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioTagKeyTest {
+	private static final BioTagKey YEAR = BioTagKey.of(Car.class, Car.YEAR) ;
+	private static final BioTagKey PRODUCER = BioTagKey.of(Car.class, Car.PRODUCER) ;
+	private static final BioTagKey PRICE = BioTagKey.of(Car.class, Car.PRICE) ;
+	private static final BioTagKey SOLD = BioTagKey.of(Car.class, Car.SOLD) ;
+
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	@After
+	public void tearDown() {
+		// indexed storage is a global setting so other tests must see it disabled
+		new BioDictionaryBuilder().setIndexedStorage(false) ;
+	}
+
+	private static Car car(boolean isIndexed) {
+		new BioDictionaryBuilder().setIndexedStorage(isIndexed) ;
+		Car car = new Car() ;
+		assertEquals(isIndexed, car.getMap() instanceof BioIndexedMap);
+		return car ;
+	}
+
+	/**
+	 * Puts, reads and removes values through keys and checks them through names
+	 * @param car
+	 */
+	private static void assertKeys(Car car) {
+		assertFalse(car.has(YEAR));
+		assertNull(car.get(YEAR));
+
+		car.put(PRODUCER, "BMW") ;
+		car.putInt(YEAR, 2020) ;
+		car.putDouble(PRICE, 1.5) ;
+		car.putLong(SOLD, 1600000000000L) ;
+		assertTrue(car.has(PRODUCER));
+		assertTrue(car.has(Car.YEAR));
+		assertEquals("BMW", car.get(Car.PRODUCER));
+		assertEquals("BMW", car.get(PRODUCER));
+		assertEquals(Integer.valueOf(2020), car.get(YEAR));
+		assertEquals(Integer.valueOf(2020), car.get(Car.YEAR));
+		assertEquals(2020, car.getIntValue(YEAR));
+		assertEquals(1.5, car.getDoubleValue(PRICE), 0.0);
+		assertEquals(Double.valueOf(1.5), car.get(Car.PRICE));
+		assertEquals(1600000000000L, car.getLongValue(SOLD));
+		assertEquals(Long.valueOf(1600000000000L), car.get(Car.SOLD));
+		assertEquals(4, car.getMap().size());
+
+		car.put(Car.YEAR, 2021) ;
+		assertEquals(2021, car.getIntValue(YEAR));
+
+		assertEquals("BMW", car.remove(PRODUCER));
+		assertEquals(Integer.valueOf(2021), car.remove(YEAR));
+		assertNull(car.remove(YEAR));
+		assertFalse(car.has(PRODUCER));
+		assertFalse(car.has(Car.YEAR));
+		assertEquals(0, car.getIntValue(YEAR));
+		assertEquals(2, car.getMap().size());
+	}
+
+	@Test
+	public void testIndexedStorage() {
+		assertKeys(car(true)) ;
+	}
+
+	@Test
+	public void testMapStorage() {
+		assertKeys(car(false)) ;
+	}
+
+	@Test
+	public void testMismatchedType() {
+		// setter type differs from tag type, so value is put by name as is
+		Car car = car(true) ;
+		car.putLong(YEAR, 2020L) ;
+		car.putInt(SOLD, 16) ;
+		assertEquals(Long.valueOf(2020L), car.get(YEAR));
+		assertEquals(Integer.valueOf(16), car.get(SOLD));
+		assertFalse(((BioIndexedMap) car.getMap()).isPrimitive(YEAR.getSlot()));
+		assertEquals(2020, car.getIntValue(YEAR));
+	}
+
+	@Test
+	public void testKeyOfOtherClass() {
+		new BioDictionaryBuilder().setIndexedStorage(true) ;
+		Engine engine = new Engine() ;
+		BioIndexedMap map = (BioIndexedMap) engine.getMap() ;
+		assertFalse(map.isLayout(YEAR.getSlotTags()));
+
+		// car key must not write into engine's slot with same index
+		engine.putInt(YEAR, 2020) ;
+		engine.put(PRODUCER, "BMW") ;
+		assertEquals(2, engine.getMap().size());
+		for (int slot = 0; slot < BioDictionary.findObj(Engine.class).getSlotTags().length; slot++) {
+			assertFalse(map.hasSlotValue(slot));
+		}
+		assertTrue(engine.has(YEAR));
+		assertEquals(Integer.valueOf(2020), engine.get(Car.YEAR));
+		assertEquals(2020, engine.getIntValue(YEAR));
+		assertEquals("BMW", engine.get(PRODUCER));
+
+		// tags of entries are not taken from car layout either
+		for (Entry<String, Object> e : engine.entries()) {
+			assertNull(BioObject.getEntryTag(BioDictionary.findObj(Engine.class), e));
+		}
+
+		assertEquals(Integer.valueOf(2020), engine.remove(YEAR));
+		assertEquals("BMW", engine.remove(PRODUCER));
+		assertTrue(engine.getMap().isEmpty());
+	}
+
+	@Test
+	public void testKeyBoundBeforeTablesRebuilt() {
+		BioObj obj = BioDictionary.getDictionary().getObjByCode(1) ;
+		BioTagKey stale = obj.getTagKey(Car.YEAR) ;
+		obj.buildTables();
+		BioTagKey fresh = obj.getTagKey(Car.YEAR) ;
+		assertNotSame(stale.getSlotTags(), fresh.getSlotTags());
+
+		Car car = car(true) ;
+		BioIndexedMap map = (BioIndexedMap) car.getMap() ;
+		assertFalse(map.isLayout(stale.getSlotTags()));
+		assertTrue(map.isLayout(fresh.getSlotTags()));
+
+		car.putInt(stale, 2020) ;
+		assertEquals(Integer.valueOf(2020), car.get(fresh));
+		assertEquals(2020, car.getIntValue(stale));
+		assertTrue(car.has(stale));
+		car.putInt(fresh, 2021) ;
+		assertTrue(map.isPrimitive(fresh.getSlot()));
+		assertEquals(2021, car.getIntValue(stale));
+		assertEquals(Integer.valueOf(2021), car.remove(stale));
+		assertFalse(car.has(fresh));
+	}
+
+	@Test
+	public void testEntryTags() {
+		Car car = car(true) ;
+		car.put(Car.PRODUCER, "BMW") ;
+		car.putInt(Car.YEAR, 2020) ;
+		car.put("custom", "x") ;
+		BioObj obj = BioDictionary.findObj(Car.class) ;
+		int count = 0 ;
+		for (Entry<String, Object> e : car.entries()) {
+			if (e.getKey().equals("custom")) {
+				assertNull(BioObject.getEntryTag(obj, e));
+			} else {
+				assertSame(obj.getTag(e.getKey()), BioObject.getEntryTag(obj, e));
+			}
+			count++ ;
+		}
+		assertEquals(3, count);
+	}
+}
@@ -0,0 +1,162 @@
+package com.linkedlogics.bio.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioCodec;
+import com.linkedlogics.bio.BioDictionaryBuilder;
+import com.linkedlogics.bio.exception.DictionaryException;
+import com.linkedlogics.bio.parser.BioObjectBinaryParser;
+import com.linkedlogics.bio.stream.BiFastStream;
+import com.linkedlogics.bio.stream.BoFastStream;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+import com.linkedlogics.bio.utility.ByteUtility;
+
+public class BioCodecTest {
+	private static final int SHAPE_CODE = 150 ;
+	
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+		new BioDictionaryBuilder().addCodec(SHAPE_CODE, Shape.class, new ShapeCodec()) ;
+	}
+	
+	/**
+	 * Encodes value in a JavaObject tag and decodes it back
+	 * @param value
+	 * @return
+	 */
+	private static Object roundtrip(Object value) {
+		Engine engine = TestData.engine(4, "I4") ;
+		engine.put(Engine.COUNTER, value) ;
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		Engine decoded = (Engine) parser.decode(parser.encode(engine)) ;
+		assertEquals(engine.get(Engine.NAME), decoded.get(Engine.NAME));
+		return decoded.get(Engine.COUNTER) ;
+	}
+	
+	/**
+	 * Returns code of codec value is written with, 0 for java serialization
+	 * @param value
+	 * @return
+	 */
+	private static int writtenCode(Object value) {
+		BoFastStream stream = new BoFastStream() ;
+		stream.writeObject(value);
+		byte[] bytes = stream.toByteArray() ;
+		// value follows 2 bytes length
+		if (bytes[2] == (byte) 0xAC && bytes[3] == (byte) 0xED) {
+			return 0 ;
+		}
+		return ByteUtility.bytesToShort(bytes, 2) ;
+	}
+	
+	@Test
+	public void testDefaultCodecs() throws Exception {
+		Object[] values = {new BigDecimal("-12345.678900"), BigDecimal.ZERO, new BigDecimal("1E+400"), UUID.randomUUID(), 
+				LocalDate.of(1970, 1, 1), LocalDate.of(-500, 12, 31), InetAddress.getByName("192.168.1.10"), InetAddress.getByName("::1")} ;
+		int[] codes = {BigDecimalCodec.CODE, BigDecimalCodec.CODE, BigDecimalCodec.CODE, UUIDCodec.CODE, LocalDateCodec.CODE, LocalDateCodec.CODE,
+				InetAddressCodec.CODE, InetAddressCodec.CODE} ;
+		for (int i = 0; i < values.length; i++) {
+			assertEquals(values[i].toString(), codes[i], writtenCode(values[i]));
+			assertEquals(values[i], roundtrip(values[i]));
+		}
+		// scale is kept
+		assertEquals(6, ((BigDecimal) roundtrip(new BigDecimal("-12345.678900"))).scale());
+	}
+	
+	@Test
+	public void testCustomCodec() {
+		// codec is registered for interface and value is a subclass of implementing class
+		Circle circle = new ColoredCircle(2.5, 7) ;
+		assertEquals(SHAPE_CODE, writtenCode(circle));
+		Object decoded = roundtrip(circle) ;
+		assertTrue(decoded instanceof Circle);
+		assertEquals(2.5, ((Circle) decoded).radius, 0.0);
+	}
+	
+	@Test
+	public void testJavaSerialization() {
+		Date date = new Date(1600000000000L) ;
+		assertEquals(0, writtenCode(date));
+		assertEquals(date, roundtrip(date));
+	}
+	
+	@Test
+	public void testSerializedBeforeCodecs() throws IOException {
+		// values were always java serialized before codecs existed, even if a codec is registered for them now
+		BigDecimal value = new BigDecimal("42.50") ;
+		ByteArrayOutputStream bytesOut = new ByteArrayOutputStream() ;
+		try (ObjectOutputStream out = new ObjectOutputStream(bytesOut)) {
+			out.writeObject(value);
+		}
+		byte[] serialized = bytesOut.toByteArray() ;
+		BoFastStream stream = new BoFastStream() ;
+		stream.writeLength(serialized.length);
+		stream.write(serialized);
+		stream.writeInt(7);
+		
+		BiFastStream in = new BiFastStream(stream.toByteArray()) ;
+		assertEquals(value, in.readObject());
+		assertEquals(7, in.readInt());
+	}
+	
+	@Test(expected = DictionaryException.class)
+	public void testReservedCode() {
+		new BioDictionaryBuilder().addCodec(BioDictionaryBuilder.MIN_CUSTOM_CODE - 1, Shape.class, new ShapeCodec()) ;
+	}
+	
+	@Test(expected = DictionaryException.class)
+	public void testDuplicateCode() {
+		new BioDictionaryBuilder().addCodec(SHAPE_CODE, Shape.class, new ShapeCodec()) ;
+	}
+	
+	interface Shape {
+		
+	}
+	
+	/**
+	 * Not serializable, so it can only be written by a codec
+	 */
+	static class Circle implements Shape {
+		final double radius ;
+		
+		Circle(double radius) {
+			this.radius = radius ;
+		}
+	}
+	
+	static class ColoredCircle extends Circle {
+		final int color ;
+		
+		ColoredCircle(double radius, int color) {
+			super(radius) ;
+			this.color = color ;
+		}
+	}
+	
+	static class ShapeCodec implements BioCodec<Shape> {
+		@Override
+		public void encode(Shape value, BoFastStream stream) {
+			stream.writeDouble(((Circle) value).radius);
+		}
+		
+		@Override
+		public Shape decode(BiFastStream stream, int length) {
+			return new Circle(stream.readDouble()) ;
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package com.linkedlogics.bio.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioCompressor;
+import com.linkedlogics.bio.stream.BoFastStream;
+
+public class BioCompressorTest {
+	private static final int OFFSET = 37 ;
+
+	/**
+	 * Compressor implementing only array methods, so default range and buffer methods are used
+	 */
+	private static class ReverseCompressor implements BioCompressor {
+		@Override
+		public byte[] compress(byte[] data) {
+			byte[] result = new byte[data.length] ;
+			for (int i = 0; i < data.length; i++) {
+				result[i] = data[data.length - 1 - i] ;
+			}
+			return result ;
+		}
+
+		@Override
+		public byte[] decompress(byte[] data, int originalLength) {
+			assertEquals(data.length, originalLength);
+			return compress(data) ;
+		}
+	}
+
+	private static BioCompressor[] compressors() {
+		return new BioCompressor[] {new BioLZ4Compressor(), new BioLZ4HighCompressor(), new BioDeflateCompressor(), new ReverseCompressor()} ;
+	}
+
+	/**
+	 * Returns compressible data, half of it is repeated text and half is random
+	 * @param length
+	 * @return
+	 */
+	private static byte[] data(int length) {
+		Random random = new Random(length) ;
+		byte[] data = new byte[length] ;
+		for (int i = 0; i < length; i++) {
+			data[i] = i % 2 == 0 ? (byte) ("bio object ".charAt(i / 2 % 11)) : (byte) random.nextInt(4) ;
+		}
+		return data ;
+	}
+
+	/**
+	 * Returns data surrounded by garbage bytes, data starts at {@link #OFFSET}
+	 * @param data
+	 * @return
+	 */
+	private static byte[] surround(byte[] data) {
+		byte[] result = new byte[OFFSET + data.length + 19] ;
+		Arrays.fill(result, (byte) 0x5A);
+		System.arraycopy(data, 0, result, OFFSET, data.length);
+		return result ;
+	}
+
+	@Test
+	public void testArrayRange() {
+		for (BioCompressor compressor : compressors()) {
+			for (int length : new int[] {0, 1, 100, 70000}) {
+				byte[] data = data(length) ;
+				BoFastStream out = new BoFastStream(16) ;
+				out.write(new byte[] {1, 2, 3});
+				int compressedLength = compressor.compress(surround(data), OFFSET, length, out) ;
+				byte[] bytes = out.toByteArray() ;
+				assertEquals(3 + compressedLength, bytes.length);
+				assertArrayEquals(new byte[] {1, 2, 3}, Arrays.copyOf(bytes, 3));
+
+				byte[] compressed = Arrays.copyOfRange(bytes, 3, bytes.length) ;
+				assertArrayEquals(data, compressor.decompress(compressed, length));
+				assertArrayEquals(data, compressor.decompress(surround(compressed), OFFSET, compressedLength, length));
+				assertArrayEquals(data, compressor.decompress(compressor.compress(data), length));
+			}
+		}
+	}
+
+	@Test
+	public void testByteBuffer() {
+		for (BioCompressor compressor : compressors()) {
+			for (boolean isDirect : new boolean[] {false, true}) {
+				byte[] data = data(5000) ;
+				ByteBuffer source = allocate(isDirect, OFFSET + data.length) ;
+				source.position(OFFSET) ;
+				source.put(data) ;
+				source.position(OFFSET) ;
+				ByteBuffer compressed = allocate(isDirect, OFFSET + data.length * 2) ;
+				compressed.position(OFFSET) ;
+				int compressedLength = compressor.compress(source, compressed) ;
+				assertEquals(source.limit(), source.position());
+				assertEquals(OFFSET + compressedLength, compressed.position());
+
+				compressed.flip() ;
+				compressed.position(OFFSET) ;
+				ByteBuffer decompressed = allocate(isDirect, OFFSET + data.length) ;
+				decompressed.position(OFFSET) ;
+				compressor.decompress(compressed, decompressed, data.length) ;
+				assertEquals(compressed.limit(), compressed.position());
+				assertEquals(decompressed.limit(), decompressed.position());
+
+				byte[] result = new byte[data.length] ;
+				decompressed.position(OFFSET) ;
+				decompressed.get(result) ;
+				assertArrayEquals(data, result);
+			}
+		}
+	}
+
+	private static ByteBuffer allocate(boolean isDirect, int capacity) {
+		return isDirect ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity) ;
+	}
+}
@@ -0,0 +1,102 @@
+package com.linkedlogics.bio.compression;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioDictionaryBuilder;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.parser.BioObjectBinaryParser;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioDictionaryTrainerTest {
+	private static final int DICTIONARY_CODE = 120 ;
+	private static final int STRING_TABLE_DICTIONARY_CODE = 121 ;
+
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	private static byte[] train(BioObjectBinaryParser parser) {
+		BioDictionaryTrainer trainer = new BioDictionaryTrainer(parser) ;
+		for (int i = 0; i < 50; i++) {
+			trainer.addSample(TestData.car(i)) ;
+		}
+		return trainer.train() ;
+	}
+
+	private static BioObjectBinaryParser deflateParser(int code, boolean isStringTable) {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setStringTable(isStringTable);
+		parser.setCompressed(true);
+		parser.setCompressionThreshold(0);
+		parser.setCompressorCode(code);
+		return parser ;
+	}
+
+	@Test
+	public void testPayloadIsEndOfMessage() {
+		for (boolean isStringTable : new boolean[] {false, true}) {
+			BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+			parser.setStringTable(isStringTable);
+			byte[] message = parser.encode(TestData.car(1), false) ;
+			byte[] payload = parser.encodePayload(TestData.car(1)) ;
+			assertTrue(payload.length < message.length);
+			assertArrayEquals(payload, Arrays.copyOfRange(message, message.length - payload.length, message.length));
+		}
+	}
+
+	@Test
+	public void testCompressorWithDictionary() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		byte[] dictionary = train(parser) ;
+		assertTrue(dictionary.length > 0);
+		assertTrue(dictionary.length <= BioDictionaryTrainer.MAX_DICTIONARY_SIZE);
+
+		BioDeflateCompressor trained = new BioDeflateCompressor(Deflater.DEFAULT_COMPRESSION, dictionary) ;
+		BioDeflateCompressor plain = new BioDeflateCompressor() ;
+		byte[] payload = parser.encodePayload(TestData.car(77)) ;
+		byte[] compressed = trained.compress(payload) ;
+		assertArrayEquals(payload, trained.decompress(compressed, payload.length));
+		assertTrue(compressed.length < plain.compress(payload).length);
+	}
+
+	@Test(expected=ParserException.class)
+	public void testDecompressWithoutDictionary() {
+		byte[] dictionary = train(new BioObjectBinaryParser()) ;
+		byte[] payload = new BioObjectBinaryParser().encodePayload(TestData.car(77)) ;
+		byte[] compressed = new BioDeflateCompressor(Deflater.DEFAULT_COMPRESSION, dictionary).compress(payload) ;
+		new BioDeflateCompressor().decompress(compressed, payload.length) ;
+	}
+
+	@Test
+	public void testRoundTrip() {
+		new BioDictionaryBuilder().addCompressionDictionary(DICTIONARY_CODE, train(new BioObjectBinaryParser()))
+			.addCompressionDictionary(STRING_TABLE_DICTIONARY_CODE, train(deflateParser(BioDeflateCompressor.CODE, true))) ;
+		for (boolean isStringTable : new boolean[] {false, true}) {
+			BioObjectBinaryParser parser = deflateParser(isStringTable ? STRING_TABLE_DICTIONARY_CODE : DICTIONARY_CODE, isStringTable) ;
+			BioObjectBinaryParser plain = deflateParser(BioDeflateCompressor.CODE, isStringTable) ;
+			for (int i = 100; i < 105; i++) {
+				Car car = TestData.car(i) ;
+				byte[] bytes = parser.encode(car) ;
+				assertEquals(car, parser.decode(bytes));
+				assertTrue(bytes.length < plain.encode(car).length);
+			}
+		}
+	}
+
+	@Test(expected=ParserException.class)
+	public void testEncryptedRejected() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setEncrypted(true);
+		new BioDictionaryTrainer(parser) ;
+	}
+}
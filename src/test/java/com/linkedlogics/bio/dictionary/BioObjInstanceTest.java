@@ -0,0 +1,94 @@
+package com.linkedlogics.bio.dictionary;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioDictionary;
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.exception.DictionaryException;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioObjInstanceTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	@Test
+	public void testNewInstance() {
+		BioObj obj = BioDictionary.getDictionary().getObjByCode(1) ;
+		Object first = obj.newInstance() ;
+		assertSame(Car.class, first.getClass());
+		
+		obj.buildTables();
+		Object second = obj.newInstance() ;
+		assertSame(Car.class, second.getClass());
+		assertNotSame(first, second);
+	}
+	
+	@Test
+	public void testChildClassLoader() throws Exception {
+		Class<?> bioClass = new ChildLoader(Car.class.getName()).loadClass(Car.class.getName()) ;
+		assertTrue(bioClass != Car.class);
+		
+		BioObj obj = new BioObj(0, 9101, "test_child_loader", "test_child_loader", 1) ;
+		obj.setBioClass(bioClass);
+		obj.buildTables();
+		BioObject instance = obj.newInstance() ;
+		assertSame(bioClass, instance.getClass());
+		assertEquals(bioClass, ((BioObject) obj.newInstance()).getClass());
+	}
+	
+	@Test(expected = DictionaryException.class)
+	public void testNoConstructor() {
+		BioObj obj = new BioObj(0, 9102, "test_no_constructor", "test_no_constructor", 1) ;
+		obj.setBioClass(NoConstructor.class);
+		obj.newInstance() ;
+	}
+	
+	public static class NoConstructor extends BioObject {
+		public NoConstructor(int code) {
+			super(code) ;
+		}
+	}
+	
+	/**
+	 * Defines given class itself instead of delegating to parent, so class is visible only from this loader
+	 */
+	private static class ChildLoader extends ClassLoader {
+		private final String className ;
+		
+		ChildLoader(String className) {
+			super(ChildLoader.class.getClassLoader()) ;
+			this.className = className ;
+		}
+		
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if (!name.equals(className)) {
+				return super.loadClass(name, resolve) ;
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> loaded = findLoadedClass(name) ;
+				if (loaded == null) {
+					try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+						byte[] bytes = in.readAllBytes() ;
+						loaded = defineClass(name, bytes, 0, bytes.length) ;
+					} catch (IOException e) {
+						throw new ClassNotFoundException(name, e) ;
+					}
+				}
+				return loaded ;
+			}
+		}
+	}
+}
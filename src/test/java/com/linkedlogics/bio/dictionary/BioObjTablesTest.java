@@ -0,0 +1,59 @@
+package com.linkedlogics.bio.dictionary;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioDictionary;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioObjTablesTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	@Test
+	public void testSuperTagsInTables() {
+		BioDictionary dictionary = BioDictionary.getDictionary() ;
+		BioObj obj = dictionary.getObjByCode(1) ;
+		assertTrue(obj.hasSlots());
+
+		BioTag superTag = new BioTag(-9999, "test_super_tag", BioType.String) ;
+		dictionary.addSuperTag(superTag);
+		try {
+			assertSame(superTag, obj.getTag("test_super_tag"));
+			assertSame(superTag, obj.getTag(-9999));
+		} finally {
+			dictionary.removeSuperTag(superTag);
+		}
+		assertNull(obj.getTag("test_super_tag"));
+		assertNull(obj.getTag(-9999));
+	}
+
+	@Test
+	public void testChildTablesRebuilt() {
+		BioObj parent = new BioObj(0, 9001, "test_parent", "test_parent", 1) ;
+		parent.addTag(new BioTag(1, "a", BioType.Integer));
+		BioObj child = new BioObj(0, 9002, "test_child", "test_child", 1) ;
+		child.addTag(new BioTag(2, "b", BioType.Integer));
+		child.setParent(parent);
+		parent.buildTables();
+
+		assertTrue(child.hasSlots());
+		assertSame(parent.getTag(1), child.getTag(1));
+
+		BioTag tag = new BioTag(3, "c", BioType.String) ;
+		parent.addTag(tag);
+		assertSame(tag, child.getTag(3));
+		assertSame(tag, child.getTag("c"));
+		assertTrue(child.getSlot("c") >= 0);
+
+		parent.removeTag(tag);
+		assertNull(child.getTag(3));
+		assertTrue(child.getSlot("c") < 0);
+	}
+}
@@ -0,0 +1,76 @@
+package com.linkedlogics.bio.encryption;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioEncrypter;
+
+public class BioEncrypterTest {
+	private static final int THREADS = 8 ;
+	private static final int ITERATIONS = 2000 ;
+
+	private static HashMap<String, Object> properties() {
+		HashMap<String, Object> properties = new HashMap<String, Object>() ;
+		properties.put("key", "0123456789abcdef") ;
+		return properties ;
+	}
+
+	private static BioEncrypter[] encrypters() {
+		AESEncrypter aes = new AESEncrypter() ;
+		aes.init(properties()) ;
+		RC4Encrypter rc4 = new RC4Encrypter() ;
+		rc4.init(properties()) ;
+		return new BioEncrypter[] {aes, rc4} ;
+	}
+
+	@Test
+	public void testRoundTrip() {
+		for (BioEncrypter encrypter : encrypters()) {
+			byte[] bytes = "bio object".getBytes(StandardCharsets.US_ASCII) ;
+			byte[] encrypted = encrypter.encrypt(bytes) ;
+			assertFalse(Arrays.equals(bytes, encrypted));
+			assertArrayEquals(bytes, encrypter.decrypt(encrypted));
+		}
+	}
+
+	@Test
+	public void testConcurrent() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS) ;
+		try {
+			for (BioEncrypter encrypter : encrypters()) {
+				List<Future<Integer>> results = new ArrayList<Future<Integer>>() ;
+				for (int t = 0; t < THREADS; t++) {
+					final int thread = t ;
+					results.add(executor.submit(new Callable<Integer>() {
+						@Override
+						public Integer call() {
+							for (int i = 0; i < ITERATIONS; i++) {
+								byte[] bytes = ("thread " + thread + " message " + i).getBytes(StandardCharsets.US_ASCII) ;
+								assertArrayEquals(bytes, encrypter.decrypt(encrypter.encrypt(bytes)));
+							}
+							return ITERATIONS ;
+						}
+					})) ;
+				}
+				for (Future<Integer> result : results) {
+					assertEquals(ITERATIONS, (int) result.get());
+				}
+			}
+		} finally {
+			executor.shutdownNow() ;
+		}
+	}
+}
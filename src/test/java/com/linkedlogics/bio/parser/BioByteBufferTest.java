@@ -0,0 +1,90 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioByteBufferTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	private static void assertRoundtrip(BioObjectBinaryParser parser, Object object, ByteBuffer buffer) {
+		byte[] bytes = parser.encode(object) ;
+		int position = buffer.position() ;
+		assertEquals(true, parser.encode(object, buffer));
+		assertEquals(position + bytes.length, buffer.position());
+		
+		ByteBuffer encoded = buffer.duplicate() ;
+		encoded.flip().position(position) ;
+		byte[] written = new byte[encoded.remaining()] ;
+		encoded.duplicate().get(written) ;
+		assertArrayEquals(bytes, written);
+		assertEquals(object, parser.decode(encoded));
+		assertEquals(encoded.limit(), encoded.position());
+	}
+	
+	@Test
+	public void testHeapBuffer() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		ByteBuffer buffer = ByteBuffer.allocate(4096) ;
+		buffer.position(7) ;
+		assertRoundtrip(parser, TestData.car(1), buffer);
+		assertRoundtrip(parser, TestData.car(2), buffer);
+	}
+	
+	@Test
+	public void testSlicedHeapBuffer() {
+		// array offset of sliced buffer is not 0
+		ByteBuffer buffer = ByteBuffer.wrap(new byte[4096], 100, 3000).slice() ;
+		buffer.position(3) ;
+		assertRoundtrip(new BioObjectBinaryParser(), TestData.cars(5), buffer);
+	}
+	
+	@Test
+	public void testDirectBuffer() {
+		ByteBuffer buffer = ByteBuffer.allocateDirect(4096) ;
+		buffer.position(11) ;
+		assertRoundtrip(new BioObjectBinaryParser(), TestData.car(3), buffer);
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompressedEncrypted() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setCompressed(true);
+		parser.setEncrypted(true);
+		List<Car> cars = TestData.cars(50) ;
+		ByteBuffer buffer = ByteBuffer.allocate(64 * 1024) ;
+		buffer.position(5) ;
+		assertRoundtrip(parser, cars, buffer);
+		
+		parser.setEncrypted(false);
+		assertRoundtrip(parser, cars, buffer);
+	}
+	
+	@Test
+	public void testOverflow() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.allocate(16), ByteBuffer.allocateDirect(16)}) {
+			buffer.position(2) ;
+			try {
+				parser.encode(TestData.car(1), buffer) ;
+				fail("buffer overflow is expected") ;
+			} catch (BufferOverflowException e) {
+				assertEquals(2, buffer.position());
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.Fuel;
+import com.linkedlogics.bio.test.TestData;
+import com.linkedlogics.bio.test.Trip;
+
+public class BioCompactTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	private static BioObjectBinaryParser compactParser() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setCompact(true);
+		return parser ;
+	}
+	
+	@Test
+	public void testRoundtrip() {
+		BioObjectBinaryParser parser = compactParser() ;
+		for (int i = 0; i < 5; i++) {
+			Trip trip = TestData.trip(i) ;
+			Trip decoded = (Trip) parser.decode(parser.encode(trip)) ;
+			assertEquals(trip, decoded);
+			assertEquals(-100 * i, (int) decoded.getInt(Trip.DELTA));
+			assertEquals((short) -i, decoded.get(Trip.GEAR));
+			assertEquals(-5000000000L * i, (long) decoded.getLong(Trip.DISTANCE));
+			assertSame(i % 2 == 0 ? Fuel.ELECTRIC : Fuel.DIESEL, decoded.get(Trip.FUEL));
+			assertEquals(1600000000000L + i, decoded.get(Trip.STARTED));
+			assertEquals(1600000000000L - i * 1000L, decoded.get(Trip.FINISHED));
+		}
+	}
+	
+	@Test
+	public void testExtremeValues() {
+		Trip trip = new Trip() ;
+		trip.put(Trip.DELTA, Integer.MIN_VALUE) ;
+		trip.put(Trip.DISTANCE, Long.MIN_VALUE) ;
+		trip.put(Trip.STARTED, Long.MAX_VALUE) ;
+		trip.put(Trip.FINISHED, 0L) ;
+		trip.put(Trip.STOPS, new Long[] {-1L, Long.MAX_VALUE, 1600000000000L}) ;
+		
+		BioObjectBinaryParser parser = compactParser() ;
+		Trip decoded = (Trip) parser.decode(parser.encode(trip)) ;
+		assertEquals(trip, decoded);
+		assertEquals(0L, decoded.get(Trip.FINISHED));
+	}
+	
+	@Test
+	public void testSmallerThanPlain() {
+		Trip trip = TestData.trip(1) ;
+		assertTrue(compactParser().encode(trip).length < new BioObjectBinaryParser().encode(trip).length);
+	}
+	
+	@Test
+	public void testTimeBaseOnlyWithTimeValues() {
+		BioObjectBinaryParser parser = compactParser() ;
+		Engine engine = TestData.engine(6, "V6") ;
+		byte[] bytes = parser.encode(engine) ;
+		// no extended flags, so there is no time base in header
+		assertTrue((bytes[0] & BioObjectBinaryParser.FLAG_EXTENDED) != BioObjectBinaryParser.FLAG_EXTENDED);
+		assertEquals(engine, parser.decode(bytes));
+		
+		bytes = parser.encode(TestData.trip(1)) ;
+		assertEquals(BioObjectBinaryParser.FLAG_EXTENDED, bytes[0] & BioObjectBinaryParser.FLAG_EXTENDED);
+		assertEquals(BioObjectBinaryParser.EXTENDED_FLAG_TIME_BASE, bytes[1] & BioObjectBinaryParser.EXTENDED_FLAG_TIME_BASE);
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testList() {
+		BioObjectBinaryParser parser = compactParser() ;
+		parser.setVarintLength(true);
+		List<Car> cars = TestData.cars(20) ;
+		assertEquals(cars, parser.decode(parser.encode(cars)));
+	}
+}
@@ -0,0 +1,119 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.compression.BioDeflateCompressor;
+import com.linkedlogics.bio.compression.BioLZ4HighCompressor;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioCompressionTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	/**
+	 * Returns parsers with all combinations of options which change header
+	 * @return
+	 */
+	private static BioObjectBinaryParser[] parsers() {
+		BioObjectBinaryParser[] parsers = new BioObjectBinaryParser[16] ;
+		for (int i = 0; i < parsers.length; i++) {
+			parsers[i] = new BioObjectBinaryParser() ;
+			parsers[i].setEncrypted((i & 1) > 0);
+			parsers[i].setStringTable((i & 2) > 0);
+			parsers[i].setIndexed((i & 4) > 0);
+			parsers[i].setCompact((i & 8) > 0);
+		}
+		return parsers ;
+	}
+	
+	/**
+	 * Engine with a random name which LZ4 can't compress
+	 * @return
+	 */
+	private static Engine incompressible() {
+		Random random = new Random(42) ;
+		StringBuilder name = new StringBuilder() ;
+		for (int i = 0; i < 2000; i++) {
+			name.append((char) ('!' + random.nextInt(90))) ;
+		}
+		return TestData.engine(8, name.toString()) ;
+	}
+	
+	/**
+	 * Asserts that object is written uncompressed with same bytes as parser without compression writes
+	 * @param parser
+	 * @param object
+	 */
+	private static void assertUncompressed(BioObjectBinaryParser parser, Object object) {
+		byte[] plain = parser.encode(object, false) ;
+		byte[] bytes = parser.encode(object, true) ;
+		assertEquals(0, bytes[0] & BioObjectBinaryParser.FLAG_COMPRESSED);
+		assertArrayEquals(plain, bytes);
+		assertEquals(object, parser.decode(bytes));
+	}
+	
+	@Test
+	public void testBelowThreshold() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			parser.setCompressionThreshold(100000);
+			assertUncompressed(parser, TestData.car(1));
+			parser.setCompressorCode(BioDeflateCompressor.CODE);
+			assertUncompressed(parser, TestData.cars(10));
+		}
+	}
+	
+	@Test
+	public void testIncompressible() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			assertUncompressed(parser, incompressible());
+		}
+	}
+	
+	@Test
+	public void testRatioNotReached() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			parser.setCompressionRatio(0.01);
+			parser.setCompressorCode(BioDeflateCompressor.CODE);
+			assertUncompressed(parser, TestData.car(1));
+			assertUncompressed(parser, TestData.cars(10));
+		}
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testCompressorCode() {
+		List<Car> cars = TestData.cars(50) ;
+		for (BioObjectBinaryParser parser : parsers()) {
+			for (int code : new int[] {0, BioDeflateCompressor.CODE, BioLZ4HighCompressor.CODE}) {
+				parser.setCompressorCode(code);
+				byte[] bytes = parser.encode(cars, true) ;
+				assertEquals(BioObjectBinaryParser.FLAG_COMPRESSED, bytes[0] & BioObjectBinaryParser.FLAG_COMPRESSED);
+				if (!parser.isEncrypted()) {
+					assertTrue(bytes.length < parser.encode(cars, false).length);
+				}
+				// decoder takes compressor from header, not from its own settings
+				assertEquals(cars, (List<Car>) parser.decode(bytes));
+				BioObjectBinaryParser decoder = new BioObjectBinaryParser() ;
+				assertEquals(cars, (List<Car>) decoder.decode(bytes));
+			}
+		}
+	}
+	
+	@Test(expected = ParserException.class)
+	public void testUnknownCompressorCode() {
+		new BioObjectBinaryParser().setCompressorCode(250);
+	}
+}
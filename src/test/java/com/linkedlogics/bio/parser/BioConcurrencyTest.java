@@ -0,0 +1,89 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioConcurrencyTest {
+	private static final int THREADS = 8 ;
+	private static final int ITERATIONS = 500 ;
+
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	/**
+	 * Encodes and decodes objects by a single parser from several threads at once, each thread checks its own results
+	 * @param parser
+	 * @throws Exception
+	 */
+	private static void assertConcurrent(BioObjectBinaryParser parser) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS) ;
+		try {
+			CountDownLatch start = new CountDownLatch(1) ;
+			List<Future<Integer>> results = new ArrayList<Future<Integer>>() ;
+			for (int t = 0; t < THREADS; t++) {
+				final int thread = t ;
+				results.add(executor.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() throws Exception {
+						start.await();
+						for (int i = 0; i < ITERATIONS; i++) {
+							Car car = TestData.car(thread * ITERATIONS + i) ;
+							assertEquals(car, parser.decode(parser.encode(car)));
+							List<Car> cars = TestData.cars(1 + i % 5) ;
+							assertEquals(cars, parser.decode(parser.encode(cars)));
+						}
+						return ITERATIONS ;
+					}
+				})) ;
+			}
+			start.countDown();
+			for (Future<Integer> result : results) {
+				assertEquals(ITERATIONS, (int) result.get());
+			}
+		} finally {
+			executor.shutdownNow() ;
+		}
+	}
+
+	@Test
+	public void testPlain() throws Exception {
+		assertConcurrent(new BioObjectBinaryParser()) ;
+	}
+
+	@Test
+	public void testEncryptedAndCompressed() throws Exception {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setEncrypted(true);
+		parser.setCompressed(true);
+		parser.setCompressionThreshold(0);
+		assertConcurrent(parser) ;
+	}
+
+	@Test
+	public void testAllOptions() throws Exception {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setEncrypted(true);
+		parser.setCompressed(true);
+		parser.setCompact(true);
+		parser.setStringTable(true);
+		parser.setIndexed(true);
+		assertConcurrent(parser) ;
+		parser.setLazy(true);
+		assertConcurrent(parser) ;
+	}
+}
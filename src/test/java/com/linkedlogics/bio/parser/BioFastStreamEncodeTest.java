@@ -0,0 +1,76 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.stream.BoFastStream;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioFastStreamEncodeTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	/**
+	 * Encodes cars one by one into the same stream with compact profile switched on and off, asserts that each message has same
+	 * bytes as {@link BioObjectBinaryParser#encode(Object)} returns and decodes back
+	 * @param stream
+	 */
+	private static void assertReused(BoFastStream stream) {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		List<byte[]> expected = new ArrayList<byte[]>() ;
+		List<Integer> positions = new ArrayList<Integer>() ;
+		for (int i = 0; i < 6; i++) {
+			parser.setCompact(i % 2 == 0);
+			Car car = TestData.car(i) ;
+			positions.add(stream.getSize()) ;
+			assertTrue(parser.encode(car, stream));
+			expected.add(parser.encode(car)) ;
+		}
+		positions.add(stream.getSize()) ;
+
+		byte[] bytes = stream.toByteArray() ;
+		for (int i = 0; i < expected.size(); i++) {
+			byte[] message = Arrays.copyOfRange(bytes, positions.get(i), positions.get(i + 1)) ;
+			assertArrayEquals(expected.get(i), message);
+			assertEquals(TestData.car(i), parser.decode(message));
+		}
+	}
+
+	@Test
+	public void testDefaultStream() {
+		assertReused(new BoFastStream()) ;
+	}
+
+	@Test
+	public void testStreamInOtherModes() {
+		BoFastStream stream = new BoFastStream() ;
+		stream.setCompact(true);
+		stream.setStringTable(true);
+		stream.setLengthAsInt(true);
+		assertReused(stream) ;
+		assertTrue(stream.isCompact());
+		assertTrue(stream.isStringTable());
+		assertTrue(stream.isLengthAsInt());
+		assertFalse(stream.isLengthAsVarint());
+
+		stream = new BoFastStream() ;
+		stream.setLengthAsVarint(true);
+		stream.setStringTable(true);
+		assertReused(stream) ;
+		assertTrue(stream.isLengthAsVarint());
+		assertTrue(stream.isStringTable());
+		assertFalse(stream.isCompact());
+	}
+}
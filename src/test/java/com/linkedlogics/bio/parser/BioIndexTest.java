@@ -0,0 +1,82 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioIndexTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	private static BioObjectBinaryParser indexedParser() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setIndexed(true);
+		return parser ;
+	}
+	
+	@Test
+	public void testIndexedRoundtrip() {
+		Car car = TestData.car(1) ;
+		BioObjectBinaryParser parser = indexedParser() ;
+		byte[] bytes = parser.encode(car) ;
+		
+		assertTrue(bytes.length > new BioObjectBinaryParser().encode(car).length);
+		assertEquals(car, parser.decode(bytes));
+		assertEquals(car, new BioObjectBinaryParser().decode(bytes));
+		parser.setLazy(true);
+		assertEquals(car, parser.decode(bytes));
+	}
+	
+	@Test
+	public void testIndexDisabledKeepsFormat() {
+		Car car = TestData.car(2) ;
+		BioObjectBinaryParser parser = indexedParser() ;
+		parser.setIndexed(false);
+		assertArrayEquals(new BioObjectBinaryParser().encode(car), parser.encode(car));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testIndexedList() {
+		List<Car> cars = TestData.cars(5) ;
+		List<Car> decoded = (List<Car>) indexedParser().decode(indexedParser().encode(cars)) ;
+		assertEquals(cars, decoded);
+	}
+	
+	@Test
+	public void testPeek() {
+		Car car = TestData.car(3) ;
+		BioObjectBinaryParser parser = indexedParser() ;
+		byte[] indexed = parser.encode(car) ;
+		byte[] plain = new BioObjectBinaryParser().encode(car) ;
+		
+		for (byte[] bytes : new byte[][] {indexed, plain}) {
+			assertEquals(2003, parser.peek(bytes, Car.YEAR));
+			assertEquals(4.5, (Double) parser.peek(bytes, Car.PRICE), 0.0);
+			assertEquals(car.get(Car.TAGS), parser.peek(bytes, Car.TAGS));
+			assertEquals("V6", parser.peek(bytes, Car.ENGINE + "." + Engine.NAME));
+			assertEquals(car.get(Car.ENGINE), parser.peek(bytes, Car.ENGINE));
+			assertNull(parser.peek(bytes, "missing"));
+			assertNull(parser.peek(bytes, Car.ENGINE + "." + Engine.COUNTER));
+		}
+	}
+	
+	@Test(expected = ParserException.class)
+	public void testPeekList() {
+		BioObjectBinaryParser parser = indexedParser() ;
+		parser.peek(parser.encode(TestData.cars(2)), Car.YEAR) ;
+	}
+}
@@ -0,0 +1,88 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioLazyDecodeTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	private static BioObjectBinaryParser lazyParser() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setLazy(true);
+		return parser ;
+	}
+	
+	@Test
+	public void testLazyRoundtrip() {
+		Car car = TestData.car(1) ;
+		byte[] bytes = new BioObjectBinaryParser().encode(car) ;
+		
+		Car decoded = (Car) lazyParser().decode(bytes) ;
+		assertTrue(decoded.isLazy());
+		assertEquals(car, decoded);
+		assertEquals(car, new BioObjectBinaryParser().decode(bytes));
+	}
+	
+	@Test
+	public void testSingleTagAccess() {
+		Car car = TestData.car(2) ;
+		Car decoded = (Car) lazyParser().decode(new BioObjectBinaryParser().encode(car)) ;
+		
+		assertEquals(2002, (int) decoded.getInt(Car.YEAR));
+		assertEquals("V6", ((Engine) decoded.get(Car.ENGINE)).getString(Engine.NAME));
+		assertTrue(decoded.has(Car.PRICE));
+		assertFalse(decoded.has("missing"));
+		assertEquals(car.size(), decoded.size());
+	}
+	
+	@Test
+	public void testModifiedLazyRoundtrip() {
+		Car car = TestData.car(3) ;
+		BioObjectBinaryParser parser = lazyParser() ;
+		Car decoded = (Car) parser.decode(parser.encode(car)) ;
+		decoded.put(Car.PRICE, 10.0);
+		decoded.remove(Car.TAGS);
+		
+		Car again = (Car) new BioObjectBinaryParser().decode(parser.encode(decoded)) ;
+		assertEquals(10.0, again.getDouble(Car.PRICE), 0.0);
+		assertFalse(again.has(Car.TAGS));
+		assertEquals(2003, (int) again.getInt(Car.YEAR));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLazyList() {
+		List<Car> cars = TestData.cars(10) ;
+		List<BioObject> decoded = (List<BioObject>) lazyParser().decode(new BioObjectBinaryParser().encode(cars)) ;
+		
+		assertEquals(cars.size(), decoded.size());
+		for (int i = 0; i < cars.size(); i++) {
+			assertTrue(decoded.get(i).isLazy());
+			assertEquals(cars.get(i), decoded.get(i));
+		}
+	}
+	
+	@Test
+	public void testLazyCompactVarint() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		parser.setCompact(true);
+		parser.setVarintLength(true);
+		Car car = TestData.car(4) ;
+		
+		assertEquals(car, parser.decode(parser.encode(car)));
+	}
+}
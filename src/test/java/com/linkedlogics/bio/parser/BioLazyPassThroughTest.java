@@ -0,0 +1,124 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioLazyPassThroughTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	private static BioObjectBinaryParser lazyParser() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setLazy(true);
+		return parser ;
+	}
+	
+	private static Car withoutTags(int i) {
+		// lists might be changed in place, so objects having them are never copied
+		Car car = TestData.car(i) ;
+		car.remove(Car.TAGS) ;
+		return car ;
+	}
+	
+	@Test
+	public void testUnmodifiedCopy() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		byte[] bytes = parser.encode(withoutTags(1)) ;
+		Car decoded = (Car) parser.decode(bytes) ;
+		assertNotNull(decoded.getLazySource());
+		assertArrayEquals(bytes, parser.encode(decoded));
+		
+		// reading values doesn't modify object
+		decoded.getInt(Car.YEAR) ;
+		((Engine) decoded.get(Car.ENGINE)).getString(Engine.NAME) ;
+		assertNotNull(decoded.getLazySource());
+		assertArrayEquals(bytes, parser.encode(decoded));
+	}
+	
+	@Test
+	public void testModifiedValue() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		Car decoded = (Car) parser.decode(parser.encode(withoutTags(2))) ;
+		decoded.put(Car.PRICE, 99.0) ;
+		assertNull(decoded.getLazySource());
+		
+		Car again = (Car) new BioObjectBinaryParser().decode(parser.encode(decoded)) ;
+		assertEquals(99.0, again.getDouble(Car.PRICE), 0.0);
+		assertEquals(2002, (int) again.getInt(Car.YEAR));
+		assertEquals("V6", ((Engine) again.get(Car.ENGINE)).getString(Engine.NAME));
+	}
+	
+	@Test
+	public void testModifiedNestedObject() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		Car decoded = (Car) parser.decode(parser.encode(withoutTags(3))) ;
+		((Engine) decoded.get(Car.ENGINE)).put(Engine.NAME, "V8") ;
+		assertNull(decoded.getLazySource());
+		
+		Car again = (Car) new BioObjectBinaryParser().decode(parser.encode(decoded)) ;
+		assertEquals("V8", ((Engine) again.get(Car.ENGINE)).getString(Engine.NAME));
+		assertEquals(2003, (int) again.getInt(Car.YEAR));
+	}
+	
+	@Test
+	public void testEntrySetValue() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		Engine decoded = (Engine) parser.decode(parser.encode(TestData.engine(6, "V6"))) ;
+		for (Entry<String, Object> e : decoded.entries()) {
+			if (e.getKey().equals(Engine.NAME)) {
+				e.setValue("W12") ;
+			}
+		}
+		assertNull(decoded.getLazySource());
+		assertEquals("W12", ((Engine) parser.decode(parser.encode(decoded))).getString(Engine.NAME));
+	}
+	
+	@Test
+	public void testEntriesIteratorRemove() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		Engine decoded = (Engine) parser.decode(parser.encode(TestData.engine(6, "V6"))) ;
+		Iterator<Entry<String, Object>> iterator = decoded.entries().iterator() ;
+		String removed = iterator.next().getKey() ;
+		iterator.remove();
+		assertNull(decoded.getLazySource());
+		assertFalse(((Engine) parser.decode(parser.encode(decoded))).has(removed));
+	}
+	
+	@Test
+	public void testKeysRemove() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		Engine decoded = (Engine) parser.decode(parser.encode(TestData.engine(6, "V6"))) ;
+		decoded.keys().remove(Engine.NAME) ;
+		assertNull(decoded.getLazySource());
+		assertFalse(((Engine) parser.decode(parser.encode(decoded))).has(Engine.NAME));
+	}
+	
+	@Test
+	public void testMutableNumber() {
+		BioObjectBinaryParser parser = lazyParser() ;
+		Engine engine = TestData.engine(6, "V6") ;
+		engine.put(Engine.COUNTER, new AtomicLong(5)) ;
+		Engine decoded = (Engine) parser.decode(parser.encode(engine)) ;
+		((AtomicLong) decoded.get(Engine.COUNTER)).incrementAndGet() ;
+		assertNull(decoded.getLazySource());
+		
+		Engine again = (Engine) new BioObjectBinaryParser().decode(parser.encode(decoded)) ;
+		assertEquals(6L, ((AtomicLong) again.get(Engine.COUNTER)).get());
+	}
+}
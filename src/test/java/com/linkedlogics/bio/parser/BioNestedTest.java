@@ -0,0 +1,154 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioNestedTest {
+	/**
+	 * Code which is not registered in dictionary
+	 */
+	private static final int UNKNOWN_CODE = 999 ;
+
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	private static List<BioObjectBinaryParser> parsers() {
+		List<BioObjectBinaryParser> parsers = new ArrayList<BioObjectBinaryParser>() ;
+		parsers.add(new BioObjectBinaryParser()) ;
+
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setVarintLength(true);
+		parsers.add(parser) ;
+
+		parser = new BioObjectBinaryParser() ;
+		parser.setCompact(true);
+		parser.setStringTable(true);
+		parser.setIndexed(true);
+		parsers.add(parser) ;
+
+		parser = new BioObjectBinaryParser() ;
+		parser.setLazy(true);
+		parsers.add(parser) ;
+		return parsers ;
+	}
+
+	private static String text(int length) {
+		StringBuilder builder = new StringBuilder(length) ;
+		for (int i = 0; i < length; i++) {
+			builder.append((char) ('a' + i % 26)) ;
+		}
+		return builder.toString() ;
+	}
+
+	@Test
+	public void testUnknownNestedObjectRolledBack() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			Car expected = TestData.car(1) ;
+			expected.remove(Car.ENGINE) ;
+			Car car = TestData.car(1) ;
+			car.put(Car.ENGINE, new BioObject(UNKNOWN_CODE)) ;
+
+			// tag info and reserved length of unknown object are dropped as if tag was never set
+			byte[] bytes = parser.encode(car) ;
+			assertArrayEquals(parser.encode(expected), bytes);
+			assertEquals(expected, parser.decode(bytes));
+		}
+	}
+
+	@Test
+	public void testUnknownObjectInListRolledBack() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			List<BioObject> list = new ArrayList<BioObject>(Arrays.asList(TestData.car(1), new BioObject(UNKNOWN_CODE), TestData.car(2))) ;
+			List<Car> expected = Arrays.asList(TestData.car(1), TestData.car(2)) ;
+			assertArrayEquals(parser.encode(expected), parser.encode(list));
+			assertEquals(expected, parser.decode(parser.encode(list)));
+		}
+	}
+
+	@Test
+	public void testUnknownNestedObjectValidated() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setValidated(true);
+		Car car = TestData.car(1) ;
+		car.put(Car.ENGINE, new BioObject(UNKNOWN_CODE)) ;
+		try {
+			parser.encode(car) ;
+			fail("unknown nested object must be rejected when validated") ;
+		} catch (ParserException e) {
+			// expected
+		}
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLargeNestedObject() {
+		// nested engine is longer than 2 byte lengths can hold while each of its values fits
+		Engine engine = TestData.engine(8, text(30000)) ;
+		engine.put(Engine.COUNTER, text(20000)) ;
+		Car car = TestData.car(1) ;
+		car.put(Car.ENGINE, engine) ;
+		List<Car> cars = Arrays.asList(TestData.car(0), car, TestData.car(2)) ;
+
+		for (BioObjectBinaryParser parser : parsers()) {
+			byte[] bytes = parser.encode(car) ;
+			assertTrue(bytes.length > Short.MAX_VALUE);
+			Car decoded = (Car) parser.decode(bytes) ;
+			assertEquals(car, decoded);
+			assertEquals(engine, decoded.get(Car.ENGINE));
+
+			List<Car> decodedCars = (List<Car>) parser.decode(parser.encode(cars)) ;
+			assertEquals(cars, decodedCars);
+		}
+	}
+
+	@Test
+	public void testNestedObjectDecodedInPlace() {
+		Engine engine = TestData.engine(8, text(30000)) ;
+		Car car = TestData.car(1) ;
+		car.put(Car.ENGINE, engine) ;
+		for (BioObjectBinaryParser parser : parsers()) {
+			byte[] bytes = parser.encode(car) ;
+			// nested views must be bounded by their own length, not by end of the array
+			byte[] padded = new byte[bytes.length + 200] ;
+			Arrays.fill(padded, (byte) 0x7F) ;
+			System.arraycopy(bytes, 0, padded, 100, bytes.length);
+			ByteBuffer buffer = ByteBuffer.wrap(padded, 100, bytes.length).slice() ;
+			Car decoded = (Car) parser.decode(buffer) ;
+			assertEquals(car, decoded);
+			assertEquals(engine, decoded.get(Car.ENGINE));
+			assertEquals(bytes.length, buffer.position());
+		}
+	}
+
+	@Test
+	public void testTruncatedNestedObject() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		Car car = new Car() ;
+		car.put(Car.ENGINE, TestData.engine(8, text(1000))) ;
+		byte[] bytes = parser.encode(car) ;
+		try {
+			parser.decode(Arrays.copyOf(bytes, bytes.length - 10)) ;
+			fail("nested object must not be read beyond available bytes") ;
+		} catch (RuntimeException e) {
+			// expected
+		}
+	}
+}
@@ -0,0 +1,127 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.exception.ParserException;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioObjectStreamTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	private static byte[] write(BioObjectBinaryParser parser, List<? extends BioObject> objects) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream() ;
+		try (BioObjectStreamWriter writer = new BioObjectStreamWriter(parser, out)) {
+			writer.writeAll(objects);
+			assertEquals(objects.size(), writer.getCount());
+		}
+		return out.toByteArray() ;
+	}
+
+	private static List<BioObject> read(BioObjectBinaryParser parser, byte[] bytes) {
+		try (BioObjectStreamReader reader = new BioObjectStreamReader(parser, new ByteArrayInputStream(bytes))) {
+			return reader.stream().collect(Collectors.toList()) ;
+		}
+	}
+
+	@Test
+	public void testFraming() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		List<Car> cars = TestData.cars(3) ;
+		ByteBuffer frames = ByteBuffer.wrap(write(parser, cars)) ;
+		for (Car car : cars) {
+			byte[] expected = parser.encode(car) ;
+			assertEquals(expected.length, frames.getInt());
+			byte[] frame = new byte[expected.length] ;
+			frames.get(frame) ;
+			assertArrayEquals(expected, frame);
+		}
+		assertFalse(frames.hasRemaining());
+	}
+
+	@Test
+	public void testRoundTrip() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		List<Car> cars = TestData.cars(10) ;
+		assertEquals(cars, read(parser, write(parser, cars)));
+	}
+
+	@Test
+	public void testRoundTripLazy() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setLazy(true);
+		List<Car> cars = TestData.cars(10) ;
+		// lazily decoded objects must not share reader's reused frame buffer
+		assertEquals(cars, read(parser, write(parser, cars)));
+	}
+
+	@Test
+	public void testRoundTripAboveFlushSize() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		char[] name = new char[20000] ;
+		Arrays.fill(name, 'x');
+		List<Car> cars = TestData.cars(20) ;
+		for (Car car : cars) {
+			car.put(Car.ENGINE, TestData.engine(8, new String(name))) ;
+		}
+		assertEquals(cars, read(parser, write(parser, cars)));
+	}
+
+	@Test
+	public void testPartialFrameRewind() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		Car broken = TestData.car(1) ;
+		Engine engine = TestData.engine(4, "I4") ;
+		// not serializable so encoding fails after part of frame is written
+		engine.put(Engine.COUNTER, new Object()) ;
+		broken.put(Car.ENGINE, engine) ;
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream() ;
+		try (BioObjectStreamWriter writer = new BioObjectStreamWriter(parser, out)) {
+			assertTrue(writer.write(TestData.car(0)));
+			try {
+				writer.write(broken) ;
+				fail("encoding non serializable object must fail") ;
+			} catch (RuntimeException e) {
+				// expected
+			}
+			assertTrue(writer.write(TestData.car(2)));
+			assertEquals(2, writer.getCount());
+		}
+		assertEquals(Arrays.asList(TestData.car(0), TestData.car(2)), read(parser, out.toByteArray()));
+	}
+
+	@Test
+	public void testReadEmpty() {
+		BioObjectStreamReader reader = new BioObjectStreamReader(new BioObjectBinaryParser(), new ByteArrayInputStream(new byte[0])) ;
+		assertFalse(reader.hasNext());
+		assertNull(reader.read());
+	}
+
+	@Test(expected=ParserException.class)
+	public void testReadTruncated() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		byte[] bytes = write(parser, TestData.cars(2)) ;
+		read(parser, Arrays.copyOf(bytes, bytes.length - 1)) ;
+	}
+}
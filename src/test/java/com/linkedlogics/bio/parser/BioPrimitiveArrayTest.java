@@ -0,0 +1,127 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioDictionary;
+import com.linkedlogics.bio.BioDictionaryBuilder;
+import com.linkedlogics.bio.test.TestData;
+import com.linkedlogics.bio.test.Trip;
+
+public class BioPrimitiveArrayTest {
+	private static final int[] COUNTS = {0, 1, -1, Integer.MAX_VALUE, Integer.MIN_VALUE} ;
+	private static final long[] SAMPLES = {0L, 1L, -1L, Long.MAX_VALUE, Long.MIN_VALUE} ;
+	private static final double[] SPEEDS = {0.0, -1.5, Double.MAX_VALUE, Double.NaN} ;
+	private static final long[] STOPS = {1600000000000L, 1599999999000L, 1600000005000L} ;
+
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	@After
+	public void tearDown() {
+		// primitive arrays is a global setting so other tests must see it disabled
+		new BioDictionaryBuilder().setPrimitiveArrays(false) ;
+	}
+
+	private static BioObjectBinaryParser[] parsers() {
+		BioObjectBinaryParser compact = new BioObjectBinaryParser() ;
+		compact.setCompact(true);
+		return new BioObjectBinaryParser[] {new BioObjectBinaryParser(), compact} ;
+	}
+
+	private static Trip boxedTrip() {
+		Trip trip = new Trip() ;
+		Integer[] counts = new Integer[COUNTS.length] ;
+		for (int i = 0; i < counts.length; i++) {
+			counts[i] = COUNTS[i] ;
+		}
+		Long[] samples = new Long[SAMPLES.length] ;
+		for (int i = 0; i < samples.length; i++) {
+			samples[i] = SAMPLES[i] ;
+		}
+		Double[] speeds = new Double[SPEEDS.length] ;
+		for (int i = 0; i < speeds.length; i++) {
+			speeds[i] = SPEEDS[i] ;
+		}
+		Long[] stops = new Long[STOPS.length] ;
+		for (int i = 0; i < stops.length; i++) {
+			stops[i] = STOPS[i] ;
+		}
+		trip.put(Trip.COUNTS, counts) ;
+		trip.put(Trip.SAMPLES, samples) ;
+		trip.put(Trip.SPEEDS, speeds) ;
+		trip.put(Trip.STOPS, stops) ;
+		return trip ;
+	}
+
+	private static Trip primitiveTrip() {
+		Trip trip = new Trip() ;
+		trip.put(Trip.COUNTS, COUNTS.clone()) ;
+		trip.put(Trip.SAMPLES, SAMPLES.clone()) ;
+		trip.put(Trip.SPEEDS, SPEEDS.clone()) ;
+		trip.put(Trip.STOPS, STOPS.clone()) ;
+		return trip ;
+	}
+
+	@Test
+	public void testBoxedArrays() {
+		new BioDictionaryBuilder().setPrimitiveArrays(false) ;
+		for (BioObjectBinaryParser parser : parsers()) {
+			Trip trip = boxedTrip() ;
+			Trip decoded = (Trip) parser.decode(parser.encode(trip)) ;
+			assertArrayEquals((Integer[]) trip.get(Trip.COUNTS), (Integer[]) decoded.get(Trip.COUNTS));
+			assertArrayEquals((Long[]) trip.get(Trip.SAMPLES), (Long[]) decoded.get(Trip.SAMPLES));
+			assertArrayEquals((Double[]) trip.get(Trip.SPEEDS), (Double[]) decoded.get(Trip.SPEEDS));
+			assertArrayEquals((Long[]) trip.get(Trip.STOPS), (Long[]) decoded.get(Trip.STOPS));
+		}
+	}
+
+	@Test(expected=RuntimeException.class)
+	public void testPrimitiveRejectedWhenDisabled() {
+		new BioDictionaryBuilder().setPrimitiveArrays(false) ;
+		new Trip().put(Trip.SAMPLES, SAMPLES.clone()) ;
+	}
+
+	@Test
+	public void testPrimitiveArrays() {
+		new BioDictionaryBuilder().setPrimitiveArrays(true) ;
+		assertTrue(BioDictionary.isPrimitiveArrays());
+		for (BioObjectBinaryParser parser : parsers()) {
+			Trip trip = primitiveTrip() ;
+			Trip decoded = (Trip) parser.decode(parser.encode(trip)) ;
+			assertEquals(trip, decoded);
+			assertArrayEquals(COUNTS, (int[]) decoded.get(Trip.COUNTS));
+			assertArrayEquals(SAMPLES, (long[]) decoded.get(Trip.SAMPLES));
+			assertArrayEquals(SPEEDS, (double[]) decoded.get(Trip.SPEEDS), 0.0);
+			assertArrayEquals(STOPS, (long[]) decoded.get(Trip.STOPS));
+		}
+	}
+
+	@Test
+	public void testBoxedDecodedAsPrimitive() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			new BioDictionaryBuilder().setPrimitiveArrays(false) ;
+			byte[] bytes = parser.encode(boxedTrip()) ;
+			new BioDictionaryBuilder().setPrimitiveArrays(true) ;
+			assertEquals(primitiveTrip(), parser.decode(bytes));
+		}
+	}
+
+	@Test
+	public void testSameWireFormat() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			new BioDictionaryBuilder().setPrimitiveArrays(false) ;
+			byte[] boxed = parser.encode(boxedTrip()) ;
+			new BioDictionaryBuilder().setPrimitiveArrays(true) ;
+			byte[] primitive = parser.encode(primitiveTrip()) ;
+			assertArrayEquals(boxed, primitive);
+		}
+	}
+}
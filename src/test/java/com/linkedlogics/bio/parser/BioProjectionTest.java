@@ -0,0 +1,119 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+import com.linkedlogics.bio.test.Trip;
+
+public class BioProjectionTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	/**
+	 * Returns parsers with options which change how tags are written or skipped
+	 * @return
+	 */
+	private static BioObjectBinaryParser[] parsers() {
+		BioObjectBinaryParser[] parsers = new BioObjectBinaryParser[8] ;
+		for (int i = 0; i < parsers.length; i++) {
+			parsers[i] = new BioObjectBinaryParser() ;
+			parsers[i].setIndexed((i & 1) > 0);
+			parsers[i].setCompact((i & 2) > 0);
+			parsers[i].setStringTable((i & 4) > 0);
+		}
+		return parsers ;
+	}
+
+	private static Trip trip() {
+		Trip trip = TestData.trip(3) ;
+		trip.put(Trip.NOTES, new ArrayList<String>(Arrays.asList("BMW", "late", "BMW"))) ;
+		trip.put(Trip.CARS, TestData.cars(3)) ;
+		return trip ;
+	}
+
+	@Test
+	public void testTopLevelTags() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			Trip trip = trip() ;
+			Trip decoded = (Trip) parser.decode(parser.encode(trip), Arrays.asList(Trip.DELTA, Trip.NOTES, "missing")) ;
+			Trip expected = new Trip() ;
+			expected.put(Trip.DELTA, trip.get(Trip.DELTA)) ;
+			expected.put(Trip.NOTES, trip.get(Trip.NOTES)) ;
+			assertEquals(expected, decoded);
+		}
+	}
+
+	@Test
+	public void testDottedPathOverList() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			Trip trip = trip() ;
+			Trip decoded = (Trip) parser.decode(parser.encode(trip), Arrays.asList(Trip.GEAR, "cars.year", "cars.engine.name")) ;
+			assertEquals(2, decoded.size());
+			assertEquals(trip.get(Trip.GEAR), decoded.get(Trip.GEAR));
+			List<?> cars = (List<?>) decoded.get(Trip.CARS) ;
+			assertEquals(3, cars.size());
+			for (int i = 0; i < cars.size(); i++) {
+				Car expected = new Car() ;
+				expected.put(Car.YEAR, 2000 + i) ;
+				Engine engine = new Engine() ;
+				engine.put(Engine.NAME, "V6") ;
+				expected.put(Car.ENGINE, engine) ;
+				assertEquals(expected, cars.get(i));
+			}
+		}
+	}
+
+	@Test
+	public void testWholeTagCoversPaths() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			Trip trip = trip() ;
+			Trip expected = new Trip() ;
+			expected.put(Trip.CARS, trip.get(Trip.CARS)) ;
+			byte[] bytes = parser.encode(trip) ;
+			assertEquals(expected, parser.decode(bytes, Arrays.asList("cars.year", Trip.CARS)));
+			assertEquals(expected, parser.decode(bytes, Arrays.asList(Trip.CARS, "cars.engine.name")));
+		}
+	}
+
+	@Test
+	public void testListOfObjects() {
+		for (BioObjectBinaryParser parser : parsers()) {
+			List<Car> cars = TestData.cars(4) ;
+			Object decoded = parser.decode(parser.encode(cars), Arrays.asList(Car.PRODUCER, "engine.cylinders")) ;
+			assertTrue(decoded instanceof List);
+			List<?> list = (List<?>) decoded ;
+			assertEquals(cars.size(), list.size());
+			for (Object car : list) {
+				Car expected = new Car() ;
+				expected.put(Car.PRODUCER, "BMW") ;
+				Engine engine = new Engine() ;
+				engine.put(Engine.CYLINDERS, 6) ;
+				expected.put(Car.ENGINE, engine) ;
+				assertEquals(expected, car);
+			}
+		}
+	}
+
+	@Test
+	public void testFullDecodeAfterProjection() {
+		// projection must not leak into following decodes of same thread
+		for (BioObjectBinaryParser parser : parsers()) {
+			Trip trip = trip() ;
+			byte[] bytes = parser.encode(trip) ;
+			parser.decode(bytes, Arrays.asList("cars.year")) ;
+			assertEquals(trip, parser.decode(bytes));
+		}
+	}
+}
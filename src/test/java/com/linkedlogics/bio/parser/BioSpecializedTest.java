@@ -0,0 +1,132 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+import com.linkedlogics.bio.test.Trip;
+
+public class BioSpecializedTest {
+	private static final int ROUNDS = 20 ;
+	private static final int ITERATIONS = 1000 ;
+	private static final double SLOWDOWN_LIMIT = 3 ;
+	
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	/**
+	 * Returns parsers with all combinations of format options
+	 * @param isSpecialized
+	 * @return
+	 */
+	private static List<BioObjectBinaryParser> parsers(boolean isSpecialized) {
+		List<BioObjectBinaryParser> parsers = new ArrayList<BioObjectBinaryParser>() ;
+		for (int i = 0; i < 8; i++) {
+			BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+			parser.setSpecialized(isSpecialized);
+			parser.setCompact((i & 1) > 0);
+			parser.setVarintLength((i & 2) > 0);
+			parser.setStringTable((i & 4) > 0);
+			parsers.add(parser) ;
+		}
+		return parsers ;
+	}
+	
+	private static List<BioObject> objects() {
+		List<BioObject> objects = new ArrayList<BioObject>() ;
+		for (int i = 0; i < 3; i++) {
+			Car car = TestData.car(i) ;
+			((Engine) car.get(Car.ENGINE)).put(Engine.COUNTER, new Date(i)) ;
+			objects.add(car) ;
+			objects.add(TestData.trip(i)) ;
+		}
+		Trip trip = TestData.trip(5) ;
+		trip.put(Trip.CARS, TestData.cars(2)) ;
+		objects.add(trip) ;
+		return objects ;
+	}
+	
+	@Test
+	public void testSameBytes() {
+		List<BioObjectBinaryParser> generic = parsers(false) ;
+		List<BioObjectBinaryParser> specialized = parsers(true) ;
+		for (BioObject object : objects()) {
+			for (int i = 0; i < generic.size(); i++) {
+				assertArrayEquals(generic.get(i).encode(object), specialized.get(i).encode(object));
+			}
+		}
+	}
+	
+	@Test
+	public void testRoundtrip() {
+		List<BioObjectBinaryParser> generic = parsers(false) ;
+		List<BioObjectBinaryParser> specialized = parsers(true) ;
+		for (BioObject object : objects()) {
+			for (int i = 0; i < generic.size(); i++) {
+				BioObject decoded = (BioObject) specialized.get(i).decode(generic.get(i).encode(object)) ;
+				assertEquals(object, decoded);
+				assertEquals(generic.get(i).decode(generic.get(i).encode(object)), decoded);
+			}
+		}
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testList() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setSpecialized(true);
+		List<Car> cars = TestData.cars(10) ;
+		byte[] bytes = parser.encode(cars) ;
+		assertArrayEquals(new BioObjectBinaryParser().encode(cars), bytes);
+		assertEquals(cars, (List<Car>) parser.decode(bytes));
+	}
+	
+	/**
+	 * Returns time in nanos of encoding and decoding objects by parser
+	 * @param parser
+	 * @param objects
+	 * @return
+	 */
+	private static long time(BioObjectBinaryParser parser, List<BioObject> objects) {
+		long start = System.nanoTime() ;
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (BioObject object : objects) {
+				parser.decode(parser.encode(object)) ;
+			}
+		}
+		return System.nanoTime() - start ;
+	}
+	
+	@Test
+	public void testNotSlower() {
+		BioObjectBinaryParser generic = new BioObjectBinaryParser() ;
+		BioObjectBinaryParser specialized = new BioObjectBinaryParser() ;
+		specialized.setSpecialized(true);
+		List<BioObject> objects = new ArrayList<BioObject>() ;
+		for (int i = 0; i < 10; i++) {
+			objects.add(TestData.trip(i)) ;
+		}
+		// rounds of both engines are interleaved so that warm up and jit compilation affect both, best rounds are compared
+		long genericTime = Long.MAX_VALUE ;
+		long specializedTime = Long.MAX_VALUE ;
+		for (int round = 0; round < ROUNDS; round++) {
+			genericTime = Math.min(genericTime, time(generic, objects)) ;
+			specializedTime = Math.min(specializedTime, time(specialized, objects)) ;
+		}
+		// timing on shared machines is noisy, so only a gross slowdown fails, comparable speed is all it shows
+		assertTrue("specialized " + specializedTime + "ns generic " + genericTime + "ns", specializedTime < genericTime * SLOWDOWN_LIMIT);
+	}
+}
@@ -0,0 +1,131 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.Engine;
+import com.linkedlogics.bio.test.TestData;
+
+public class BioStringTableTest {
+	private static final String LONG = String.join("", Collections.nCopies(20, "0123456789")) ;
+	
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+	
+	private static BioObjectBinaryParser tableParser() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setStringTable(true);
+		return parser ;
+	}
+	
+	/**
+	 * Cars with repeated producer, engine name and tags, unique prices as strings in tags and a repeated long producer
+	 * @param count
+	 * @return
+	 */
+	private static List<Car> cars(int count) {
+		List<Car> cars = TestData.cars(count) ;
+		for (int i = 0; i < cars.size(); i++) {
+			cars.get(i).put(Car.TAGS, Arrays.asList("a", "unique" + i, "b")) ;
+			if (i % 3 == 0) {
+				cars.get(i).put(Car.PRODUCER, LONG) ;
+			}
+		}
+		return cars ;
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testRoundtrip() {
+		List<Car> cars = cars(20) ;
+		BioObjectBinaryParser parser = tableParser() ;
+		byte[] bytes = parser.encode(cars) ;
+		assertTrue(bytes.length < new BioObjectBinaryParser().encode(cars).length);
+		assertEquals(cars, (List<Car>) parser.decode(bytes));
+		
+		Car car = cars.get(1) ;
+		assertEquals(car, parser.decode(parser.encode(car)));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSharedInstances() {
+		List<Car> decoded = (List<Car>) tableParser().decode(tableParser().encode(cars(6))) ;
+		// first occurrence is inline, following ones are resolved from table
+		assertSame(decoded.get(2).getString(Car.PRODUCER), decoded.get(4).getString(Car.PRODUCER));
+		assertSame(((Engine) decoded.get(1).get(Car.ENGINE)).getString(Engine.NAME), ((Engine) decoded.get(5).get(Car.ENGINE)).getString(Engine.NAME));
+		assertSame(((List<String>) decoded.get(1).get(Car.TAGS)).get(0), ((List<String>) decoded.get(4).get(Car.TAGS)).get(0));
+		
+		// long strings are never interned
+		assertEquals(LONG, decoded.get(3).getString(Car.PRODUCER));
+		assertNotSame(decoded.get(0).getString(Car.PRODUCER), decoded.get(3).getString(Car.PRODUCER));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testSkippedNestedObject() {
+		List<Car> cars = cars(5) ;
+		BioObjectBinaryParser parser = tableParser() ;
+		byte[] bytes = parser.encode(cars) ;
+		
+		// engines having first occurrence of their names are skipped, later ones refer to table
+		List<BioObject> decoded = (List<BioObject>) parser.decode(bytes, Arrays.asList(Car.PRODUCER, Car.TAGS)) ;
+		for (int i = 0; i < cars.size(); i++) {
+			assertFalse(decoded.get(i).has(Car.ENGINE));
+			assertEquals(cars.get(i).get(Car.PRODUCER), decoded.get(i).get(Car.PRODUCER));
+			assertEquals(cars.get(i).get(Car.TAGS), decoded.get(i).get(Car.TAGS));
+		}
+		
+		decoded = (List<BioObject>) parser.decode(bytes, Arrays.asList(Car.ENGINE + "." + Engine.NAME)) ;
+		assertEquals("V6", ((Engine) decoded.get(4).get(Car.ENGINE)).getString(Engine.NAME));
+		
+		assertEquals("V6", parser.peek(parser.encode(cars.get(0)), Car.ENGINE + "." + Engine.NAME));
+	}
+	
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testWithOtherOptions() {
+		List<Car> cars = cars(30) ;
+		BioObjectBinaryParser parser = tableParser() ;
+		parser.setCompact(true);
+		parser.setVarintLength(true);
+		parser.setIndexed(true);
+		parser.setCompressed(true);
+		parser.setEncrypted(true);
+		assertEquals(cars, (List<Car>) parser.decode(parser.encode(cars)));
+		
+		parser.setLazy(true);
+		assertEquals(cars, (List<Car>) parser.decode(parser.encode(cars)));
+	}
+	
+	@Test
+	public void testVeryLongStrings() {
+		// inline lengths are doubled in string table mode, these don't fit into 2 bytes anymore
+		String huge = String.join("", Collections.nCopies(2100, "0123456789")) ;
+		Car car = TestData.car(1) ;
+		car.put(Car.PRODUCER, huge) ;
+		car.put(Car.TAGS, Arrays.asList(huge, huge, "a")) ;
+		car.put(Car.ENGINE, TestData.engine(6, huge + "!")) ;
+		assertEquals(car, new BioObjectBinaryParser().decode(new BioObjectBinaryParser().encode(car)));
+		
+		BioObjectBinaryParser parser = tableParser() ;
+		assertFalse(parser.isVarintLength());
+		byte[] bytes = parser.encode(car) ;
+		assertTrue((bytes[0] & BioObjectBinaryParser.FLAG_VARINT_LENGTH) > 0);
+		assertEquals(car, parser.decode(bytes));
+	}
+}
@@ -0,0 +1,59 @@
+package com.linkedlogics.bio.parser;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.stream.BoFastStream;
+import com.linkedlogics.bio.test.Car;
+import com.linkedlogics.bio.test.TestData;
+import com.linkedlogics.bio.utility.ByteUtility;
+
+public class BioVarintLengthTest {
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	private static BioObjectBinaryParser varintParser() {
+		BioObjectBinaryParser parser = new BioObjectBinaryParser() ;
+		parser.setVarintLength(true);
+		return parser ;
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testLongList() {
+		List<Car> cars = TestData.cars(300) ;
+		List<Car> decoded = (List<Car>) varintParser().decode(varintParser().encode(cars)) ;
+		assertEquals(cars, decoded);
+	}
+
+	@Test
+	public void testPaddedLength() {
+		BoFastStream stream = new BoFastStream() ;
+		stream.setLengthAsVarint(true);
+		int position = stream.reserveLength(300) ;
+		stream.patchLength(position, 5, 300);
+		assertEquals(2, stream.getSize());
+
+		position = stream.reserveLength() ;
+		stream.write((byte) 1);
+		stream.patchLength(position, 1);
+		assertEquals(4, stream.getSize());
+		assertEquals(1, stream.getBuffer()[2]);
+		assertEquals(1, stream.getBuffer()[3]);
+	}
+
+	@Test
+	public void testUtfSize() {
+		String[] values = {"", "ascii", "\u00e7\u0259", "\u20ac", "\ud83d\ude00", "\ud83d", "a\ude00b"} ;
+		for (String value : values) {
+			assertEquals(value, value.getBytes(StandardCharsets.UTF_8).length, ByteUtility.getUtfSize(value));
+		}
+	}
+}
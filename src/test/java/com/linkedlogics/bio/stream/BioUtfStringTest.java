@@ -0,0 +1,86 @@
+package com.linkedlogics.bio.stream;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.linkedlogics.bio.utility.ByteUtility;
+
+public class BioUtfStringTest {
+	private static final String[] VALUES = {
+		"plain ascii",
+		"caf\u00e9 \u00fcber",
+		"\u4e2d\u6587 \u0627\u0644\u0639\u0631\u0628\u064a\u0629",
+		"smile \ud83d\ude00 and \ud83c\udf89",
+		"\ud83d\ude00",
+		"high at end \ud83d",
+		"\ude00 low at start",
+		"reversed \ude00\ud83d pair",
+		"double high \ud83d\ud83d\ude00",
+		"\ud83d",
+		"\u007f\u0080\u07ff\u0800\uffff",
+	} ;
+
+	/**
+	 * Returns value as it is read back, unpaired surrogates are replaced with '?' same as {@link String#getBytes(java.nio.charset.Charset)}
+	 * @param value
+	 * @return
+	 */
+	private static String expected(String value) {
+		return new String(value.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8) ;
+	}
+
+	private static String roundTrip(String value, boolean isLengthAsVarint) {
+		BoFastStream out = new BoFastStream(4) ;
+		out.setLengthAsVarint(isLengthAsVarint);
+		out.writeUtfString(value);
+		BiFastStream in = new BiFastStream(out.toByteArray()) ;
+		in.setLengthAsVarint(isLengthAsVarint);
+		return in.readUtfString() ;
+	}
+
+	@Test
+	public void testEncodedBytes() {
+		for (String value : VALUES) {
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8) ;
+			assertEquals(value, bytes.length, ByteUtility.getUtfSize(value));
+			byte[] result = new byte[value.length() * 3] ;
+			int size = ByteUtility.utfStringToBytes(value, result, 0) ;
+			assertArrayEquals(value, bytes, Arrays.copyOf(result, size));
+		}
+	}
+
+	@Test
+	public void testRoundTrip() {
+		for (String value : VALUES) {
+			assertEquals(expected(value), roundTrip(value, false));
+			assertEquals(expected(value), roundTrip(value, true));
+		}
+	}
+
+	@Test
+	public void testRoundTripLong() {
+		StringBuilder builder = new StringBuilder() ;
+		for (int i = 0; i < 1000; i++) {
+			builder.append(VALUES[i % VALUES.length]) ;
+		}
+		String value = builder.toString() ;
+		assertEquals(expected(value), roundTrip(value, false));
+		assertEquals(expected(value), roundTrip(value, true));
+	}
+
+	@Test
+	public void testArray() {
+		BoFastStream out = new BoFastStream() ;
+		out.writeUtfStringArray(VALUES);
+		String[] values = new BiFastStream(out.toByteArray()).readUtfStringArray() ;
+		assertEquals(VALUES.length, values.length);
+		for (int i = 0; i < VALUES.length; i++) {
+			assertEquals(expected(VALUES[i]), values[i]);
+		}
+	}
+}
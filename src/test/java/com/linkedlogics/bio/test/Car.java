@@ -0,0 +1,21 @@
+package com.linkedlogics.bio.test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.annotation.BioObj;
+import com.linkedlogics.bio.annotation.BioTag;
+
+@BioObj(code=1)
+public class Car extends BioObject {
+	@BioTag(type="Integer")
+	public static final String YEAR = "year" ;
+	@BioTag(type="String")
+	public static final String PRODUCER = "producer" ;
+	@BioTag(type="Double")
+	public static final String PRICE = "price" ;
+	@BioTag(type="Time")
+	public static final String SOLD = "sold" ;
+	@BioTag(type="String", isList=true)
+	public static final String TAGS = "tags" ;
+	@BioTag(type="Engine")
+	public static final String ENGINE = "engine" ;
+}
@@ -0,0 +1,15 @@
+package com.linkedlogics.bio.test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.annotation.BioObj;
+import com.linkedlogics.bio.annotation.BioTag;
+
+@BioObj(code=2)
+public class Engine extends BioObject {
+	@BioTag(type="Integer")
+	public static final String CYLINDERS = "cylinders" ;
+	@BioTag(type="String")
+	public static final String NAME = "name" ;
+	@BioTag(type="JavaObject")
+	public static final String COUNTER = "counter" ;
+}
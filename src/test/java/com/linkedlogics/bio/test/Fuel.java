@@ -0,0 +1,15 @@
+package com.linkedlogics.bio.test;
+
+import com.linkedlogics.bio.BioEnum;
+import com.linkedlogics.bio.annotation.BioEnumObj;
+
+@BioEnumObj(code=1)
+public class Fuel extends BioEnum {
+	public static final Fuel PETROL = new Fuel(0, "PETROL") ;
+	public static final Fuel DIESEL = new Fuel(1, "DIESEL") ;
+	public static final Fuel ELECTRIC = new Fuel(200, "ELECTRIC") ;
+	
+	public Fuel(int ordinal, String name) {
+		super(ordinal, name) ;
+	}
+}
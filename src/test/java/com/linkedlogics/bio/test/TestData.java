@@ -0,0 +1,80 @@
+package com.linkedlogics.bio.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import com.linkedlogics.bio.BioDictionaryBuilder;
+import com.linkedlogics.bio.BioEncrypter;
+import com.linkedlogics.bio.BioInitializer;
+import com.linkedlogics.bio.compression.BioLZ4Compressor;
+import com.linkedlogics.bio.encryption.AESEncrypter;
+
+/**
+ * Builds dictionary of test bio objects once with LZ4 as default compressor, built-in compressors and codecs and an AES encrypter, 
+ * and creates sample objects
+ * @author rdavudov
+ *
+ */
+public class TestData {
+	private static boolean isBuilt ;
+	
+	public static synchronized void buildDictionary() {
+		if (!isBuilt) {
+			new BioDictionaryBuilder().addPackage("com.linkedlogics.bio.test")
+				.setSharedCompressor(BioLZ4Compressor.getInstance())
+				.addDefaultCompressors()
+				.addDefaultCodecs()
+				.setEncrypterInitializer(new BioInitializer<BioEncrypter>() {
+					@Override
+					public BioEncrypter initialize() {
+						HashMap<String, Object> properties = new HashMap<String, Object>() ;
+						properties.put("key", "0123456789abcdef") ;
+						AESEncrypter encrypter = new AESEncrypter() ;
+						encrypter.init(properties) ;
+						return encrypter ;
+					}
+				}).build();
+			isBuilt = true ;
+		}
+	}
+	
+	public static Engine engine(int cylinders, String name) {
+		Engine engine = new Engine() ;
+		engine.put(Engine.CYLINDERS, cylinders) ;
+		engine.put(Engine.NAME, name) ;
+		return engine ;
+	}
+	
+	public static Car car(int i) {
+		Car car = new Car() ;
+		car.put(Car.YEAR, 2000 + i) ;
+		car.put(Car.PRODUCER, "BMW") ;
+		car.put(Car.PRICE, 1.5 * i) ;
+		car.put(Car.SOLD, 1600000000000L + i) ;
+		car.put(Car.TAGS, new ArrayList<String>(Arrays.asList("a", "b"))) ;
+		car.put(Car.ENGINE, engine(6, "V6")) ;
+		return car ;
+	}
+	
+	public static Trip trip(int i) {
+		Trip trip = new Trip() ;
+		trip.put(Trip.DELTA, -100 * i) ;
+		trip.put(Trip.GEAR, (short) -i) ;
+		trip.put(Trip.DISTANCE, -5000000000L * i) ;
+		trip.put(Trip.FUEL, i % 2 == 0 ? Fuel.ELECTRIC : Fuel.DIESEL) ;
+		trip.put(Trip.STARTED, 1600000000000L + i) ;
+		// finished is written before started in some cases, so it is before time base
+		trip.put(Trip.FINISHED, 1600000000000L - i * 1000L) ;
+		return trip ;
+	}
+	
+	public static List<Car> cars(int count) {
+		List<Car> cars = new ArrayList<Car>() ;
+		for (int i = 0; i < count; i++) {
+			cars.add(car(i)) ;
+		}
+		return cars ;
+	}
+}
@@ -0,0 +1,33 @@
+package com.linkedlogics.bio.test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.annotation.BioObj;
+import com.linkedlogics.bio.annotation.BioTag;
+
+@BioObj(code=3)
+public class Trip extends BioObject {
+	@BioTag(type="Integer")
+	public static final String DELTA = "delta" ;
+	@BioTag(type="Short")
+	public static final String GEAR = "gear" ;
+	@BioTag(type="Long")
+	public static final String DISTANCE = "distance" ;
+	@BioTag(type="Fuel")
+	public static final String FUEL = "fuel" ;
+	@BioTag(type="Time")
+	public static final String STARTED = "started" ;
+	@BioTag(type="Time")
+	public static final String FINISHED = "finished" ;
+	@BioTag(type="Integer", isArray=true)
+	public static final String COUNTS = "counts" ;
+	@BioTag(type="Long", isArray=true)
+	public static final String SAMPLES = "samples" ;
+	@BioTag(type="Double", isArray=true)
+	public static final String SPEEDS = "speeds" ;
+	@BioTag(type="Time", isArray=true)
+	public static final String STOPS = "stops" ;
+	@BioTag(type="String", isList=true)
+	public static final String NOTES = "notes" ;
+	@BioTag(type="Car", isList=true)
+	public static final String CARS = "cars" ;
+}
@@ -0,0 +1,79 @@
+package com.linkedlogics.bio.utility;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.linkedlogics.bio.BioObject;
+import com.linkedlogics.bio.dictionary.BioType;
+import com.linkedlogics.bio.parser.BioObjectBinaryParser;
+import com.linkedlogics.bio.test.TestData;
+
+public class ConversionUtilityTest {
+	private static final String ASCII = "ascii \u007f" ;
+	private static final String LATIN = "\u00e7\u00ff" ;
+	private static final String UTF = "\u0259\u20ac\ud83d\ude00" ;
+
+	@BeforeClass
+	public static void setUp() {
+		TestData.buildDictionary();
+	}
+
+	@Test
+	public void testIsAscii() {
+		assertTrue(ConversionUtility.isAscii(null));
+		assertTrue(ConversionUtility.isAscii(""));
+		assertTrue(ConversionUtility.isAscii(ASCII));
+		assertFalse(ConversionUtility.isAscii("a\u0080"));
+		assertFalse(ConversionUtility.isAscii(LATIN));
+		assertFalse(ConversionUtility.isAscii(UTF));
+	}
+
+	@Test
+	public void testGetType() {
+		assertEquals(BioType.String, ConversionUtility.getType(ASCII));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(LATIN));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(UTF));
+
+		assertEquals(BioType.String, ConversionUtility.getType(new String[] {ASCII, ASCII}));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(new String[] {ASCII, LATIN}));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(new String[] {ASCII, ASCII, UTF}));
+
+		// whole list is written with one type, so non ascii element after first one must be found as well
+		assertEquals(BioType.String, ConversionUtility.getType(Arrays.asList(ASCII, ASCII)));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(Arrays.asList(ASCII, LATIN)));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(Arrays.asList(ASCII, ASCII, UTF)));
+		assertEquals(BioType.UtfString, ConversionUtility.getType(Arrays.asList(UTF, ASCII)));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testMixedStringsRoundTrip() {
+		// untyped values of dynamic objects are written with type found by getType
+		BioObject object = new BioObject() ;
+		object.put("ascii", ASCII) ;
+		object.put("latin", LATIN) ;
+		object.put("utf", UTF) ;
+		object.put("array", new String[] {ASCII, LATIN, UTF}) ;
+		object.put("list", new ArrayList<String>(Arrays.asList(ASCII, ASCII, LATIN, UTF))) ;
+
+		BioObjectBinaryParser[] parsers = {new BioObjectBinaryParser(), new BioObjectBinaryParser()} ;
+		parsers[1].setStringTable(true);
+		for (BioObjectBinaryParser parser : parsers) {
+			BioObject decoded = (BioObject) parser.decode(parser.encode(object)) ;
+			assertEquals(ASCII, decoded.get("ascii"));
+			assertEquals(LATIN, decoded.get("latin"));
+			assertEquals(UTF, decoded.get("utf"));
+			assertArrayEquals(new String[] {ASCII, LATIN, UTF}, (String[]) decoded.get("array"));
+			assertEquals(Arrays.asList(ASCII, ASCII, LATIN, UTF), (List<String>) decoded.get("list"));
+		}
+	}
+}